@@ -49,6 +49,11 @@
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.scheduler.TaskMetrics;
+import org.spongepowered.common.world.SpongeLightingEngine;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -59,8 +64,10 @@
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.URL;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPOutputStream;
 
 class TimingsExport extends Thread {
@@ -178,6 +185,39 @@ static void reportTimings(CommandSource sender) {
             ).build();
         }));
 
+        // Information about plugin scheduler tasks
+
+        SpongeScheduler scheduler = (SpongeScheduler) SpongeImpl.getGame().getScheduler();
+        builder.add("scheduler", JSONUtil.objectBuilder()
+                .add("sync", serializeTaskMetrics(scheduler.getAllMetrics(false)))
+                .add("async", serializeTaskMetrics(scheduler.getAllMetrics(true))));
+
+        // Information about the async lighting engine of each world
+
+        if (SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations()
+                && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
+            builder.add("lighting", JSONUtil.mapArrayToObject(SpongeImpl.getServer().worlds, (world) -> {
+                SpongeLightingEngine engine = ((IMixinWorldServer) world).getLightingEngine();
+                return JSONUtil.singleObjectPair(world.getWorldInfo().getWorldName(), JSONUtil.arrayOf(
+                        engine.getQueueDepth(),
+                        engine.getAverageLatency(TimeUnit.MICROSECONDS)));
+            }));
+        }
+
+        // Information about the chunk write queue of each world
+
+        builder.add("chunkio", JSONUtil.mapArrayToObject(SpongeImpl.getServer().worlds, (world) -> {
+            if (!(world.getChunkProvider().chunkLoader instanceof IMixinAnvilChunkLoader)) {
+                return null;
+            }
+            IMixinAnvilChunkLoader loader = (IMixinAnvilChunkLoader) world.getChunkProvider().chunkLoader;
+            double seconds = loader.getWriteTime() / 1E9;
+            return JSONUtil.singleObjectPair(world.getWorldInfo().getWorldName(), JSONUtil.arrayOf(
+                    loader.getQueuedChunkCount(),
+                    seconds == 0 ? 0 : loader.getWrittenChunkCount() / seconds,
+                    seconds == 0 ? 0 : loader.getWrittenByteCount() / seconds));
+        }));
+
         // Information on the users Config
 
         builder.add("config", JSONUtil.objectBuilder()
@@ -221,6 +261,22 @@ static long getCost() {
         return timingsCost;
     }
 
+    private static JsonObject serializeTaskMetrics(Map<String, TaskMetrics> metrics) {
+        return JSONUtil.mapArrayToObject(metrics.entrySet(), (entry) -> {
+            TaskMetrics taskMetrics = entry.getValue();
+            return JSONUtil.singleObjectPair(entry.getKey(), JSONUtil.objectBuilder()
+                    .add("queued", taskMetrics.getQueueDepth())
+                    .add("overruns", taskMetrics.getOverruns())
+                    .add("deferrals", taskMetrics.getDeferrals())
+                    .add("tasks", taskMetrics.getRunTime().getCount())
+                    .add("latency", JSONUtil.arrayOf(taskMetrics.getLatency().getMean(TimeUnit.MICROSECONDS),
+                            taskMetrics.getLatency().getPercentile(0.99, TimeUnit.MICROSECONDS)))
+                    .add("runtime", JSONUtil.arrayOf(taskMetrics.getRunTime().getMean(TimeUnit.MICROSECONDS),
+                            taskMetrics.getRunTime().getPercentile(0.99, TimeUnit.MICROSECONDS)))
+                    .build());
+        });
+    }
+
     private static JsonElement serializeConfigNode(ConfigurationNode node) {
         if (node.hasMapChildren()) {
             JsonObject object = new JsonObject();
@@ -49,6 +49,7 @@
 import org.spongepowered.api.data.Property;
 import org.spongepowered.api.data.Queries;
 import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.manipulator.DataManipulator;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
@@ -89,13 +90,15 @@ public class SpongeBlockSnapshot implements BlockSnapshot {
     private final BlockState extendedState;
     private final UUID worldUniqueId;
     private final Vector3i pos;
-    private final ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
+    private ImmutableList<ImmutableDataManipulator<?, ?>> extraData;
     private ImmutableMap<Key<?>, ImmutableValue<?>> keyValueMap;
     private ImmutableSet<ImmutableValue<?>> valueSet;
     private ImmutableList<ImmutableDataManipulator<?, ?>> blockData;
     private ImmutableMap<Key<?>, ImmutableValue<?>> blockKeyValueMap;
     private ImmutableSet<ImmutableValue<?>> blockValueSet;
-    @Nullable final NBTTagCompound compound;
+    @Nullable private NBTTagCompound compound;
+    // The tile entity whose data has not been captured yet, see captureTileData
+    @Nullable private volatile TileEntity pendingTileEntity;
     @Nullable final UUID creatorUniqueId;
     @Nullable final UUID notifierUniqueId;
     // Internal use only
@@ -122,16 +125,11 @@ public SpongeBlockSnapshot(SpongeBlockSnapshotBuilder builder) {
 
         // This avoids cross contamination of block state based values versus tile entity values.
         // TODO - delegate this to NbtProcessors when schematics are merged.
-        final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
         this.extraData = builder.manipulators == null ? ImmutableList.<ImmutableDataManipulator<?, ?>>of() : ImmutableList.copyOf(builder.manipulators);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
-            for (ImmutableValue<?> value : manipulator.getValues()) {
-                tileBuilder.put(value.getKey(), value);
-            }
-        }
-        this.keyValueMap = tileBuilder.build();
-        this.valueSet = this.keyValueMap.isEmpty() ? ImmutableSet.of() : ImmutableSet.copyOf(this.keyValueMap.values());
         this.compound = builder.compound == null ? null : builder.compound.copy();
+        if (builder.tileEntity != null && builder.manipulators == null && builder.compound == null) {
+            this.pendingTileEntity = builder.tileEntity;
+        }
         this.changeFlag = BlockChangeFlag.ALL;
     }
 
@@ -201,6 +199,7 @@ public boolean restore(boolean force, BlockChangeFlag flag) {
             return false;
         }
 
+        captureTileData();
         mixinWorldServer.setBlockState(pos, replaced, flag);
         world.getPlayerChunkMap().markBlockForUpdate(pos);
         if (this.compound != null) {
@@ -237,6 +236,7 @@ public Optional<Location<World>> getLocation() {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getManipulators() {
+        captureTileData();
         return ImmutableList.<ImmutableDataManipulator<?, ?>>builder().addAll(this.getBlockManipulators()).addAll(this.extraData).build();
     }
 
@@ -257,6 +257,7 @@ public DataContainer toContainer() {
             .getContainer()
             .set(DataQueries.BLOCK_STATE, this.blockState);
 
+        captureTileData();
         if (this.blockState != this.extendedState) {
             container.set(DataQueries.BLOCK_EXTENDED_STATE, this.extendedState);
         }
@@ -276,6 +277,7 @@ public DataContainer toContainer() {
         if (optional.isPresent()) {
             return optional;
         } else {
+            captureTileData();
             for (ImmutableDataManipulator<?, ?> dataManipulator : this.extraData) {
                 if (containerClass.isInstance(dataManipulator)) {
                     return Optional.of(((T) dataManipulator));
@@ -380,7 +382,7 @@ public BlockSnapshot merge(BlockSnapshot that, MergeFunction function) {
 
     @Override
     public <E> Optional<E> get(Key<? extends BaseValue<E>> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((E) this.keyValueMap.get(key).get());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((E) this.blockKeyValueMap.get(key).get());
@@ -414,6 +416,7 @@ private ImmutableSet<ImmutableValue<?>> getTileValueSet() {
     }
 
     private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
+        captureTileData();
         if (this.keyValueMap == null) {
             final ImmutableMap.Builder<Key<?>, ImmutableValue<?>> tileBuilder = ImmutableMap.builder();
             for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
@@ -436,7 +439,7 @@ private ImmutableMap<Key<?>, ImmutableValue<?>> getTileMap() {
 
     @Override
     public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
-        if (this.keyValueMap.containsKey(key)) {
+        if (getTileMap().containsKey(key)) {
             return Optional.of((V) this.keyValueMap.get(key).asMutable());
         } else if (getKeyValueMap().containsKey(key)) {
             return Optional.of((V) this.blockKeyValueMap.get(key).asMutable());
@@ -447,7 +450,7 @@ public <E, V extends BaseValue<E>> Optional<V> getValue(Key<V> key) {
     @Override
     public boolean supports(Key<?> key) {
         checkNotNull(key, "Key");
-        return this.keyValueMap.containsKey(key) || getKeyValueMap().containsKey(key);
+        return getTileMap().containsKey(key) || getKeyValueMap().containsKey(key);
     }
 
     @Override
@@ -474,6 +477,7 @@ public Set<ImmutableValue<?>> getValues() {
     }
 
     public Optional<NBTTagCompound> getCompound() {
+        captureTileData();
         return this.compound == null ? Optional.<NBTTagCompound>empty() : Optional.of(this.compound.copy());
     }
 
@@ -484,6 +488,7 @@ public SpongeBlockSnapshotBuilder createBuilder() {
             .extendedState(this.extendedState)
             .position(this.pos)
             .worldId(this.worldUniqueId);
+        captureTileData();
         for (ImmutableDataManipulator<?, ?> manipulator : this.extraData) {
             builder.add((ImmutableDataManipulator) manipulator);
         }
@@ -493,6 +498,42 @@ public SpongeBlockSnapshotBuilder createBuilder() {
         return builder;
     }
 
+    /**
+     * Captures the manipulators and nbt of the tile entity this snapshot was
+     * created for, if that was deferred when the snapshot was created. This
+     * is done on the first read of the tile data, and must be done before the
+     * tile entity is changed or removed if the data is needed as it was when
+     * the snapshot was created.
+     */
+    public void captureTileData() {
+        if (this.pendingTileEntity == null) {
+            return;
+        }
+        synchronized (this) {
+            final TileEntity tileEntity = this.pendingTileEntity;
+            if (tileEntity == null) {
+                return;
+            }
+            final ImmutableList.Builder<ImmutableDataManipulator<?, ?>> manipulators = ImmutableList.builder();
+            for (DataManipulator<?, ?> manipulator : ((org.spongepowered.api.block.tileentity.TileEntity) tileEntity).getContainers()) {
+                manipulators.add(manipulator.asImmutable());
+            }
+            this.extraData = manipulators.build();
+            this.keyValueMap = null;
+            this.valueSet = null;
+            final NBTTagCompound nbt = new NBTTagCompound();
+            // Some mods like OpenComputers assert if attempting to save robot while moving
+            try {
+                tileEntity.writeToNBT(nbt);
+                this.compound = nbt;
+            } catch (Throwable t) {
+                // ignore
+            }
+            // Cleared last, so a reader that sees it cleared also sees the captured data
+            this.pendingTileEntity = null;
+        }
+    }
+
     // Used internally for restores
 
     public BlockChangeFlag getChangeFlag() {
@@ -533,6 +574,7 @@ public Optional<TileEntityArchetype> createArchetype() {
         if (!(type instanceof ITileEntityProvider)) {
             return Optional.empty();
         }
+        captureTileData();
         if (this.compound == null) { // We can't retrieve the TileEntityType
             return Optional.empty();
         }
@@ -560,6 +602,8 @@ public boolean equals(Object o) {
             return false;
         }
         SpongeBlockSnapshot that = (SpongeBlockSnapshot) o;
+        this.captureTileData();
+        that.captureTileData();
         return this.changeFlag == that.changeFlag &&
                Objects.equal(this.extendedState, that.extendedState) &&
                Objects.equal(this.worldUniqueId, that.worldUniqueId) &&
@@ -570,6 +614,7 @@ public boolean equals(Object o) {
 
     @Override
     public int hashCode() {
+        captureTileData();
         return Objects
             .hashCode(this.extendedState,
                 this.worldUniqueId,
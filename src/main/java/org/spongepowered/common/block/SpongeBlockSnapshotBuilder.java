@@ -70,7 +70,7 @@ public class SpongeBlockSnapshotBuilder extends AbstractDataBuilder<BlockSnapsho
     Vector3i coords;
     @Nullable List<ImmutableDataManipulator<?, ?>> manipulators;
     @Nullable NBTTagCompound compound;
-
+    @Nullable TileEntity tileEntity;
 
     public SpongeBlockSnapshotBuilder() {
         super(BlockSnapshot.class, 1);
@@ -136,6 +136,18 @@ public BlockSnapshot.Builder notifier(UUID uuid) {
         return this;
     }
 
+    /**
+     * Internal use only. Defers capturing the manipulators and nbt of the
+     * given tile entity until the built snapshot is first read.
+     *
+     * @param tileEntity The live tile entity at the snapshot position
+     * @return This builder, for chaining
+     */
+    public SpongeBlockSnapshotBuilder tileEntity(TileEntity tileEntity) {
+        this.tileEntity = checkNotNull(tileEntity);
+        return this;
+    }
+
     public SpongeBlockSnapshotBuilder unsafeNbt(NBTTagCompound compound) {
         this.compound = compound.copy();
         return this;
@@ -186,8 +198,9 @@ public SpongeBlockSnapshotBuilder from(BlockSnapshot holder) {
         this.coords = holder.getPosition();
         this.manipulators = Lists.newArrayList(holder.getManipulators());
         if (holder instanceof SpongeBlockSnapshot) {
-            if (((SpongeBlockSnapshot) holder).compound != null) {
-                this.compound = ((SpongeBlockSnapshot) holder).compound.copy();
+            final Optional<NBTTagCompound> compound = ((SpongeBlockSnapshot) holder).getCompound();
+            if (compound.isPresent()) {
+                this.compound = compound.get();
             }
         }
         return this;
@@ -202,6 +215,7 @@ public SpongeBlockSnapshotBuilder reset() {
         this.coords = null;
         this.manipulators = null;
         this.compound = null;
+        this.tileEntity = null;
         return this;
     }
 
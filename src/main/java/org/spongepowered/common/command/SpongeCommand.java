@@ -47,6 +47,7 @@
 import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.tileentity.TileEntityType;
 import org.spongepowered.api.command.CommandCallable;
 import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandManager;
@@ -86,6 +87,7 @@
 import org.spongepowered.common.interfaces.world.IMixinDimensionType;
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.WorldManager;
 
@@ -97,6 +99,8 @@
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -277,9 +281,25 @@ protected Text getChunksInfo(WorldServer worldserver) {
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                                 key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
-                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
+                                key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT,
+                                getTileEntityActivationInfo(worldserver)
                         );
                     }
+
+                    protected Text getTileEntityActivationInfo(WorldServer worldserver) {
+                        final Map<TileEntityType, TileEntityActivation.ActivationCount> counts =
+                                TileEntityActivation.getActivationCounts(worldserver);
+                        if (counts.isEmpty()) {
+                            return Text.EMPTY;
+                        }
+                        final Text.Builder builder = Text.builder().append(key("Tile Entity Activation: "), NEWLINE_TEXT);
+                        counts.entrySet().stream()
+                                .sorted(Comparator.comparing(entry -> entry.getKey().getId()))
+                                .forEach(entry -> builder.append(Text.of(INDENT, key(entry.getKey().getId() + ": "),
+                                        value(entry.getValue().getActive() + " active, " + entry.getValue().getInactive() + " inactive"),
+                                        NEWLINE_TEXT)));
+                        return builder.build();
+                    }
                 })
                 .build();
     }
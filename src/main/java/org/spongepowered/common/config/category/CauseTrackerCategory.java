@@ -51,6 +51,18 @@ public class CauseTrackerCategory extends ConfigCategory {
                                                                  + "than what is expected.")
     boolean reportWorldTickDifferentWorlds = false;
 
+    @Setting(value = "pool-contexts", comment = "If true, phase contexts and their capture suppliers are reset and reused once their\n"
+                                                + "phase is completed, instead of being allocated again for every tracked phase.\n"
+                                                + "Captured lists are never reused, so the saving is small. A context still referenced after its\n"
+                                                + "phase completed would write into the captures of another phase, which is only reported\n"
+                                                + "as a warning unless debug-context-pool is enabled.")
+    boolean poolContexts = false;
+
+    @Setting(value = "debug-context-pool", comment = "If true, completed phase contexts are never reused, and any later use of them\n"
+                                                     + "fails with an error pointing to where the context was released, instead of a warning.\n"
+                                                     + "This is only useful to find bugs, as it disables the pooling.")
+    boolean debugContextPool = false;
+
     public boolean isVerbose() {
         return this.isVerbose;
     }
@@ -70,4 +82,12 @@ public boolean reportWorldTickDifferences() {
     public void setReportWorldTickDifferentWorlds(boolean reportWorldTickDifferentWorlds) {
         this.reportWorldTickDifferentWorlds = reportWorldTickDifferentWorlds;
     }
+
+    public boolean isContextPooling() {
+        return this.poolContexts;
+    }
+
+    public boolean isContextPoolingDebug() {
+        return this.debugContextPool;
+    }
 }
@@ -58,6 +58,22 @@ public class GlobalWorldCategory extends WorldCategory {
             + "\nFinally, if set to 0 or less, the default interval will be used.")
     private int gameProfileQueryTaskInterval = 4;
 
+    @Setting(value = "gameprofile-lookup-threads", comment =
+            "The amount of threads used to resolve GameProfile requests that are not cached. (Default: 2)"
+            + "\nConcurrent requests for the same profile share a single lookup, and name lookups are sent in batches."
+            + "\nFinally, if set to 0 or less, the default amount of threads will be used.")
+    private int gameProfileLookupThreads = 2;
+
+    @Setting(value = "gameprofile-cache-expiry", comment =
+            "The amount of hours a GameProfile found by a lookup is kept in the profile cache. (Default: 720)"
+            + "\nFinally, if set to 0 or less, the default expiry will be used.")
+    private int gameProfileCacheExpiry = 720;
+
+    @Setting(value = "gameprofile-cache-negative-expiry", comment =
+            "The amount of minutes a GameProfile lookup that found nothing is remembered before it is attempted again. (Default: 60)"
+            + "\nIf set to 0 or less, lookups that found nothing are not remembered.")
+    private int gameProfileCacheNegativeExpiry = 60;
+
     @Setting(value = "invalid-lookup-uuids", comment = 
             "The list of uuid's that should never perform a lookup against Mojang's session server."
             + "\nNote: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
@@ -95,6 +111,24 @@ public int getGameProfileQueryTaskInterval() {
         return this.gameProfileQueryTaskInterval;
     }
 
+    public int getGameProfileLookupThreads() {
+        if (this.gameProfileLookupThreads <= 0) {
+            this.gameProfileLookupThreads = 2;
+        }
+        return this.gameProfileLookupThreads;
+    }
+
+    public int getGameProfileCacheExpiry() {
+        if (this.gameProfileCacheExpiry <= 0) {
+            this.gameProfileCacheExpiry = 720;
+        }
+        return this.gameProfileCacheExpiry;
+    }
+
+    public int getGameProfileCacheNegativeExpiry() {
+        return this.gameProfileCacheNegativeExpiry;
+    }
+
     public List<UUID> getInvalidLookupUuids() {
         return this.invalidLookupUuids;
     }
@@ -53,6 +53,30 @@ public class OptimizationCategory extends ConfigCategory {
     @Setting(value = "async-lighting", comment = "Runs lighting updates async.")
     private boolean asyncLighting = true;
 
+    @Setting(value = "async-lighting-threads", comment = "The amount of threads shared by all worlds to process async lighting updates of\n"
+            + "different regions in parallel. If 0 or less, half of the available processors are used.")
+    private int asyncLightingThreads = 0;
+
+    @Setting(value = "packet-batching", comment = "If enabled, packets sent to a player during a tick are buffered and written to the\n"
+            + "connection with a single flush at the end of the tick, instead of one flush per packet.\n"
+            + "Keep-alive, login and disconnect packets, and packets sent with listeners, are still sent immediately.")
+    private boolean packetBatching = false;
+
+    @Setting(value = "packet-batching-max-packets", comment = "The amount of buffered packets that causes a connection to be flushed before\n"
+            + "the end of the tick. If 0 or less, the default of 256 is used.")
+    private int packetBatchingMaxPackets = 256;
+
+    @Setting(value = "lazy-tile-entity-snapshots", comment = "If enabled, the tile entity data of captured block snapshots is only serialized when\n"
+            + "it is first read, instead of whenever a tile entity block changes. The data is still taken before\n"
+            + "the change if a ChangeBlockEvent listener is registered. Without listeners, a snapshot read later\n"
+            + "holds the data of the tile entity as it was left after the change, for example an emptied chest.")
+    private boolean lazyTileEntitySnapshots = false;
+
+    @Setting(value = "fused-event-dispatch", comment = "If enabled, a dispatcher class calling every listener of an event type from its own call site\n"
+            + "is generated whenever the listeners of that event type are baked, which lets the JIT inline the listener calls.\n"
+            + "Changes take effect when the listeners of an event type are baked again.")
+    private boolean fusedEventDispatch = false;
+
     public StructureSaveCategory getStructureSaveCategory() {
         return this.structureSaveCategory;
     }
@@ -72,4 +96,27 @@ public boolean useCacheTameableOwners() {
     public boolean useAsyncLighting() {
         return this.asyncLighting;
     }
+
+    public int getAsyncLightingThreads() {
+        return this.asyncLightingThreads;
+    }
+
+    public boolean usePacketBatching() {
+        return this.packetBatching;
+    }
+
+    public int getPacketBatchingMaxPackets() {
+        if (this.packetBatchingMaxPackets <= 0) {
+            this.packetBatchingMaxPackets = 256;
+        }
+        return this.packetBatchingMaxPackets;
+    }
+
+    public boolean useLazyTileEntitySnapshots() {
+        return this.lazyTileEntitySnapshots;
+    }
+
+    public boolean useFusedEventDispatch() {
+        return this.fusedEventDispatch;
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-executor", comment = "The executor used to run asynchronous tasks. Valid values are:\n"
+            + "'cached' - An unbounded cached thread pool, a new thread is created whenever no idle thread is available.\n"
+            + "'fork-join' - A work-stealing pool with at most 'async-pool-size' threads.\n"
+            + "'virtual' - One virtual thread per task, falls back to 'fork-join' if the runtime does not support virtual threads.")
+    private String asyncExecutor = "cached";
+
+    @Setting(value = "async-pool-size", comment = "The maximum amount of threads used by the 'fork-join' executor.\n"
+            + "If 0 or less, the amount of available processors is used.")
+    private int asyncPoolSize = 0;
+
+    @Setting(value = "sync-tick-budget", comment = "The time in milliseconds that the synchronous tasks of a single plugin may run each tick.\n"
+            + "Tasks over the budget are deferred to the next tick, plugins take turns running their tasks.\n"
+            + "If 0 or less, the tasks of a plugin are never deferred.")
+    private double syncTickBudget = 0;
+
+    @Setting(value = "sync-plugin-tick-budgets", comment = "Overrides the 'sync-tick-budget' of specific plugins, keyed by plugin id.")
+    private Map<String, Double> syncPluginTickBudgets = new HashMap<>();
+
+    public String getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    public int getAsyncPoolSize() {
+        return this.asyncPoolSize;
+    }
+
+    public double getSyncTickBudget() {
+        return this.syncTickBudget;
+    }
+
+    public Map<String, Double> getSyncPluginTickBudgets() {
+        return this.syncPluginTickBudgets;
+    }
+}
@@ -33,6 +33,7 @@
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.util.Tristate;
 
 import java.util.Optional;
 
@@ -57,6 +58,22 @@
 
     boolean supports(EntityType entityType);
 
+    /**
+     * Checks if all, none or only some {@link DataHolder}s of the given class
+     * are supported by this processor, without having a holder instance at
+     * hand.
+     *
+     * <p>{@link Tristate#UNDEFINED} means that support depends on the state
+     * of the holder, and {@link #supports(DataHolder)} has to be checked for
+     * each holder.</p>
+     *
+     * @param holderClass The class of the data holders to check
+     * @return Whether holders of the class are supported
+     */
+    default Tristate supportsHolderClass(Class<?> holderClass) {
+        return Tristate.UNDEFINED;
+    }
+
     /**
      * Attempts to get the given {@link DataManipulator} of type {@code T} if
      * and only if the manipulator's required data exists from the
@@ -26,9 +26,7 @@
 
 import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.common.cache.CacheStats;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
@@ -37,8 +35,8 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
+
+import javax.annotation.Nullable;
 
 public final class ImmutableDataCachingUtil {
 
@@ -48,19 +46,13 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
-        .build();
+    private static final InternCache<ImmutableDataManipulator<?, ?>> manipulatorCache = new InternCache<>(MANIPULATOR_CACHE_LIMIT);
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
-        .maximumSize(VALUE_CACHE_LIMIT)
-        .build();
+    private static final InternCache<ImmutableValue<?>> valueCache = new InternCache<>(VALUE_CACHE_LIMIT);
 
     /**
-     * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
-     * does not have the desired {@link ImmutableDataManipulator} with relative
+     * Retrieves a basic manipulator from the cache. If the cache does not
+     * have the desired {@link ImmutableDataManipulator} with relative
      * values, a new one is created and submitted to the cache for future
      * retrieval.
      *
@@ -73,58 +65,93 @@ private ImmutableDataCachingUtil() {}
      * @param <T> The type of immutable data manipulator
      * @return The newly created immutable data manipulators
      */
-    @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
-        // We can't really use the generic typing here because it's complicated...
+        final int arity = args.length;
+        return getManipulator(immutableClass, arity, arity > 0 ? args[0] : null, arity > 1 ? args[1] : null, arity > 2 ? args[2] : null, args);
+    }
+
+    public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object arg) {
+        return getManipulator(immutableClass, 1, arg, null, null, InternCache.NO_ARGS);
+    }
+
+    public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object arg1, final Object arg2) {
+        return getManipulator(immutableClass, 2, arg1, arg2, null, InternCache.NO_ARGS);
+    }
+
+    public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object arg1, final Object arg2,
+            final Object arg3) {
+        return getManipulator(immutableClass, 3, arg1, arg2, arg3, InternCache.NO_ARGS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final int arity,
+            @Nullable final Object a, @Nullable final Object b, @Nullable final Object c, final Object[] args) {
+        // The varargs array holds all arguments, so the fourth one is at index 3
+        final T cached = (T) ImmutableDataCachingUtil.manipulatorCache.get(immutableClass, arity, a, b, c, args, 3);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Object[] constructorArgs = args.length == arity ? args : Arrays.copyOf(new Object[] {a, b, c}, arity);
+        final T manipulator;
         try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
-                    try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
-                                                     + Arrays.toString(args), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
-                                                            + Arrays.toString(args));
-            });
+            manipulator = createUnsafeInstance(immutableClass, constructorArgs);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
+                                         + Arrays.toString(constructorArgs), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName() + " with the args: "
+                                                    + Arrays.toString(constructorArgs), e);
         } catch (Throwable e) {
             throw new UnsupportedOperationException("Could not construct the ImmutableDataManipulator: " + immutableClass.getName(), e);
         }
+        return (T) ImmutableDataCachingUtil.manipulatorCache.intern(immutableClass, arity, a, b, c, args, 3, manipulator);
+    }
+
+    public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
+            final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg) {
+        return getValue(valueClass, usedKey, defaultArg, arg, InternCache.NO_ARGS);
     }
 
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
-        try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
-                    try {
-                        if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
-                        } else {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                        }
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                        SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
-                    }
-                    throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
-            });
-        } catch (ExecutionException e) {
-            throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
+        final Object[] extras = extraArgs == null ? InternCache.NO_ARGS : extraArgs;
+        final int arity = 3 + extras.length;
+        // The extra arguments follow the key, default and actual value
+        final T cached = (T) ImmutableDataCachingUtil.valueCache.get(valueClass, arity, usedKey, defaultArg, arg, extras, 0);
+        if (cached != null) {
+            return cached;
         }
-    }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
+        final ImmutableValue<?> value;
+        try {
+            if (extras.length == 0) {
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
             } else {
-                builder.append("{").append(object.toString()).append("}");
+                value = createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extras);
             }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
+            throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName(), e);
         }
-        return builder.toString();
+        return (T) ImmutableDataCachingUtil.valueCache.intern(valueClass, arity, usedKey, defaultArg, arg, extras, 0, value);
+    }
+
+    /**
+     * Gets the hit, miss and eviction counts of the manipulator cache.
+     *
+     * @return The manipulator cache statistics
+     */
+    public static CacheStats getManipulatorCacheStats() {
+        return ImmutableDataCachingUtil.manipulatorCache.stats();
+    }
+
+    /**
+     * Gets the hit, miss and eviction counts of the value cache.
+     *
+     * @return The value cache statistics
+     */
+    public static CacheStats getValueCacheStats() {
+        return ImmutableDataCachingUtil.valueCache.stats();
     }
 }
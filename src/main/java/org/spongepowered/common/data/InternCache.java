@@ -0,0 +1,176 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import com.google.common.cache.CacheStats;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * Interns instances by the identity of their class and the structure of the
+ * arguments they were created from.
+ *
+ * <p>Every argument is one level of nested maps below a root that is specific
+ * to the class and the amount of arguments, so looking up an interned
+ * instance neither builds a key nor allocates. The first three arguments are
+ * passed separately, further ones are read from an array starting at a given
+ * offset, which lets callers pass their varargs array along as is.</p>
+ *
+ * <p>Once more instances than the limit are interned, the whole cache is
+ * cleared. Interned instances are reused for a long time, a full clear only
+ * happens when instances are created from an unbounded range of
+ * arguments.</p>
+ *
+ * @param <T> The type of interned instances
+ */
+final class InternCache<T> {
+
+    static final Object[] NO_ARGS = new Object[0];
+    private static final int MAX_ARITY = 16;
+    private static final Object NULL_KEY = new Object();
+
+    private final int limit;
+    private final ClassValue<AtomicReferenceArray<Map<Object, Object>>> roots = new ClassValue<AtomicReferenceArray<Map<Object, Object>>>() {
+        @Override
+        protected AtomicReferenceArray<Map<Object, Object>> computeValue(Class<?> type) {
+            return new AtomicReferenceArray<>(MAX_ARITY + 1);
+        }
+    };
+    private final Queue<Map<Object, Object>> allRoots = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    InternCache(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the instance interned for the given class and arguments.
+     *
+     * @param type The class of the instance
+     * @param arity The amount of arguments
+     * @param a The first argument
+     * @param b The second argument
+     * @param c The third argument
+     * @param rest The array holding the remaining arguments
+     * @param restOffset The index of the fourth argument in the array
+     * @return The interned instance, or null if there is none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    T get(Class<?> type, int arity, @Nullable Object a, @Nullable Object b, @Nullable Object c, Object[] rest, int restOffset) {
+        if (arity > MAX_ARITY) {
+            this.misses.increment();
+            return null;
+        }
+        Map<Object, Object> map = this.roots.get(type).get(arity);
+        final int depth = Math.max(arity, 1);
+        for (int i = 0; map != null && i < depth - 1; i++) {
+            map = (Map<Object, Object>) map.get(arg(i, a, b, c, rest, restOffset));
+        }
+        final T value = map == null ? null : (T) map.get(arg(depth - 1, a, b, c, rest, restOffset));
+        if (value == null) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Interns the given instance for the given class and arguments, unless
+     * another instance was interned for them concurrently.
+     *
+     * @param type The class of the instance
+     * @param arity The amount of arguments
+     * @param a The first argument
+     * @param b The second argument
+     * @param c The third argument
+     * @param rest The array holding the remaining arguments
+     * @param restOffset The index of the fourth argument in the array
+     * @param value The instance to intern
+     * @return The interned instance
+     */
+    @SuppressWarnings("unchecked")
+    T intern(Class<?> type, int arity, @Nullable Object a, @Nullable Object b, @Nullable Object c, Object[] rest, int restOffset, T value) {
+        if (arity > MAX_ARITY) {
+            return value;
+        }
+        final AtomicReferenceArray<Map<Object, Object>> rootsByArity = this.roots.get(type);
+        Map<Object, Object> map = rootsByArity.get(arity);
+        if (map == null) {
+            final Map<Object, Object> root = new ConcurrentHashMap<>();
+            if (rootsByArity.compareAndSet(arity, null, root)) {
+                this.allRoots.add(root);
+            }
+            map = rootsByArity.get(arity);
+        }
+        final int depth = Math.max(arity, 1);
+        for (int i = 0; i < depth - 1; i++) {
+            map = (Map<Object, Object>) map.computeIfAbsent(arg(i, a, b, c, rest, restOffset), k -> new ConcurrentHashMap<>());
+        }
+        final T previous = (T) map.putIfAbsent(arg(depth - 1, a, b, c, rest, restOffset), value);
+        if (previous != null) {
+            return previous;
+        }
+        if (this.size.incrementAndGet() > this.limit) {
+            this.clear();
+        }
+        return value;
+    }
+
+    private static Object arg(int index, @Nullable Object a, @Nullable Object b, @Nullable Object c, Object[] rest, int restOffset) {
+        final Object arg = index == 0 ? a : index == 1 ? b : index == 2 ? c : rest[restOffset + index - 3];
+        return arg == null ? NULL_KEY : arg;
+    }
+
+    private void clear() {
+        for (Map<Object, Object> root : this.allRoots) {
+            root.clear();
+        }
+        this.evictions.add(this.size.getAndSet(0));
+    }
+
+    /**
+     * Gets the hit, miss and eviction counts of this cache.
+     *
+     * @return The statistics
+     */
+    CacheStats stats() {
+        final long missCount = this.misses.sum();
+        return new CacheStats(this.hits.sum(), missCount, missCount, 0, 0, this.evictions.sum());
+    }
+
+}
@@ -35,6 +35,7 @@
 import org.spongepowered.api.data.value.mutable.CollectionValue;
 import org.spongepowered.api.data.value.mutable.Value;
 import org.spongepowered.api.entity.Entity;
+import org.spongepowered.api.util.Tristate;
 
 import java.util.Optional;
 
@@ -139,6 +140,22 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if all, none or only some {@link ValueContainer}s of the given
+     * class are compatible with the value of data associated with this
+     * {@link ValueProcessor}, without having a container instance at hand.
+     *
+     * <p>{@link Tristate#UNDEFINED} means that support depends on the state
+     * of the container, and {@link #supports(ValueContainer)} has to be
+     * checked for each container.</p>
+     *
+     * @param containerClass The class of the value containers to check
+     * @return Whether containers of the class are supported
+     */
+    default Tristate supportsContainerClass(Class<?> containerClass) {
+        return Tristate.UNDEFINED;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
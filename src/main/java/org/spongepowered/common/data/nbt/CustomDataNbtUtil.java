@@ -71,9 +71,8 @@ public static DataTransactionResult apply(NBTTagCompound compound, DataManipulat
                     final DataContainer currentView = NbtTranslator.getInstance().translate(current);
                     DataManipulator<?, ?> existing = deserialize(clazzName, currentView);
                     isReplacing = existing != null;
-                    final DataContainer container = manipulator.toContainer();
-                    final NBTTagCompound newCompound = NbtTranslator.getInstance().translateData(container);
-                    dataCompound.setTag(NbtDataUtil.CUSTOM_DATA_CLASS, newCompound);
+                    final NBTTagCompound newCompound = NbtTranslator.getInstance().translateSerializable(manipulator);
+                    dataCompound.setTag(NbtDataUtil.CUSTOM_DATA, newCompound);
                     if (isReplacing) {
                         return DataTransactionResult.successReplaceResult(manipulator.getValues(), existing.getValues());
                     } else {
@@ -84,8 +83,7 @@ public static DataTransactionResult apply(NBTTagCompound compound, DataManipulat
             // We are now adding to the list, not replacing
             final NBTTagCompound newCompound = new NBTTagCompound();
             newCompound.setString(NbtDataUtil.CUSTOM_DATA_CLASS, manipulator.getClass().getName());
-            final DataContainer dataContainer = manipulator.toContainer();
-            final NBTTagCompound dataCompound = NbtTranslator.getInstance().translateData(dataContainer);
+            final NBTTagCompound dataCompound = NbtTranslator.getInstance().translateSerializable(manipulator);
             newCompound.setTag(NbtDataUtil.CUSTOM_DATA, dataCompound);
             list.appendTag(newCompound);
             return DataTransactionResult.builder().result(DataTransactionResult.Type.SUCCESS).success(manipulator.getValues()).build();
@@ -94,8 +92,7 @@ public static DataTransactionResult apply(NBTTagCompound compound, DataManipulat
             // We are now adding to the list, not replacing
             final NBTTagCompound newCompound = new NBTTagCompound();
             newCompound.setString(NbtDataUtil.CUSTOM_DATA_CLASS, manipulator.getClass().getName());
-            final DataContainer dataContainer = manipulator.toContainer();
-            final NBTTagCompound dataCompound = NbtTranslator.getInstance().translateData(dataContainer);
+            final NBTTagCompound dataCompound = NbtTranslator.getInstance().translateSerializable(manipulator);
             newCompound.setTag(NbtDataUtil.CUSTOM_DATA, dataCompound);
             list.appendTag(newCompound);
             spongeTag.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, list);
@@ -55,6 +55,14 @@
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Translates between {@link NBTTagCompound}s and {@link DataView}s.
+ *
+ * <p>Compounds are written directly from views and
+ * {@link DataSerializable}s, without building intermediate containers.
+ * Reading a compound materializes a complete {@link DataContainer} in a
+ * single pass.</p>
+ */
 public final class NbtTranslator implements DataTranslator<NBTTagCompound> {
 
     private static final NbtTranslator instance = new NbtTranslator();
@@ -84,7 +92,7 @@ private static void containerToCompound(final DataView container, final NBTTagCo
             String key = entry.getKey().asString('.');
             if (value instanceof DataView) {
                 NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
+                containerToCompound((DataView) value, inner);
                 compound.setTag(key, inner);
             } else if (value instanceof Boolean) {
                 compound.setTag(key + BOOLEAN_IDENTIFER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
@@ -284,6 +292,37 @@ public NBTTagCompound translateData(DataView container) {
         return NbtTranslator.containerToCompound(container);
     }
 
+    /**
+     * Translates the {@link DataSerializable} straight to a compound.
+     *
+     * @param serializable The serializable to translate
+     * @return The compound
+     */
+    public NBTTagCompound translateSerializable(DataSerializable serializable) {
+        return NbtTranslator.containerToCompound(checkNotNull(serializable).toContainer());
+    }
+
+    /**
+     * Serializes the manipulators to a list of compounds with the same
+     * layout as translating each view of
+     * {@link org.spongepowered.common.data.util.DataUtil#getSerializedManipulatorList(Iterable)}, without
+     * building and copying the intermediate containers.
+     *
+     * @param manipulators The manipulators to serialize
+     * @return The list of manipulator compounds
+     */
+    public NBTTagList translateManipulators(Iterable<? extends DataSerializable> manipulators) {
+        checkNotNull(manipulators);
+        final NBTTagList list = new NBTTagList();
+        for (DataSerializable manipulator : manipulators) {
+            final NBTTagCompound compound = new NBTTagCompound();
+            compound.setString(NbtDataUtil.CUSTOM_DATA_CLASS, manipulator.getClass().getName());
+            compound.setTag(NbtDataUtil.CUSTOM_DATA, translateSerializable(manipulator));
+            list.appendTag(compound);
+        }
+        return list;
+    }
+
     public void translateContainerToData(NBTTagCompound node, DataView container) {
         NbtTranslator.containerToCompound(container, node);
     }
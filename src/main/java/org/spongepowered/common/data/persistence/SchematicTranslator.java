@@ -44,13 +44,13 @@
 import org.spongepowered.api.world.schematic.BlockPalette;
 import org.spongepowered.api.world.schematic.BlockPaletteTypes;
 import org.spongepowered.api.world.schematic.Schematic;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.block.SpongeTileEntityArchetypeBuilder;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.registry.type.block.TileEntityTypeRegistryModule;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
+import org.spongepowered.common.world.schematic.SpongeArchetypeVolume;
 import org.spongepowered.common.world.schematic.SpongeSchematic;
 
 import java.io.ByteArrayOutputStream;
@@ -131,38 +131,10 @@ public Schematic translate(DataView view) throws InvalidDataException {
             palette = GlobalPalette.instance;
         }
 
-        MutableBlockVolume buffer =
-                new ArrayMutableBlockBuffer(palette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
-
         byte[] blockdata = (byte[]) view.get(DataQueries.Schematic.BLOCK_DATA).get();
-        int index = 0;
-        int i = 0;
-        int value = 0;
-        int varint_length = 0;
-        while (i < blockdata.length) {
-            value = 0;
-            varint_length = 0;
-
-            while (true) {
-                value |= (blockdata[i] & 127) << (varint_length++ * 7);
-                if (varint_length > 5) {
-                    throw new RuntimeException("VarInt too big (probably corrupted data)");
-                }
-                if ((blockdata[i] & 128) != 128) {
-                    i++;
-                    break;
-                }
-                i++;
-            }
-            // index = (y * length + z) * width + x
-            int y = index / (width * length);
-            int z = (index % (width * length)) / width;
-            int x = (index % (width * length)) % width;
-            BlockState state = palette.get(value).get();
-            buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state, SpongeImpl.getImplementationCause());
-
-            index++;
-        }
+        // Decode the palette ids straight into the packed buffer data
+        MutableBlockVolume buffer = ArrayMutableBlockBuffer.fromSchematicBlockData(palette,
+                new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length), blockdata);
         Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
         List<DataView> tiledata = view.getViewList(DataQueries.Schematic.TILEENTITY_DATA).orElse(null);
         if (tiledata != null) {
@@ -212,27 +184,34 @@ public DataContainer translate(Schematic schematic) throws InvalidDataException
         data.set(DataQueries.Schematic.OFFSET, offset);
 
         BlockPalette palette = schematic.getPalette();
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length);
-
-        for (int y = 0; y < height; y++) {
-            int y0 = yMin + y;
-            for (int z = 0; z < length; z++) {
-                int z0 = zMin + z;
-                for (int x = 0; x < width; x++) {
-                    int x0 = xMin + x;
-                    BlockState state = schematic.getBlock(x0, y0, z0);
-                    int id = palette.getOrAssign(state);
-
-                    while ((id & -128) != 0) {
-                        buffer.write(id & 127 | 128);
-                        id >>>= 7;
+        final byte[] blockData;
+        if (schematic instanceof SpongeArchetypeVolume && ((SpongeArchetypeVolume) schematic).getBacking() instanceof ArrayMutableBlockBuffer) {
+            // The backing buffer already stores the ids of the schematic palette
+            blockData = ((ArrayMutableBlockBuffer) ((SpongeArchetypeVolume) schematic).getBacking()).toSchematicBlockData();
+        } else {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length);
+
+            for (int y = 0; y < height; y++) {
+                int y0 = yMin + y;
+                for (int z = 0; z < length; z++) {
+                    int z0 = zMin + z;
+                    for (int x = 0; x < width; x++) {
+                        int x0 = xMin + x;
+                        BlockState state = schematic.getBlock(x0, y0, z0);
+                        int id = palette.getOrAssign(state);
+
+                        while ((id & -128) != 0) {
+                            buffer.write(id & 127 | 128);
+                            id >>>= 7;
+                        }
+                        buffer.write(id);
                     }
-                    buffer.write(id);
                 }
             }
+            blockData = buffer.toByteArray();
         }
 
-        data.set(DataQueries.Schematic.BLOCK_DATA, buffer.toByteArray());
+        data.set(DataQueries.Schematic.BLOCK_DATA, blockData);
 
         if (palette.getType() == BlockPaletteTypes.LOCAL) {
             DataQuery paletteQuery = DataQueries.Schematic.PALETTE;
@@ -37,6 +37,7 @@
 import org.spongepowered.api.data.value.ValueContainer;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.ValueProcessor;
 import org.spongepowered.common.data.util.DataUtil;
@@ -47,10 +48,12 @@
         extends AbstractSingleDataProcessor<T, V, M, I> implements ValueProcessor<T, V> {
 
     protected final Class<Holder> holderClass;
+    private final boolean instanceSupportChecks;
 
     protected AbstractSingleDataSingleTargetProcessor(Key<V> key, Class<Holder> holderClass) {
         super(key);
         this.holderClass = checkNotNull(holderClass);
+        this.instanceSupportChecks = DataUtil.hasInstanceSupportChecks(getClass(), AbstractSingleDataSingleTargetProcessor.class);
     }
 
     protected boolean supports(Holder dataHolder) {
@@ -69,6 +72,14 @@ public boolean supports(DataHolder dataHolder) {
         return this.holderClass.isInstance(dataHolder) && supports((Holder) dataHolder);
     }
 
+    @Override
+    public Tristate supportsHolderClass(Class<?> holderClass) {
+        if (!this.holderClass.isAssignableFrom(holderClass)) {
+            return Tristate.FALSE;
+        }
+        return this.instanceSupportChecks ? Tristate.UNDEFINED : Tristate.TRUE;
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
@@ -154,6 +165,11 @@ public final boolean supports(ValueContainer<?> container) {
         return this.holderClass.isInstance(container) && supports((Holder) container);
     }
 
+    @Override
+    public final Tristate supportsContainerClass(Class<?> containerClass) {
+        return supportsHolderClass(containerClass);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public final Optional<T> getValueFromContainer(ValueContainer<?> container) {
@@ -32,19 +32,23 @@
 import org.spongepowered.api.data.value.ValueContainer;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.ValueProcessor;
+import org.spongepowered.common.data.util.DataUtil;
 
 import java.util.Optional;
 
 public abstract class AbstractSpongeValueProcessor<C, E, V extends BaseValue<E>> implements ValueProcessor<E, V> {
 
     private final Class<C> containerClass;
+    private final boolean instanceSupportChecks;
     protected final Key<V> key;
 
     protected AbstractSpongeValueProcessor(Class<C> containerClass, Key<V> key) {
         this.key = checkNotNull(key, "The key is null!");
         this.containerClass = containerClass;
+        this.instanceSupportChecks = DataUtil.hasInstanceSupportChecks(getClass(), AbstractSpongeValueProcessor.class);
     }
 
     /**
@@ -72,6 +76,14 @@ public boolean supports(ValueContainer<?> container) {
         return this.containerClass.isInstance(container) && supports((C) container);
     }
 
+    @Override
+    public Tristate supportsContainerClass(Class<?> containerClass) {
+        if (!this.containerClass.isAssignableFrom(containerClass)) {
+            return Tristate.FALSE;
+        }
+        return this.instanceSupportChecks ? Tristate.UNDEFINED : Tristate.TRUE;
+    }
+
 
     @Override
     public final Key<? extends BaseValue<E>> getKey() {
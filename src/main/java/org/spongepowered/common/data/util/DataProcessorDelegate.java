@@ -36,6 +36,7 @@
 import org.spongepowered.api.data.merge.MergeFunction;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.entity.EntityType;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.api.util.Tuple;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.DataProcessor;
@@ -46,6 +47,7 @@
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    private final ClassValue<ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>>> resolvedProcessors;
 
     public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
         ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -53,6 +55,8 @@ public DataProcessorDelegate(ImmutableList<DataProcessor<M, I>> processors) {
             builder.add(new Tuple<>(processor, SpongeTimingsFactory.ofSafe(SpongeImpl.getPlugin(), processor.getClass().getCanonicalName())));
         }
         this.processors = builder.build();
+        this.resolvedProcessors = ResolvedProcessors.table(this.processors,
+                (tuple, holderClass) -> tuple.getFirst().supportsHolderClass(holderClass));
     }
 
     @Override
@@ -63,20 +67,23 @@ public int getPriority() {
     @Override
     public boolean supports(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>> processors = this.resolvedProcessors.get(dataHolder.getClass());
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < processors.size(); i++) {
+            if (!processors.requiresCheck(i)) {
+                return true;
+            }
+            final Tuple<DataProcessor<M, I>, Timing> tuple = processors.get(i);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
-                if (callingFromMinecraftThread) {
-                    tuple.getSecond().stopTiming();
-                }
-                return true;
-            }
+            final boolean supports = tuple.getFirst().supports(dataHolder);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().stopTiming();
             }
+            if (supports) {
+                return true;
+            }
         }
         return false;
     }
@@ -86,15 +93,31 @@ public boolean supports(EntityType entityType) {
         return false;
     }
 
+    @Override
+    public Tristate supportsHolderClass(Class<?> holderClass) {
+        final ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>> processors = this.resolvedProcessors.get(holderClass);
+        if (processors.size() == 0) {
+            return Tristate.FALSE;
+        }
+        for (int i = 0; i < processors.size(); i++) {
+            if (!processors.requiresCheck(i)) {
+                return Tristate.TRUE;
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+
     @Override
     public Optional<M> from(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>> processors = this.resolvedProcessors.get(dataHolder.getClass());
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < processors.size(); i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = processors.get(i);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
+            if (!processors.requiresCheck(i) || tuple.getFirst().supports(dataHolder)) {
                 final Optional<M> optional = tuple.getFirst().from(dataHolder);
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
@@ -114,12 +137,14 @@ public Optional<M> from(DataHolder dataHolder) {
     @Override
     public Optional<M> fill(DataHolder dataHolder, M manipulator, MergeFunction overlap) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>> processors = this.resolvedProcessors.get(dataHolder.getClass());
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < processors.size(); i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = processors.get(i);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
+            if (!processors.requiresCheck(i) || tuple.getFirst().supports(dataHolder)) {
                 final Optional<M> optional = tuple.getFirst().fill(dataHolder, manipulator, overlap);
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
@@ -158,12 +183,14 @@ public Optional<M> fill(DataContainer container, M m) {
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>> processors = this.resolvedProcessors.get(dataHolder.getClass());
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < processors.size(); i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = processors.get(i);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
+            if (!processors.requiresCheck(i) || tuple.getFirst().supports(dataHolder)) {
                 final DataTransactionResult result = tuple.getFirst().set(dataHolder, manipulator, function);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     if (callingFromMinecraftThread) {
@@ -202,12 +229,14 @@ public Optional<I> with(Key<? extends BaseValue<?>> key, Object value, I immutab
     @Override
     public DataTransactionResult remove(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>> processors = this.resolvedProcessors.get(dataHolder.getClass());
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < processors.size(); i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = processors.get(i);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
+            if (!processors.requiresCheck(i) || tuple.getFirst().supports(dataHolder)) {
                 final DataTransactionResult result = tuple.getFirst().remove(dataHolder);
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
@@ -227,12 +256,14 @@ public DataTransactionResult remove(DataHolder dataHolder) {
     @Override
     public Optional<M> createFrom(DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = ServerUtils.isCallingFromMainThread();
+        final ResolvedProcessors<Tuple<DataProcessor<M, I>, Timing>> processors = this.resolvedProcessors.get(dataHolder.getClass());
 
-        for (Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (int i = 0; i < processors.size(); i++) {
+            final Tuple<DataProcessor<M, I>, Timing> tuple = processors.get(i);
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
-            if (tuple.getFirst().supports(dataHolder)) {
+            if (!processors.requiresCheck(i) || tuple.getFirst().supports(dataHolder)) {
                 final Optional<M> optional = tuple.getFirst().createFrom(dataHolder);
                 if (callingFromMinecraftThread) {
                     tuple.getSecond().stopTiming();
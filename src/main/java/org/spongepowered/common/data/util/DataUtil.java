@@ -42,6 +42,7 @@
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.data.value.BaseValue;
+import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
@@ -50,6 +51,7 @@
 import org.spongepowered.common.data.fixer.entity.player.PlayerRespawnData;
 import org.spongepowered.common.data.fixer.world.SpongeLevelFixer;
 
+import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -213,6 +215,27 @@ public static Vector3d getPosition3d(DataView view, DataQuery query) {
         return new Vector3d(x, y, z);
     }
 
+    /**
+     * Checks whether the given processor class overrides any of the
+     * {@code supports} checks declared by the base processor class, in which
+     * case support for a holder may depend on more than its class.
+     *
+     * @param processorClass The processor class
+     * @param baseClass The base processor class declaring the class check
+     * @return True if a {@code supports} check is overridden
+     */
+    public static boolean hasInstanceSupportChecks(Class<?> processorClass, Class<?> baseClass) {
+        for (Class<?> clazz = processorClass; clazz != null && clazz != baseClass; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.getName().equals("supports") && method.getParameterCount() == 1
+                        && method.getParameterTypes()[0] != EntityType.class) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     public static Supplier<InvalidDataException> dataNotFound() {
         return INVALID_DATA_EXCEPTION_SUPPLIER;
     }
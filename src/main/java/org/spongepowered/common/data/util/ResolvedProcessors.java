@@ -0,0 +1,96 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * The processors of a delegate which may handle holders of a single class,
+ * in the order they are to be tried. Processors which can't support the
+ * class at all are left out, and processors which support every instance
+ * of the class don't need their {@code supports} check to be called.
+ *
+ * @param <P> The type of processor
+ */
+final class ResolvedProcessors<P> {
+
+    /**
+     * Creates a lookup table of the processors resolved per holder class.
+     *
+     * @param processors The processors, in order of priority
+     * @param classSupport The function checking support of a holder class
+     * @param <P> The type of processor
+     * @return The lookup table
+     */
+    static <P> ClassValue<ResolvedProcessors<P>> table(List<P> processors, BiFunction<P, Class<?>, Tristate> classSupport) {
+        return new ClassValue<ResolvedProcessors<P>>() {
+            @Override
+            protected ResolvedProcessors<P> computeValue(Class<?> holderClass) {
+                final List<P> resolved = new ArrayList<>(processors.size());
+                final boolean[] requiresCheck = new boolean[processors.size()];
+                for (P processor : processors) {
+                    final Tristate support = classSupport.apply(processor, holderClass);
+                    if (support != Tristate.FALSE) {
+                        requiresCheck[resolved.size()] = support == Tristate.UNDEFINED;
+                        resolved.add(processor);
+                    }
+                }
+                return new ResolvedProcessors<>(resolved, requiresCheck);
+            }
+        };
+    }
+
+    private final List<P> processors;
+    private final boolean[] requiresCheck;
+
+    private ResolvedProcessors(List<P> processors, boolean[] requiresCheck) {
+        this.processors = processors;
+        this.requiresCheck = requiresCheck;
+    }
+
+    int size() {
+        return this.processors.size();
+    }
+
+    P get(int index) {
+        return this.processors.get(index);
+    }
+
+    /**
+     * Gets whether the processor at the given index only supports some
+     * holders of the class, and has to be checked for every holder.
+     *
+     * @param index The index of the processor
+     * @return True if the processor has to be checked
+     */
+    boolean requiresCheck(int index) {
+        return this.requiresCheck[index];
+    }
+
+}
@@ -31,6 +31,7 @@
 import org.spongepowered.api.data.value.ValueContainer;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.api.util.Tristate;
 import org.spongepowered.common.data.ValueProcessor;
 
 import java.util.Optional;
@@ -45,11 +46,11 @@
 public final class ValueProcessorDelegate<E, V extends BaseValue<E>> implements ValueProcessor<E, V> {
 
     private final Key<V> key;
-    private final ImmutableList<ValueProcessor<E, V>> processors;
+    private final ClassValue<ResolvedProcessors<ValueProcessor<E, V>>> resolvedProcessors;
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
-        this.processors = processors;
+        this.resolvedProcessors = ResolvedProcessors.table(processors, ValueProcessor::supportsContainerClass);
     }
 
     @Override
@@ -64,8 +65,10 @@ public int getPriority() {
 
     @Override
     public Optional<E> getValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final ResolvedProcessors<ValueProcessor<E, V>> processors = this.resolvedProcessors.get(container.getClass());
+        for (int i = 0; i < processors.size(); i++) {
+            final ValueProcessor<E, V> processor = processors.get(i);
+            if (!processors.requiresCheck(i) || processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
                     return optional;
@@ -77,8 +80,10 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final ResolvedProcessors<ValueProcessor<E, V>> processors = this.resolvedProcessors.get(container.getClass());
+        for (int i = 0; i < processors.size(); i++) {
+            final ValueProcessor<E, V> processor = processors.get(i);
+            if (!processors.requiresCheck(i) || processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
                     return optional;
@@ -90,27 +95,45 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final ResolvedProcessors<ValueProcessor<E, V>> processors = this.resolvedProcessors.get(container.getClass());
+        for (int i = 0; i < processors.size(); i++) {
+            if (!processors.requiresCheck(i) || processors.get(i).supports(container)) {
                 return true;
             }
         }
         return false;
     }
 
+    @Override
+    public Tristate supportsContainerClass(Class<?> containerClass) {
+        final ResolvedProcessors<ValueProcessor<E, V>> processors = this.resolvedProcessors.get(containerClass);
+        if (processors.size() == 0) {
+            return Tristate.FALSE;
+        }
+        for (int i = 0; i < processors.size(); i++) {
+            if (!processors.requiresCheck(i)) {
+                return Tristate.TRUE;
+            }
+        }
+        return Tristate.UNDEFINED;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final ResolvedProcessors<ValueProcessor<E, V>> processors = this.resolvedProcessors.get(container.getClass());
+        for (int i = 0; i < processors.size(); i++) {
+            final ValueProcessor<E, V> processor = processors.get(i);
+            if (!processors.requiresCheck(i) || processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     return result;
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        for (int i = 0; i < processors.size(); i++) {
+            final ValueProcessor<E, V> processor = processors.get(i);
+            if (!processors.requiresCheck(i) || processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
                     V mutable = optional.get();
@@ -124,8 +147,10 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
-            if (processor.supports(container)) {
+        final ResolvedProcessors<ValueProcessor<E, V>> processors = this.resolvedProcessors.get(container.getClass());
+        for (int i = 0; i < processors.size(); i++) {
+            final ValueProcessor<E, V> processor = processors.get(i);
+            if (!processors.requiresCheck(i) || processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
                     return result;
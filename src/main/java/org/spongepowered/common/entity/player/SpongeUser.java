@@ -50,6 +50,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.data.util.DataQueries;
 import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
@@ -308,6 +309,7 @@ public void save() {
         try {
             CompressedStreamTools.writeCompressed(tag, new FileOutputStream(dataFile));
             dirtyUsers.remove(this);
+            UserIndex.onDataSaved(this.profile);
         } catch (IOException e) {
             SpongeImpl.getLogger().warn("Failed to save user file [{}]!", dataFile, e);
         }
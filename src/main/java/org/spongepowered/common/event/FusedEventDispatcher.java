@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.impl.AbstractEvent;
+
+/**
+ * Base class of the dispatchers generated by the
+ * {@link FusedEventDispatcherFactory}.
+ *
+ * <p>A generated dispatcher calls every listener of a single baked event
+ * type from its own call site, so the JIT sees a monomorphic call for each
+ * listener instead of one megamorphic call in a loop.</p>
+ */
+public abstract class FusedEventDispatcher {
+
+    private final Logger logger;
+    private final RegisteredListener<?>[] handlers;
+    protected final EventListener<?>[] delegates;
+
+    protected FusedEventDispatcher(Logger logger, RegisteredListener<?>[] handlers) {
+        this.logger = checkNotNull(logger, "logger");
+        this.handlers = checkNotNull(handlers, "handlers");
+        this.delegates = new EventListener<?>[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            this.delegates[i] = handlers[i].getListener();
+        }
+    }
+
+    /**
+     * Calls all the listeners of this dispatcher.
+     *
+     * @param event The event
+     * @return Whether the event was cancelled
+     */
+    public final boolean post(Event event) {
+        dispatch(event);
+        ((AbstractEvent) event).currentOrder = null;
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    protected abstract void dispatch(Event event);
+
+    protected final void preHandle(Event event, int index) {
+        final RegisteredListener<?> handler = this.handlers[index];
+        handler.getTimingsHandler().startTimingIfSync();
+        ((AbstractEvent) event).currentOrder = handler.getOrder();
+    }
+
+    protected final void postHandle(int index) {
+        this.handlers[index].getTimingsHandler().stopTimingIfSync();
+    }
+
+    protected final void handleException(Event event, int index, Throwable e) {
+        final RegisteredListener<?> handler = this.handlers[index];
+        handler.getTimingsHandler().stopTimingIfSync();
+        this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+    }
+
+}
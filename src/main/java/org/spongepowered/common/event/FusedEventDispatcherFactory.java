@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PROTECTED;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_6;
+
+import org.apache.logging.log4j.Logger;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.common.event.gen.DefineableClassLoader;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a {@link FusedEventDispatcher} for the baked listeners of a
+ * single event type.
+ *
+ * <p>Every dispatcher is defined in its own class loader, so it can be
+ * unloaded once the baked cache it belongs to was invalidated.</p>
+ */
+public final class FusedEventDispatcherFactory {
+
+    /**
+     * The maximum amount of listeners that are fused into one dispatcher,
+     * larger dispatch methods would no longer be compiled by the JIT.
+     */
+    public static final int MAX_LISTENERS = 150;
+
+    private static final String BASE_DISPATCHER = Type.getInternalName(FusedEventDispatcher.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String LISTENER_NAME = Type.getInternalName(EventListener.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = '(' + Type.getDescriptor(Logger.class) + Type.getDescriptor(RegisteredListener[].class) + ")V";
+
+    private final AtomicInteger id = new AtomicInteger();
+    private final String targetPackage;
+    private final Logger logger;
+
+    public FusedEventDispatcherFactory(String targetPackage, Logger logger) {
+        this.targetPackage = checkNotNull(targetPackage, "targetPackage") + '.';
+        this.logger = checkNotNull(logger, "logger");
+    }
+
+    public FusedEventDispatcher create(Class<? extends Event> eventClass, RegisteredListener<?>[] handlers) throws Exception {
+        String name = this.targetPackage + eventClass.getSimpleName() + "Dispatcher_" + this.id.incrementAndGet();
+        DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
+        Class<? extends FusedEventDispatcher> dispatcherClass = classLoader.defineClass(name, generateClass(name, handlers.length));
+        return dispatcherClass.getConstructor(Logger.class, RegisteredListener[].class).newInstance(this.logger, handlers);
+    }
+
+    private static byte[] generateClass(String name, int listenerCount) {
+        name = name.replace('.', '/');
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+        FieldVisitor fv;
+
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, BASE_DISPATCHER, null);
+
+        // One field per listener, so every listener gets its own call site
+        for (int i = 0; i < listenerCount; i++) {
+            fv = cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, LISTENER_DESCRIPTOR, null, null);
+            fv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PUBLIC, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitMethodInsn(INVOKESPECIAL, BASE_DISPATCHER, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+            for (int i = 0; i < listenerCount; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, BASE_DISPATCHER, "delegates", Type.getDescriptor(EventListener[].class));
+                visitIndex(mv, i);
+                mv.visitInsn(AALOAD);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(ACC_PROTECTED, "dispatch", '(' + EVENT_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < listenerCount; i++) {
+                Label start = new Label();
+                Label end = new Label();
+                Label handler = new Label();
+                Label next = new Label();
+                mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+
+                mv.visitLabel(start);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitIndex(mv, i);
+                mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "preHandle", '(' + EVENT_DESCRIPTOR + "I)V", false);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitFieldInsn(GETFIELD, name, "listener" + i, LISTENER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitMethodInsn(INVOKEINTERFACE, LISTENER_NAME, "handle", '(' + EVENT_DESCRIPTOR + ")V", true);
+                mv.visitVarInsn(ALOAD, 0);
+                visitIndex(mv, i);
+                mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "postHandle", "(I)V", false);
+                mv.visitLabel(end);
+                mv.visitJumpInsn(GOTO, next);
+
+                mv.visitLabel(handler);
+                mv.visitVarInsn(ASTORE, 2);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                visitIndex(mv, i);
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitMethodInsn(INVOKEVIRTUAL, BASE_DISPATCHER, "handleException", '(' + EVENT_DESCRIPTOR + "ILjava/lang/Throwable;)V", false);
+
+                mv.visitLabel(next);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    private static void visitIndex(MethodVisitor mv, int index) {
+        if (index <= 5) {
+            mv.visitInsn(ICONST_0 + index);
+        } else if (index <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, index);
+        } else {
+            mv.visitIntInsn(SIPUSH, index);
+        }
+    }
+
+}
@@ -38,6 +38,8 @@
 import java.util.EnumMap;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 public final class RegisteredListener<T extends Event> implements SpongeEventListener<T>, Comparable<RegisteredListener<?>> {
 
     private final PluginContainer plugin;
@@ -90,6 +92,10 @@ public Object getHandle() {
         return this.listener;
     }
 
+    EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public void handle(T event) throws Exception {
         this.listener.handle(event);
@@ -102,13 +108,27 @@ public int compareTo(RegisteredListener<?> handler) {
 
     public static final class Cache {
 
+        private static final RegisteredListener<?>[] EMPTY = new RegisteredListener<?>[0];
+        private static final Order[] ORDERS = Order.values();
+
         private final List<RegisteredListener<?>> listeners;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
-        private static final Order[] ORDERS = Order.values();
+        // Flat copies of the lists above, these are used while posting
+        // events so no iterator has to be created
+        private final RegisteredListener<?>[] listenerArray;
+        private final RegisteredListener<?>[][] listenerArraysByOrder;
+
+        @Nullable private final FusedEventDispatcher dispatcher;
 
         Cache(List<RegisteredListener<?>> listeners) {
+            this(listeners, null);
+        }
+
+        Cache(List<RegisteredListener<?>> listeners, @Nullable FusedEventDispatcher dispatcher) {
             this.listeners = listeners;
+            this.dispatcher = dispatcher;
+            this.listenerArray = listeners.isEmpty() ? EMPTY : listeners.toArray(new RegisteredListener<?>[listeners.size()]);
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -117,6 +137,12 @@ public static final class Cache {
             for (RegisteredListener<?> handler : listeners) {
                 this.listenersByOrder.get(handler.getOrder()).add(handler);
             }
+
+            this.listenerArraysByOrder = new RegisteredListener<?>[ORDERS.length][];
+            for (Order order : ORDERS) {
+                List<RegisteredListener<?>> byOrder = this.listenersByOrder.get(order);
+                this.listenerArraysByOrder[order.ordinal()] = byOrder.isEmpty() ? EMPTY : byOrder.toArray(new RegisteredListener<?>[byOrder.size()]);
+            }
         }
 
         public List<RegisteredListener<?>> getListeners() {
@@ -127,6 +153,25 @@ public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
 
+        public RegisteredListener<?>[] getListenerArray() {
+            return this.listenerArray;
+        }
+
+        public RegisteredListener<?>[] getListenerArrayByOrder(Order order) {
+            return this.listenerArraysByOrder[checkNotNull(order, "order").ordinal()];
+        }
+
+        /**
+         * Gets the generated dispatcher which calls all listeners of this
+         * cache in order, if fused dispatching is enabled.
+         *
+         * @return The fused dispatcher, or null
+         */
+        @Nullable
+        public FusedEventDispatcher getDispatcher() {
+            return this.dispatcher;
+        }
+
     }
 
 }
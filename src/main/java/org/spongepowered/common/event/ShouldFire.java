@@ -60,4 +60,6 @@ public class ShouldFire {
     public static boolean DEFUSE_EXPLOSIVE_EVENT_POST = false;
 
     public static boolean TICK_BLOCK_EVENT = false;
+
+    public static boolean EXPLOSION_EVENT_POST = false;
 }
@@ -27,12 +27,10 @@
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import co.aikar.timings.TimingsManager;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import org.apache.logging.log4j.Logger;
@@ -45,15 +43,17 @@
 import org.spongepowered.api.event.impl.AbstractEvent;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.filter.FilterFactory;
 import org.spongepowered.common.event.gen.DefineableClassLoader;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -65,68 +65,112 @@
 @Singleton
 public class SpongeEventManager implements EventManager {
 
+    /**
+     * Guards writers of {@link #handlersByEvent}. Readers never take this
+     * lock, they only ever see a complete immutable snapshot.
+     */
     private final Object lock = new Object();
     protected final Logger logger;
     private final PluginManager pluginManager;
     private final DefineableClassLoader classLoader = new DefineableClassLoader(getClass().getClassLoader());
     private final AnnotatedEventListener.Factory handlerFactory = new ClassEventListenerFactory("org.spongepowered.common.event.listener",
             new FilterFactory("org.spongepowered.common.event.filters", this.classLoader), this.classLoader);
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent = HashMultimap.create();
+    private final FusedEventDispatcherFactory dispatcherFactory;
     private final Set<Object> registeredListeners = Sets.newHashSet();
 
+    /**
+     * An immutable snapshot of all registered handlers keyed by the event
+     * class they were registered for. The snapshot is replaced as a whole
+     * whenever handlers are added or removed.
+     */
+    private volatile ImmutableSetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = ImmutableSetMultimap.of();
+
     public final ListenerChecker checker = new ListenerChecker(ShouldFire.class);
 
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>Only the entries for event types which are affected by a change in
+     * the registered handlers are invalidated, other baked caches are
+     * kept.</p>
      */
-    private final LoadingCache<Class<? extends Event>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build((eventClass) -> bakeHandlers(eventClass));
+    private final Map<Class<? extends Event>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>(150, 0.75f, 1);
 
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
         this.pluginManager = checkNotNull(pluginManager, "pluginManager");
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            Object innerCacheValue = innerCache.get(this.handlersCache);
-            Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData = new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            this.logger.warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            this.logger.warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
+        this.dispatcherFactory = new FusedEventDispatcherFactory("org.spongepowered.common.event.dispatcher", logger);
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(Class<T> rootEvent) {
+        return bakeHandlers(rootEvent, this.handlersByEvent);
+    }
+
+    private <T extends Event> RegisteredListener.Cache bakeHandlers(Class<T> rootEvent,
+            SetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent) {
         List<RegisteredListener<?>> handlers = Lists.newArrayList();
         Set<Class<? super T>> types = TypeToken.of(rootEvent).getTypes().rawTypes();
 
-        synchronized (this.lock) {
-            for (Class<? super T> type : types) {
-                if (Event.class.isAssignableFrom(type)) {
-                    handlers.addAll(this.handlersByEvent.get(type));
-                }
+        for (Class<? super T> type : types) {
+            if (Event.class.isAssignableFrom(type)) {
+                handlers.addAll(handlersByEvent.get(type));
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+
+        FusedEventDispatcher dispatcher = null;
+        if (!handlers.isEmpty() && SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useFusedEventDispatch() && handlers.size() <= FusedEventDispatcherFactory.MAX_LISTENERS) {
+            try {
+                dispatcher = this.dispatcherFactory.create(rootEvent, handlers.toArray(new RegisteredListener<?>[handlers.size()]));
+            } catch (Exception e) {
+                this.logger.error("Failed to create fused dispatcher for {}", rootEvent.getName(), e);
+            }
+        }
+        return new RegisteredListener.Cache(handlers, dispatcher);
+    }
+
+    private RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
+        RegisteredListener.Cache cache = this.handlersCache.get(eventClass);
+        if (cache != null) {
+            return cache;
+        }
+
+        while (true) {
+            ImmutableSetMultimap<Class<?>, RegisteredListener<?>> snapshot = this.handlersByEvent;
+            cache = bakeHandlers(eventClass, snapshot);
+            RegisteredListener.Cache existing = this.handlersCache.putIfAbsent(eventClass, cache);
+            if (existing != null) {
+                return existing;
+            }
+            // The handlers may have been swapped while we were baking, in which
+            // case the invalidation could have run before we published our cache
+            if (this.handlersByEvent == snapshot) {
+                return cache;
+            }
+            this.handlersCache.remove(eventClass, cache);
+        }
+    }
+
+    /**
+     * Drops the baked caches of all event types which are subtypes of one
+     * of the given event classes.
+     *
+     * <p>This must be called after the new handler snapshot was published.</p>
+     *
+     * @param changed The event classes whose handlers changed
+     */
+    private void invalidateHandlers(Set<Class<?>> changed) {
+        Iterator<Class<? extends Event>> itr = this.handlersCache.keySet().iterator();
+        while (itr.hasNext()) {
+            Class<? extends Event> eventClass = itr.next();
+            for (Class<?> changedClass : changed) {
+                if (changedClass.isAssignableFrom(eventClass)) {
+                    itr.remove();
+                    break;
+                }
+            }
+        }
     }
 
     private static boolean isValidHandler(Method method) {
@@ -147,17 +191,19 @@ private void register(RegisteredListener<? extends Event> handler) {
 
     private void register(List<RegisteredListener<? extends Event>> handlers) {
         synchronized (this.lock) {
-            boolean changed = false;
+            SetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = LinkedHashMultimap.create(this.handlersByEvent);
+            Set<Class<?>> changed = new HashSet<>();
 
             for (RegisteredListener<?> handler : handlers) {
-                if (this.handlersByEvent.put(handler.getEventClass(), handler)) {
-                    changed = true;
+                if (handlersByEvent.put(handler.getEventClass(), handler)) {
+                    changed.add(handler.getEventClass());
                     this.checker.registerListenerFor(handler.getEventClass());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (!changed.isEmpty()) {
+                this.handlersByEvent = ImmutableSetMultimap.copyOf(handlersByEvent);
+                invalidateHandlers(changed);
             }
         }
     }
@@ -179,7 +225,7 @@ private void disableFields(Collection<RegisteredListener<? extends Event>> handl
 
     // Override in SpongeModEventManager
     protected boolean hasAnyListeners(Class<? extends Event> clazz) {
-        return !this.handlersCache.get(clazz).getListeners().isEmpty();
+        return getHandlerCache(clazz).getListenerArray().length != 0;
     }
 
     public void registerListener(PluginContainer plugin, Object listenerObject) {
@@ -261,20 +307,22 @@ public <T extends Event> void registerListener(Object plugin, Class<T> eventClas
 
     private void unregister(Predicate<RegisteredListener<?>> unregister) {
         synchronized (this.lock) {
-            boolean changed = false;
+            SetMultimap<Class<?>, RegisteredListener<?>> handlersByEvent = LinkedHashMultimap.create(this.handlersByEvent);
+            Set<Class<?>> changed = new HashSet<>();
 
-            Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
+            Iterator<RegisteredListener<?>> itr = handlersByEvent.values().iterator();
             while (itr.hasNext()) {
                 RegisteredListener<?> handler = itr.next();
                 if (unregister.test(handler)) {
                     itr.remove();
-                    changed = true;
+                    changed.add(handler.getEventClass());
                     this.checker.unregisterListenerFor(handler.getEventClass());
                 }
             }
 
-            if (changed) {
-                this.handlersCache.invalidateAll();
+            if (!changed.isEmpty()) {
+                this.handlersByEvent = ImmutableSetMultimap.copyOf(handlersByEvent);
+                invalidateHandlers(changed);
             }
         }
     }
@@ -293,30 +341,49 @@ public void unregisterPluginListeners(Object pluginObj) {
     }
 
     protected RegisteredListener.Cache getHandlerCache(Event event) {
-        return this.handlersCache.get(checkNotNull(event, "event").getClass());
+        return getHandlerCache(checkNotNull(event, "event").getClass());
     }
 
-    @SuppressWarnings("unchecked")
     protected boolean post(Event event, List<RegisteredListener<?>> handlers) {
-        for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
-            try {
-                handler.getTimingsHandler().startTimingIfSync();
-                ((AbstractEvent) event).currentOrder = handler.getOrder();
-                handler.handle(event);
-                handler.getTimingsHandler().stopTimingIfSync();
-            } catch (Throwable e) {
-                handler.getTimingsHandler().stopTimingIfSync();
-                this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
-            }
+        // Iterate the list directly, the baked lists are random access
+        for (int i = 0, size = handlers.size(); i < size; i++) {
+            postTo(event, handlers.get(i));
         }
         ((AbstractEvent) event).currentOrder = null;
 
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    protected boolean post(Event event, RegisteredListener<?>[] handlers) {
+        for (RegisteredListener<?> handler : handlers) {
+            postTo(event, handler);
+        }
+        ((AbstractEvent) event).currentOrder = null;
+
+        return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void postTo(Event event, RegisteredListener handler) {
+        try {
+            handler.getTimingsHandler().startTimingIfSync();
+            ((AbstractEvent) event).currentOrder = handler.getOrder();
+            handler.handle(event);
+            handler.getTimingsHandler().stopTimingIfSync();
+        } catch (Throwable e) {
+            handler.getTimingsHandler().stopTimingIfSync();
+            this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
+        }
+    }
+
     @Override
     public boolean post(Event event) {
-        return post(event, getHandlerCache(event).getListeners());
+        RegisteredListener.Cache cache = getHandlerCache(event);
+        FusedEventDispatcher dispatcher = cache.getDispatcher();
+        if (dispatcher != null) {
+            return dispatcher.post(event);
+        }
+        return post(event, cache.getListenerArray());
     }
 
     public boolean post(Event event, boolean allowClientThread) {
@@ -324,7 +391,7 @@ public boolean post(Event event, boolean allowClientThread) {
     }
 
     public boolean post(Event event, Order order) {
-        return post(event, getHandlerCache(event).getListenersByOrder(order));
+        return post(event, getHandlerCache(event).getListenerArrayByOrder(order));
     }
 
 }
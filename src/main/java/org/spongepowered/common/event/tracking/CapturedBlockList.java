@@ -0,0 +1,293 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.BlockChangeFlag;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.block.SpongeBlockSnapshotBuilder;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.BlockChange;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * The list of captured block changes of a {@link PhaseContext}. Besides
+ * {@link SpongeBlockSnapshot}s, block changes can be added packed into
+ * columns, without creating a snapshot until the change is read through
+ * the {@link java.util.List} methods. Packed changes never have tile entity
+ * data, see {@link TrackingUtil#trackBlockChange}.
+ */
+public final class CapturedBlockList extends AbstractList<BlockSnapshot> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] positions = new long[DEFAULT_CAPACITY];
+    private IBlockState[] states = new IBlockState[DEFAULT_CAPACITY];
+    private int[] updateFlags = new int[DEFAULT_CAPACITY];
+    private BlockChange[] changes = new BlockChange[DEFAULT_CAPACITY];
+    private IMixinWorldServer[] worlds = new IMixinWorldServer[DEFAULT_CAPACITY];
+    private UUID[] creators = new UUID[DEFAULT_CAPACITY];
+    private UUID[] notifiers = new UUID[DEFAULT_CAPACITY];
+    // Either the snapshot that was added, or the view created for a packed change
+    private SpongeBlockSnapshot[] snapshots = new SpongeBlockSnapshot[DEFAULT_CAPACITY];
+    private int size;
+
+    CapturedBlockList() {
+    }
+
+    /**
+     * Adds a block change without creating a snapshot for it.
+     *
+     * @param world The world of the change
+     * @param pos The position of the change
+     * @param originalState The state before the change
+     * @param updateFlag The minecraft update flag of the change
+     * @param blockChange The type of the change
+     */
+    void addPacked(IMixinWorldServer world, BlockPos pos, IBlockState originalState, int updateFlag, BlockChange blockChange) {
+        final int index = this.size;
+        ensureCapacity(index + 1);
+        final World spongeWorld = (World) world;
+        this.positions[index] = pos.toLong();
+        this.states[index] = originalState;
+        this.updateFlags[index] = updateFlag;
+        this.changes[index] = blockChange;
+        this.worlds[index] = world;
+        this.creators[index] = spongeWorld.getCreator(pos.getX(), pos.getY(), pos.getZ()).orElse(null);
+        this.notifiers[index] = spongeWorld.getNotifier(pos.getX(), pos.getY(), pos.getZ()).orElse(null);
+        this.snapshots[index] = null;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Gets whether a change at the given position was captured, without
+     * creating snapshots for packed changes.
+     *
+     * @param pos The position
+     * @return True if a change at the position was captured
+     */
+    public boolean containsPosition(BlockPos pos) {
+        final long packed = pos.toLong();
+        for (int i = 0; i < this.size; i++) {
+            if (this.positions[i] == packed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isPacked(int index) {
+        checkIndex(index);
+        return this.snapshots[index] == null;
+    }
+
+    BlockPos getBlockPos(int index) {
+        checkIndex(index);
+        return BlockPos.fromLong(this.positions[index]);
+    }
+
+    IBlockState getOriginalState(int index) {
+        checkIndex(index);
+        return this.states[index];
+    }
+
+    int getUpdateFlag(int index) {
+        checkIndex(index);
+        return this.updateFlags[index];
+    }
+
+    BlockChangeFlag getChangeFlag(int index) {
+        checkIndex(index);
+        final SpongeBlockSnapshot snapshot = this.snapshots[index];
+        return snapshot != null ? snapshot.getChangeFlag() : BlockChangeFlag.ALL.setUpdateNeighbors((this.updateFlags[index] & 1) != 0);
+    }
+
+    @Nullable
+    BlockChange getBlockChange(int index) {
+        checkIndex(index);
+        final SpongeBlockSnapshot snapshot = this.snapshots[index];
+        return snapshot != null ? snapshot.blockChange : this.changes[index];
+    }
+
+    IMixinWorldServer getWorld(int index) {
+        checkIndex(index);
+        IMixinWorldServer world = this.worlds[index];
+        if (world == null) {
+            // Added as a snapshot, so the world is looked up once
+            world = (IMixinWorldServer) this.snapshots[index].getLocation().get().getExtent();
+            this.worlds[index] = world;
+        }
+        return world;
+    }
+
+    @Override
+    public SpongeBlockSnapshot get(int index) {
+        checkIndex(index);
+        SpongeBlockSnapshot snapshot = this.snapshots[index];
+        if (snapshot == null) {
+            final BlockState state = (BlockState) this.states[index];
+            final int updateFlag = this.updateFlags[index];
+            final SpongeBlockSnapshotBuilder builder = new SpongeBlockSnapshotBuilder()
+                    .blockState(state)
+                    .extendedState(state)
+                    .worldId(((World) this.worlds[index]).getUniqueId())
+                    .position(VecHelper.toVector3i(BlockPos.fromLong(this.positions[index])));
+            if (this.creators[index] != null) {
+                builder.creator(this.creators[index]);
+            }
+            if (this.notifiers[index] != null) {
+                builder.notifier(this.notifiers[index]);
+            }
+            snapshot = new SpongeBlockSnapshot(builder, BlockChangeFlag.ALL.setUpdateNeighbors((updateFlag & 1) != 0), updateFlag);
+            snapshot.blockChange = this.changes[index];
+            // Keep the view, so the same snapshot is returned and can be removed again
+            this.snapshots[index] = snapshot;
+        }
+        return snapshot;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void add(int index, BlockSnapshot element) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        ensureCapacity(this.size + 1);
+        final int moved = this.size - index;
+        if (moved > 0) {
+            shift(index, index + 1, moved);
+        }
+        this.size++;
+        this.modCount++;
+        store(index, (SpongeBlockSnapshot) element);
+    }
+
+    @Override
+    public BlockSnapshot set(int index, BlockSnapshot element) {
+        final SpongeBlockSnapshot previous = get(index);
+        store(index, (SpongeBlockSnapshot) element);
+        return previous;
+    }
+
+    @Override
+    public BlockSnapshot remove(int index) {
+        final SpongeBlockSnapshot removed = get(index);
+        removePacked(index);
+        return removed;
+    }
+
+    /**
+     * Removes the change at the given index without creating a snapshot
+     * for it.
+     *
+     * @param index The index of the change
+     */
+    void removePacked(int index) {
+        checkIndex(index);
+        final int moved = this.size - index - 1;
+        if (moved > 0) {
+            shift(index + 1, index, moved);
+        }
+        this.size--;
+        clear(this.size, this.size + 1);
+        this.modCount++;
+    }
+
+    @Override
+    public void clear() {
+        clear(0, this.size);
+        this.size = 0;
+        this.modCount++;
+    }
+
+    private void store(int index, SpongeBlockSnapshot snapshot) {
+        this.positions[index] = snapshot.getBlockPos().toLong();
+        this.states[index] = (IBlockState) snapshot.getState();
+        this.updateFlags[index] = snapshot.getUpdateFlag();
+        this.changes[index] = snapshot.blockChange;
+        this.worlds[index] = null;
+        this.creators[index] = null;
+        this.notifiers[index] = null;
+        this.snapshots[index] = snapshot;
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(this.positions, from, this.positions, to, length);
+        System.arraycopy(this.states, from, this.states, to, length);
+        System.arraycopy(this.updateFlags, from, this.updateFlags, to, length);
+        System.arraycopy(this.changes, from, this.changes, to, length);
+        System.arraycopy(this.worlds, from, this.worlds, to, length);
+        System.arraycopy(this.creators, from, this.creators, to, length);
+        System.arraycopy(this.notifiers, from, this.notifiers, to, length);
+        System.arraycopy(this.snapshots, from, this.snapshots, to, length);
+    }
+
+    private void clear(int from, int to) {
+        // Release the references, the arrays are kept for the next capture
+        Arrays.fill(this.states, from, to, null);
+        Arrays.fill(this.changes, from, to, null);
+        Arrays.fill(this.worlds, from, to, null);
+        Arrays.fill(this.creators, from, to, null);
+        Arrays.fill(this.notifiers, from, to, null);
+        Arrays.fill(this.snapshots, from, to, null);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.positions.length) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, this.positions.length + (this.positions.length >> 1));
+        this.positions = Arrays.copyOf(this.positions, newCapacity);
+        this.states = Arrays.copyOf(this.states, newCapacity);
+        this.updateFlags = Arrays.copyOf(this.updateFlags, newCapacity);
+        this.changes = Arrays.copyOf(this.changes, newCapacity);
+        this.worlds = Arrays.copyOf(this.worlds, newCapacity);
+        this.creators = Arrays.copyOf(this.creators, newCapacity);
+        this.notifiers = Arrays.copyOf(this.notifiers, newCapacity);
+        this.snapshots = Arrays.copyOf(this.snapshots, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+}
@@ -52,6 +52,15 @@ public ListMultimap<K, V> get() {
         return this.captured;
     }
 
+    /**
+     * Forgets the captured objects, so the next capture starts with a new
+     * map. The old map is left untouched, as it may still be referenced
+     * by events it was passed to.
+     */
+    final void reset() {
+        this.captured = null;
+    }
+
     public final boolean isEmpty() {
         return this.captured == null || this.captured.isEmpty();
     }
@@ -43,11 +43,29 @@
     @Override
     public final List<T> get() {
         if (this.captured == null) {
-            this.captured = new ArrayList<>();
+            this.captured = createList();
         }
         return this.captured;
     }
 
+    /**
+     * Creates the list that objects are captured in.
+     *
+     * @return The new list
+     */
+    List<T> createList() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Forgets the captured objects, so the next capture starts with a new
+     * list. The old list is left untouched, as it may still be referenced
+     * by events it was passed to.
+     */
+    final void reset() {
+        this.captured = null;
+    }
+
     public final boolean isEmpty() {
         return this.captured == null || this.captured.isEmpty();
     }
@@ -88,6 +88,15 @@ CauseStack push(IPhaseState state, PhaseContext context) {
         return push(new PhaseData(context, state));
     }
 
+    boolean containsContext(PhaseContext context) {
+        for (PhaseData data : this.states) {
+            if (data.context == context) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void forEach(Consumer<PhaseData> consumer) {
         this.states.forEach(consumer::accept);
     }
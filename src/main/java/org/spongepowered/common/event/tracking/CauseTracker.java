@@ -234,6 +234,10 @@ public void completePhase(IPhaseState prevState) {
         } catch (Exception | NoClassDefFoundError e) {
             printMessageWithCaughtException("Exception Post Dispatching Phase", "Something happened when trying to post dispatch state", state, context, e);
         }
+        // The context may have been entered more than once, it can only be reused once all of its phases are done
+        if (!this.stack.containsContext(context)) {
+            context.release();
+        }
     }
 
     private void printRunnawayPhaseCompletion(IPhaseState state) {
@@ -111,4 +111,17 @@ default void postTrackBlock(BlockSnapshot snapshot, CauseTracker tracker, PhaseC
     default boolean requiresBlockPosTracking() {
         return false;
     }
+
+    /**
+     * Gets whether this state reads the snapshot of each captured block change in
+     * {@link #postTrackBlock} or {@link #handleBlockChangeWithUser}. If not, and no
+     * {@link org.spongepowered.api.event.block.ChangeBlockEvent} listener is registered,
+     * block changes are captured without creating snapshots, and {@link #postTrackBlock}
+     * is passed {@link BlockSnapshot#NONE}.
+     *
+     * @return True if this state reads the snapshots of block changes
+     */
+    default boolean requiresBlockChangeSnapshots() {
+        return false;
+    }
 }
@@ -42,16 +42,20 @@
 import org.spongepowered.api.event.cause.NamedCause;
 import org.spongepowered.api.world.BlockChangeFlag;
 import org.spongepowered.api.world.explosion.Explosion;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.event.InternalNamedCauses;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
@@ -64,7 +68,16 @@
  */
 public class PhaseContext {
 
+    // Completed contexts are reset and reused by the thread that completed them
+    private static final boolean POOLING = SpongeImpl.getGlobalConfig().getConfig().getCauseTracker().isContextPooling();
+    // Released contexts are never reused, but remember where they were released to report any later use
+    private static final boolean DEBUG_POOLING = SpongeImpl.getGlobalConfig().getConfig().getCauseTracker().isContextPoolingDebug();
+    private static final int MAX_POOL_SIZE = 64;
+    private static final ThreadLocal<Deque<PhaseContext>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
     private boolean isCompleted = false;
+    private boolean isReleased = false;
+    @Nullable private Exception releaseTrace;
     private final ArrayList<NamedCause> contextObjects = new ArrayList<>(10);
     @Nullable private Cause cause = null;
 
@@ -78,16 +91,135 @@ public class PhaseContext {
     @Nullable private EntityItemEntityDropsSupplier entityItemEntityDropsSupplier;
     @Nullable private CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> blockEntitySpawnSupplier;
     @Nullable private CaptureBlockPos captureBlockPos;
+
+    // Suppliers of a previous use of this context, which are reused when capturing again
+    @Nullable private CapturedBlocksSupplier spareBlocksSupplier;
+    @Nullable private BlockItemDropsSupplier spareBlockItemDropsSupplier;
+    @Nullable private BlockItemEntityDropsSupplier spareBlockItemEntityDropsSupplier;
+    @Nullable private CapturedItemsSupplier spareCapturedItemsSupplier;
+    @Nullable private CapturedEntitiesSupplier spareCapturedEntitiesSupplier;
+    @Nullable private CapturedItemStackSupplier spareCapturedItemStackSupplier;
+    @Nullable private EntityItemDropsSupplier spareEntityItemDropsSupplier;
+    @Nullable private EntityItemEntityDropsSupplier spareEntityItemEntityDropsSupplier;
+    @Nullable private CapturedBlockEntitySpawnSupplier spareBlockEntitySpawnSupplier;
+    @Nullable private CaptureBlockPos spareCaptureBlockPos;
+
     @Nullable protected User owner;
     @Nullable protected User notifier;
 
     private Object source;
 
     public static PhaseContext start() {
+        if (POOLING && !DEBUG_POOLING) {
+            final PhaseContext context = POOL.get().poll();
+            if (context != null) {
+                context.isReleased = false;
+                return context;
+            }
+        }
         return new PhaseContext();
     }
 
+    /**
+     * Resets this context and returns it to the pool of the current thread,
+     * once the phase it was used for has been completed. The capture
+     * suppliers are kept for the next use of this context, but start over
+     * with new lists, since the captured lists may have been passed to
+     * events which still reference them.
+     */
+    void release() {
+        // Subclasses may hold on to other contexts, so only plain contexts are pooled
+        if (!POOLING || getClass() != PhaseContext.class) {
+            return;
+        }
+        if (this.isReleased) {
+            checkNotReleased();
+            return;
+        }
+        reset();
+        this.isReleased = true;
+        if (DEBUG_POOLING) {
+            this.releaseTrace = new Exception("PhaseContext released");
+            return;
+        }
+        final Deque<PhaseContext> pool = POOL.get();
+        if (pool.size() < MAX_POOL_SIZE) {
+            pool.push(this);
+        }
+    }
+
+    private void reset() {
+        this.isCompleted = false;
+        this.contextObjects.clear();
+        this.cause = null;
+        this.source = null;
+        this.owner = null;
+        this.notifier = null;
+        this.cachedClass = null;
+        this.cachedObject = null;
+        this.cachedName = null;
+
+        this.spareBlocksSupplier = recycle(this.blocksSupplier, this.spareBlocksSupplier);
+        this.blocksSupplier = null;
+        this.spareBlockItemDropsSupplier = recycle(this.blockItemDropsSupplier, this.spareBlockItemDropsSupplier);
+        this.blockItemDropsSupplier = null;
+        this.spareBlockItemEntityDropsSupplier = recycle(this.blockItemEntityDropsSupplier, this.spareBlockItemEntityDropsSupplier);
+        this.blockItemEntityDropsSupplier = null;
+        this.spareCapturedItemsSupplier = recycle(this.capturedItemsSupplier, this.spareCapturedItemsSupplier);
+        this.capturedItemsSupplier = null;
+        this.spareCapturedEntitiesSupplier = recycle(this.capturedEntitiesSupplier, this.spareCapturedEntitiesSupplier);
+        this.capturedEntitiesSupplier = null;
+        this.spareCapturedItemStackSupplier = recycle(this.capturedItemStackSupplier, this.spareCapturedItemStackSupplier);
+        this.capturedItemStackSupplier = null;
+        this.spareEntityItemDropsSupplier = recycle(this.entityItemDropsSupplier, this.spareEntityItemDropsSupplier);
+        this.entityItemDropsSupplier = null;
+        this.spareEntityItemEntityDropsSupplier = recycle(this.entityItemEntityDropsSupplier, this.spareEntityItemEntityDropsSupplier);
+        this.entityItemEntityDropsSupplier = null;
+        this.spareBlockEntitySpawnSupplier =
+                recycle((CapturedBlockEntitySpawnSupplier) this.blockEntitySpawnSupplier, this.spareBlockEntitySpawnSupplier);
+        this.blockEntitySpawnSupplier = null;
+        if (this.captureBlockPos != null) {
+            this.captureBlockPos.setPos(null);
+            this.captureBlockPos.setWorld((IMixinWorldServer) null);
+            this.spareCaptureBlockPos = this.captureBlockPos;
+            this.captureBlockPos = null;
+        }
+    }
+
+    @Nullable
+    private static <S extends CapturedSupplier<?>> S recycle(@Nullable S supplier, @Nullable S spare) {
+        if (supplier == null) {
+            return spare;
+        }
+        supplier.reset();
+        return supplier;
+    }
+
+    @Nullable
+    private static <S extends CapturedMultiMapSupplier<?, ?>> S recycle(@Nullable S supplier, @Nullable S spare) {
+        if (supplier == null) {
+            return spare;
+        }
+        supplier.reset();
+        return supplier;
+    }
+
+    private static <T> T reuse(@Nullable T spare, Supplier<T> factory) {
+        return spare != null ? spare : factory.get();
+    }
+
+    private void checkNotReleased() {
+        if (this.isReleased) {
+            if (DEBUG_POOLING) {
+                throw new IllegalStateException("PhaseContext was used after its phase was completed!", this.releaseTrace);
+            }
+            SpongeImpl.getLogger().warn("PhaseContext was used after its phase was completed! Enable context pool debugging in the "
+                    + "cause tracker config to find out where it was released.", new Exception("Stack trace"));
+        }
+    }
+
     public PhaseContext add(@Nullable NamedCause namedCause) {
+        checkNotReleased();
         if (namedCause == null) {
             return this;
         }
@@ -100,6 +232,7 @@ public PhaseContext add(@Nullable NamedCause namedCause) {
     }
 
     public PhaseContext owner(User owner) {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         if (this.owner != null) {
             throw new IllegalStateException("Owner for this phase context is already set!");
@@ -110,6 +243,7 @@ public PhaseContext owner(User owner) {
     }
 
     public PhaseContext notifier(User notifier) {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         if (this.notifier != null) {
             throw new IllegalStateException("Notifier for this phase context is already set!");
@@ -128,26 +262,27 @@ private void checkBlockSuppliers() {
     }
 
     public PhaseContext addBlockCaptures() {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         this.checkBlockSuppliers();
 
-        CapturedBlocksSupplier blocksSupplier = new CapturedBlocksSupplier();
+        CapturedBlocksSupplier blocksSupplier = reuse(this.spareBlocksSupplier, CapturedBlocksSupplier::new);
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCKS, blocksSupplier));
         this.blocksSupplier = blocksSupplier;
-        BlockItemEntityDropsSupplier blockItemEntityDropsSupplier = new BlockItemEntityDropsSupplier();
+        BlockItemEntityDropsSupplier blockItemEntityDropsSupplier = reuse(this.spareBlockItemEntityDropsSupplier, BlockItemEntityDropsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ITEM_DROPS, blockItemEntityDropsSupplier));
         this.blockItemEntityDropsSupplier = blockItemEntityDropsSupplier;
-        BlockItemDropsSupplier blockItemDropsSupplier = new BlockItemDropsSupplier();
+        BlockItemDropsSupplier blockItemDropsSupplier = reuse(this.spareBlockItemDropsSupplier, BlockItemDropsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_DROPS, blockItemDropsSupplier));
         this.blockItemDropsSupplier = blockItemDropsSupplier;
-        CapturedBlockEntitySpawnSupplier capturedBlockEntitySpawnSupplier = new CapturedBlockEntitySpawnSupplier();
+        CapturedBlockEntitySpawnSupplier capturedBlockEntitySpawnSupplier = reuse(this.spareBlockEntitySpawnSupplier, CapturedBlockEntitySpawnSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ENTITY_SPAWNS, capturedBlockEntitySpawnSupplier));
         this.blockEntitySpawnSupplier = capturedBlockEntitySpawnSupplier;
 
-        CaptureBlockPos blockPos = new CaptureBlockPos();
+        CaptureBlockPos blockPos = reuse(this.spareCaptureBlockPos, CaptureBlockPos::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause
         this.captureBlockPos = blockPos;
@@ -155,36 +290,37 @@ public PhaseContext addBlockCaptures() {
     }
 
     public PhaseContext addCaptures() {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         this.checkBlockSuppliers();
         checkState(this.capturedItemsSupplier == null, "CapturedItemsSupplier is already set!");
         checkState(this.capturedEntitiesSupplier == null, "CapturedEntitiesSupplier is already set!");
         checkState(this.capturedItemStackSupplier == null, "CapturedItemStackSupplier is already set!");
 
-        CapturedBlocksSupplier blocksSupplier = new CapturedBlocksSupplier();
+        CapturedBlocksSupplier blocksSupplier = reuse(this.spareBlocksSupplier, CapturedBlocksSupplier::new);
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCKS, blocksSupplier));
         this.blocksSupplier = blocksSupplier;
-        BlockItemEntityDropsSupplier blockItemEntityDropsSupplier = new BlockItemEntityDropsSupplier();
+        BlockItemEntityDropsSupplier blockItemEntityDropsSupplier = reuse(this.spareBlockItemEntityDropsSupplier, BlockItemEntityDropsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ITEM_DROPS, blockItemEntityDropsSupplier));
         this.blockItemEntityDropsSupplier = blockItemEntityDropsSupplier;
-        BlockItemDropsSupplier blockItemDropsSupplier = new BlockItemDropsSupplier();
+        BlockItemDropsSupplier blockItemDropsSupplier = reuse(this.spareBlockItemDropsSupplier, BlockItemDropsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_DROPS, blockItemDropsSupplier));
         this.blockItemDropsSupplier = blockItemDropsSupplier;
-        CapturedItemsSupplier capturedItemsSupplier = new CapturedItemsSupplier();
+        CapturedItemsSupplier capturedItemsSupplier = reuse(this.spareCapturedItemsSupplier, CapturedItemsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEMS, capturedItemsSupplier));
         this.capturedItemsSupplier = capturedItemsSupplier;
-        CapturedEntitiesSupplier capturedEntitiesSupplier = new CapturedEntitiesSupplier();
+        CapturedEntitiesSupplier capturedEntitiesSupplier = reuse(this.spareCapturedEntitiesSupplier, CapturedEntitiesSupplier::new);
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITIES, capturedEntitiesSupplier));
         this.capturedEntitiesSupplier = capturedEntitiesSupplier;
-        CapturedItemStackSupplier capturedItemStackSupplier = new CapturedItemStackSupplier();
+        CapturedItemStackSupplier capturedItemStackSupplier = reuse(this.spareCapturedItemStackSupplier, CapturedItemStackSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEM_STACKS, capturedItemStackSupplier));
         this.capturedItemStackSupplier = capturedItemStackSupplier;
 
-        CapturedBlockEntitySpawnSupplier capturedBlockEntitySpawnSupplier = new CapturedBlockEntitySpawnSupplier();
+        CapturedBlockEntitySpawnSupplier capturedBlockEntitySpawnSupplier = reuse(this.spareBlockEntitySpawnSupplier, CapturedBlockEntitySpawnSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_BLOCK_ENTITY_SPAWNS, capturedBlockEntitySpawnSupplier));
         this.blockEntitySpawnSupplier = capturedBlockEntitySpawnSupplier;
@@ -192,19 +328,20 @@ public PhaseContext addCaptures() {
     }
 
     public PhaseContext addEntityCaptures() {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         checkState(this.capturedItemsSupplier == null, "CapturedItemsSupplier is already set!");
         checkState(this.capturedEntitiesSupplier == null, "CapturedEntitiesSupplier is already set!");
         checkState(this.capturedItemStackSupplier == null, "CapturedItemStackSupplier is already set!");
 
-        CapturedItemsSupplier capturedItemsSupplier = new CapturedItemsSupplier();
+        CapturedItemsSupplier capturedItemsSupplier = reuse(this.spareCapturedItemsSupplier, CapturedItemsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEMS, capturedItemsSupplier));
         this.capturedItemsSupplier = capturedItemsSupplier;
-        CapturedEntitiesSupplier capturedEntitiesSupplier = new CapturedEntitiesSupplier();
+        CapturedEntitiesSupplier capturedEntitiesSupplier = reuse(this.spareCapturedEntitiesSupplier, CapturedEntitiesSupplier::new);
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITIES, capturedEntitiesSupplier));
         this.capturedEntitiesSupplier = capturedEntitiesSupplier;
-        CapturedItemStackSupplier capturedItemStackSupplier = new CapturedItemStackSupplier();
+        CapturedItemStackSupplier capturedItemStackSupplier = reuse(this.spareCapturedItemStackSupplier, CapturedItemStackSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ITEM_STACKS, capturedItemStackSupplier));
         this.capturedItemStackSupplier = capturedItemStackSupplier;
@@ -212,15 +349,16 @@ public PhaseContext addEntityCaptures() {
     }
 
     public PhaseContext addEntityDropCaptures() {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         checkState(this.entityItemDropsSupplier == null, "EntityItemDropsSupplier is already set!");
         checkState(this.entityItemEntityDropsSupplier == null, "EntityItemEntityDropsSupplier is already set!");
 
-        EntityItemDropsSupplier entityItemDropsSupplier = new EntityItemDropsSupplier();
+        EntityItemDropsSupplier entityItemDropsSupplier = reuse(this.spareEntityItemDropsSupplier, EntityItemDropsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITY_STACK_DROPS, entityItemDropsSupplier));
         this.entityItemDropsSupplier = entityItemDropsSupplier;
-        EntityItemEntityDropsSupplier entityItemEntityDropsSupplier = new EntityItemEntityDropsSupplier();
+        EntityItemEntityDropsSupplier entityItemEntityDropsSupplier = reuse(this.spareEntityItemEntityDropsSupplier, EntityItemEntityDropsSupplier::new);
         // unused, to be removed and re-located when phase context is cleaned up
         //this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_ENTITY_ITEM_DROPS, entityItemEntityDropsSupplier));
         this.entityItemEntityDropsSupplier = entityItemEntityDropsSupplier;
@@ -228,24 +366,28 @@ public PhaseContext addEntityDropCaptures() {
     }
 
     public PhaseContext player() {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_PLAYER, new CapturePlayer()));
         return this;
     }
 
     public PhaseContext player(@Nullable Player player) {
+        checkNotReleased();
         checkState(!this.isCompleted, "Cannot add a new object to the context if it's already marked as completed!");
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_PLAYER, new CapturePlayer(player)));
         return this;
     }
 
     public PhaseContext explosion() {
+        checkNotReleased();
         checkState(!this.isCompleted, "CAnnot add a new object to the context if it's already marked as completed!");
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_EXPLOSION, new CaptureExplosion()));
         return this;
     }
 
     public PhaseContext explosion(@Nullable Explosion explosion) {
+        checkNotReleased();
         checkState(!this.isCompleted, "CAnnot add a new object to the context if it's already marked as completed!");
         this.contextObjects.add(NamedCause.of(InternalNamedCauses.Tracker.CAPTURED_EXPLOSION, new CaptureExplosion(explosion)));
         return this;
@@ -262,6 +404,7 @@ public Optional<Explosion> getExplosion() {
     }
 
     public PhaseContext complete() {
+        checkNotReleased();
         this.isCompleted = true;
         return this;
     }
@@ -276,6 +419,7 @@ public boolean isComplete() {
 
     @SuppressWarnings("unchecked")
     public <T> Optional<T> first(Class<T> tClass) {
+        checkNotReleased();
         if (this.cachedClass != null && this.cachedClass == tClass) {
             if (this.cachedObject != null) {
                 return Optional.of((T) this.cachedObject);
@@ -295,6 +439,7 @@ public <T> Optional<T> first(Class<T> tClass) {
 
     @SuppressWarnings("unchecked")
     public <T> Optional<T> firstNamed(String name, Class<T> tClass) {
+        checkNotReleased();
         if (name.equals(this.cachedName) && tClass == this.cachedClass) {
             if (this.cachedObject != null) {
                 return Optional.of((T) this.cachedObject);
@@ -313,6 +458,7 @@ public <T> Optional<T> firstNamed(String name, Class<T> tClass) {
 
     @SuppressWarnings("unchecked")
     public <T> Optional<T> getSource(Class<T> sourceClass) {
+        checkNotReleased();
         if (this.source == null) {
             return Optional.empty();
         }
@@ -339,6 +485,7 @@ public List<Entity> getCapturedEntities() throws IllegalStateException {
 
     @SuppressWarnings("unchecked")
     public CapturedSupplier<Entity> getCapturedEntitySupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.capturedEntitiesSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture entity spawns!", this).get();
         }
@@ -347,6 +494,7 @@ public CapturedSupplier<Entity> getCapturedEntitySupplier() throws IllegalStateE
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     public List<EntityItem> getCapturedItems() throws IllegalStateException {
+        checkNotReleased();
         if (this.capturedItemsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture dropped item entities!", this).get();
         }
@@ -355,6 +503,7 @@ public List<EntityItem> getCapturedItems() throws IllegalStateException {
 
     @SuppressWarnings("unchecked")
     public CapturedSupplier<EntityItem> getCapturedItemsSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.capturedItemsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture dropped item entities!", this).get();
         }
@@ -370,6 +519,7 @@ public List<BlockSnapshot> getCapturedBlocks() throws IllegalStateException {
 
     @SuppressWarnings("unchecked")
     public CapturedSupplier<BlockSnapshot> getCapturedBlockSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.blocksSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing blocks, but we're not capturing them!", this).get();
         }
@@ -377,6 +527,7 @@ public CapturedSupplier<BlockSnapshot> getCapturedBlockSupplier() throws Illegal
     }
 
     public Multimap<BlockPos, ItemDropData> getCapturedBlockDrops() throws IllegalStateException {
+        checkNotReleased();
         if (this.blockItemDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing block drops!", this).get();
         }
@@ -385,6 +536,7 @@ public Multimap<BlockPos, ItemDropData> getCapturedBlockDrops() throws IllegalSt
 
     @SuppressWarnings("unchecked")
     public CapturedMultiMapSupplier<BlockPos, ItemDropData> getBlockDropSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.blockItemDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing block drops!", this).get();
         }
@@ -393,6 +545,7 @@ public CapturedMultiMapSupplier<BlockPos, ItemDropData> getBlockDropSupplier() t
 
     @SuppressWarnings("unchecked")
     public CapturedMultiMapSupplier<BlockPos, EntityItem> getBlockItemDropSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.blockItemEntityDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to track block item drops!", this).get();
         }
@@ -401,6 +554,7 @@ public CapturedMultiMapSupplier<BlockPos, EntityItem> getBlockItemDropSupplier()
 
     @SuppressWarnings("unchecked")
     public CapturedMultiMapSupplier<UUID, ItemDropData> getCapturedEntityDropSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.entityItemDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture entity drops!", this).get();
         }
@@ -409,6 +563,7 @@ public CapturedMultiMapSupplier<UUID, ItemDropData> getCapturedEntityDropSupplie
 
     @SuppressWarnings("unchecked")
     public CapturedMultiMapSupplier<UUID, EntityItem> getCapturedEntityItemDropSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.entityItemEntityDropsSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to capture entity drops!", this).get();
         }
@@ -417,6 +572,7 @@ public CapturedMultiMapSupplier<UUID, EntityItem> getCapturedEntityItemDropSuppl
 
     @SuppressWarnings("unchecked")
     public CapturedSupplier<ItemDropData> getCapturedItemStackSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.capturedItemStackSupplier == null) {
             throw TrackingUtil.throwWithContext("Expected to be capturing ItemStack drops from entities!", this).get();
         }
@@ -424,6 +580,7 @@ public CapturedSupplier<ItemDropData> getCapturedItemStackSupplier() throws Ille
     }
 
     public CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> getBlockEntitySpawnSupplier() throws IllegalStateException {
+        checkNotReleased();
         if (this.blockEntitySpawnSupplier == null) {
             throw TrackingUtil.throwWithContext("Intended to track block entity spawns!", this).get();
         }
@@ -431,6 +588,7 @@ public CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> getBlockE
     }
 
     public CaptureBlockPos getCaptureBlockPos() throws IllegalStateException {
+        checkNotReleased();
         if (this.captureBlockPos == null) {
             throw TrackingUtil.throwWithContext("Intended to capture a block position!", this).get();
         }
@@ -456,6 +614,7 @@ public Optional<Player> getCapturedPlayer() throws IllegalStateException {
     }
 
     public void forEach(Consumer<NamedCause> consumer) {
+        checkNotReleased();
         this.contextObjects.forEach(consumer);
     }
 
@@ -519,6 +678,11 @@ static final class CapturedBlocksSupplier extends CapturedSupplier<BlockSnapshot
 
         CapturedBlocksSupplier() {
         }
+
+        @Override
+        List<BlockSnapshot> createList() {
+            return new CapturedBlockList();
+        }
     }
 
     static final class CapturedEntitiesSupplier extends CapturedSupplier<Entity> {
@@ -67,6 +67,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.InternalNamedCauses;
@@ -101,6 +102,8 @@
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A simple utility for aiding in tracking, either with resolving notifiers
  * and owners, or proxying out the logic for ticking a block, entity, etc.
@@ -380,10 +383,29 @@ static boolean trackBlockChange(CauseTracker causeTracker, IMixinWorldServer mix
         final SpongeBlockSnapshot originalBlockSnapshot;
         final WorldServer minecraftWorld = mixinWorld.asMinecraftWorld();
         if (phaseState.shouldCaptureBlockChangeOrSkip(phaseContext, pos)) {
-            //final IBlockState actualState = currentState.getActualState(minecraftWorld, pos);
-            originalBlockSnapshot = mixinWorld.createSpongeBlockSnapshot(currentState, currentState, pos, flags);
             final List<BlockSnapshot> capturedSnapshots = phaseContext.getCapturedBlocks();
             final Block newBlock = newState.getBlock();
+            if (capturedSnapshots instanceof CapturedBlockList && canCapturePacked(phaseState, currentState)) {
+                // Nothing reads the snapshot of this change before it is processed, so the change is only kept packed
+                final CapturedBlockList capturedBlocks = (CapturedBlockList) capturedSnapshots;
+                final BlockChange blockChange = getBlockChange(phaseState, newBlock, currentState);
+                final int index = capturedBlocks.size();
+                if (blockChange != null) {
+                    capturedBlocks.addPacked(mixinWorld, pos, currentState, flags, blockChange);
+                }
+                final IBlockState originalBlockState = ((IMixinChunk) chunk).setBlockState(pos, newState, currentState, BlockSnapshot.NONE);
+                if (originalBlockState == null) {
+                    if (blockChange != null) {
+                        capturedBlocks.removePacked(index);
+                    }
+                    return false;
+                }
+                phaseState.postTrackBlock(BlockSnapshot.NONE, causeTracker, phaseContext);
+                return checkLight(minecraftWorld, currentState, newState, pos);
+            }
+            //final IBlockState actualState = currentState.getActualState(minecraftWorld, pos);
+            originalBlockSnapshot = mixinWorld.createSpongeBlockSnapshot(currentState, currentState, pos, flags,
+                    SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useLazyTileEntitySnapshots());
 
             associateBlockChangeWithSnapshot(phaseState, newBlock, currentState, originalBlockSnapshot, capturedSnapshots);
             final IMixinChunk mixinChunk = (IMixinChunk) chunk;
@@ -402,7 +424,10 @@ static boolean trackBlockChange(CauseTracker causeTracker, IMixinWorldServer mix
             }
         }
 
+        return checkLight(minecraftWorld, currentState, newState, pos);
+    }
 
+    private static boolean checkLight(WorldServer minecraftWorld, IBlockState currentState, IBlockState newState, BlockPos pos) {
         if (newState.getLightOpacity() != currentState.getLightOpacity() || newState.getLightValue() != currentState.getLightValue()) {
             minecraftWorld.profiler.startSection("checkLight");
             minecraftWorld.checkLight(pos);
@@ -412,22 +437,36 @@ static boolean trackBlockChange(CauseTracker causeTracker, IMixinWorldServer mix
         return true;
     }
 
+    /**
+     * Gets whether a block change can be captured packed, without a snapshot. The tile
+     * entity data of a snapshot has to be taken before the change, and listeners and
+     * some phase states read the snapshot of each change.
+     */
+    private static boolean canCapturePacked(IPhaseState phaseState, IBlockState currentState) {
+        return !ShouldFire.CHANGE_BLOCK_EVENT
+               && !phaseState.requiresBlockChangeSnapshots()
+               && !SpongeImplHooks.hasBlockTileEntity(currentState.getBlock(), currentState);
+    }
+
     private static void associateBlockChangeWithSnapshot(IPhaseState phaseState, Block newBlock, IBlockState currentState, SpongeBlockSnapshot snapshot, List<BlockSnapshot> capturedSnapshots) {
+        final BlockChange blockChange = getBlockChange(phaseState, newBlock, currentState);
+        if (blockChange != null) {
+            snapshot.blockChange = blockChange;
+            capturedSnapshots.add(snapshot);
+        }
+    }
+
+    @Nullable
+    private static BlockChange getBlockChange(IPhaseState phaseState, Block newBlock, IBlockState currentState) {
         Block originalBlock = currentState.getBlock();
         if (phaseState == BlockPhase.State.BLOCK_DECAY) {
-            if (newBlock == Blocks.AIR) {
-                snapshot.blockChange = BlockChange.DECAY;
-                capturedSnapshots.add(snapshot);
-            }
+            return newBlock == Blocks.AIR ? BlockChange.DECAY : null;
         } else if (newBlock == Blocks.AIR) {
-            snapshot.blockChange = BlockChange.BREAK;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.BREAK;
         } else if (newBlock != originalBlock && !forceModify(originalBlock, newBlock)) {
-            snapshot.blockChange = BlockChange.PLACE;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.PLACE;
         } else {
-            snapshot.blockChange = BlockChange.MODIFY;
-            capturedSnapshots.add(snapshot);
+            return BlockChange.MODIFY;
         }
     }
 
@@ -496,6 +535,9 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         if (snapshots.isEmpty()) {
             return false;
         }
+        if (snapshots instanceof CapturedBlockList && !ShouldFire.CHANGE_BLOCK_EVENT && !state.requiresBlockChangeSnapshots()) {
+            return performPackedBlockAdditions((CapturedBlockList) snapshots, createCauseBuilder(state, context), state, context);
+        }
         ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays = new ImmutableList[EVENT_COUNT];
         ImmutableList.Builder<Transaction<BlockSnapshot>>[] transactionBuilders = new ImmutableList.Builder[EVENT_COUNT];
         for (int i = 0; i < EVENT_COUNT; i++) {
@@ -514,19 +556,7 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
             transactionArrays[i] = transactionBuilders[i].build();
         }
         final ChangeBlockEvent[] mainEvents = new ChangeBlockEvent[BlockChange.values().length];
-        // This likely needs to delegate to the phase in the event we don't use the source object as the main object causing the block changes
-        // case in point for WorldTick event listeners since the players are captured non-deterministically
-        final Cause.Builder builder = Cause.source(context.getSource(Object.class)
-                .orElseThrow(throwWithContext("There was no root source object for this phase!", context))
-        );
-        context.getNotifier().ifPresent(builder::notifier);
-        context.getOwner().ifPresent(builder::owner);
-        try {
-            state.getPhase().associateAdditionalCauses(state, context, builder);
-        } catch (Exception e) {
-            // TODO - this should be a thing to associate additional objects in the cause, or context, but for now it's just a simple
-            // try catch to avoid bombing on performing block changes.
-        }
+        final Cause.Builder builder = createCauseBuilder(state, context);
         // Creates the block events accordingly to the transaction arrays
         iterateChangeBlockEvents(transactionArrays, blockEvents, mainEvents, builder); // Needs to throw events
         // We create the post event and of course post it in the method, regardless whether any transactions are invalidated or not
@@ -611,6 +641,23 @@ public static boolean processBlockCaptures(List<BlockSnapshot> snapshots, IPhase
         return performBlockAdditions(postEvent.getTransactions(), builder, state, context, noCancelledTransactions);
     }
 
+    public static Cause.Builder createCauseBuilder(IPhaseState state, PhaseContext context) {
+        // This likely needs to delegate to the phase in the event we don't use the source object as the main object causing the block changes
+        // case in point for WorldTick event listeners since the players are captured non-deterministically
+        final Cause.Builder builder = Cause.source(context.getSource(Object.class)
+                .orElseThrow(throwWithContext("There was no root source object for this phase!", context))
+        );
+        context.getNotifier().ifPresent(builder::notifier);
+        context.getOwner().ifPresent(builder::owner);
+        try {
+            state.getPhase().associateAdditionalCauses(state, context, builder);
+        } catch (Exception e) {
+            // TODO - this should be a thing to associate additional objects in the cause, or context, but for now it's just a simple
+            // try catch to avoid bombing on performing block changes.
+        }
+        return builder;
+    }
+
     public static void iterateChangeBlockEvents(ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays, List<ChangeBlockEvent> blockEvents,
         ChangeBlockEvent[] mainEvents, Cause.Builder builder) {
         for (BlockChange blockChange : BlockChange.values()) {
@@ -712,6 +759,98 @@ public static boolean performBlockAdditions(List<Transaction<BlockSnapshot>> tra
         return noCancelledTransactions;
     }
 
+    /**
+     * Performs the same block additions as {@link #performBlockAdditions} for captured block
+     * changes that no {@link ChangeBlockEvent} is thrown for, because no listener is registered
+     * and the phase state does not {@link IPhaseState#requiresBlockChangeSnapshots() read} the
+     * snapshots. Snapshots are only created for changes that have captured drops or are logged.
+     *
+     * @param capturedBlocks The captured block changes
+     * @param builder The cause builder, used for logging
+     * @param phaseState The phase state being processed
+     * @param phaseContext The phase context
+     * @return Always true, as nothing can cancel the changes
+     */
+    public static boolean performPackedBlockAdditions(CapturedBlockList capturedBlocks, Cause.Builder builder, IPhaseState phaseState,
+        PhaseContext phaseContext) {
+        final int size = capturedBlocks.size();
+        // As with transactions, the final state of every change is taken before any change is processed
+        final BlockPos[] positions = new BlockPos[size];
+        final IBlockState[] newStates = new IBlockState[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = capturedBlocks.getBlockPos(i);
+            newStates[i] = capturedBlocks.getWorld(i).asMinecraftWorld().getBlockState(positions[i]);
+        }
+        final CapturedMultiMapSupplier<BlockPos, ItemDropData> capturedBlockDrops = phaseContext.getBlockDropSupplier();
+        final CapturedMultiMapSupplier<BlockPos, EntityItem> capturedBlockItemEntityDrops = phaseContext.getBlockItemDropSupplier();
+        final CapturedMultiMapSupplier<BlockPos, net.minecraft.entity.Entity> capturedBlockEntitySpawns = phaseContext.getBlockEntitySpawnSupplier();
+        final CauseTracker causeTracker = CauseTracker.getInstance();
+        for (int i = 0; i < size; i++) {
+            final BlockPos pos = positions[i];
+            final IMixinWorldServer mixinWorldServer = capturedBlocks.getWorld(i);
+            final WorldServer worldServer = mixinWorldServer.asMinecraftWorld();
+            final IBlockState originalState = capturedBlocks.getOriginalState(i);
+            final IBlockState newState = newStates[i];
+            final BlockChange blockChange = capturedBlocks.getBlockChange(i);
+            final boolean logged = blockChange != null && blockChange.allowsLogging(SpongeHooks.getActiveConfig(worldServer).getConfig().getLogging());
+            if (logged || hasCapturedKey(capturedBlockDrops, pos) || hasCapturedKey(capturedBlockItemEntityDrops, pos)
+                    || hasCapturedKey(capturedBlockEntitySpawns, pos)) {
+                final SpongeBlockSnapshot newBlockSnapshot =
+                        mixinWorldServer.createSpongeBlockSnapshot(newState, newState.getActualState(worldServer, pos), pos, 0);
+                // This is for pre-merged items
+                capturedBlockDrops.ifPresentAndNotEmpty(map -> {
+                    if (map.containsKey(pos)) {
+                        spawnItemDataForBlockDrops(map.removeAll(pos), newBlockSnapshot, phaseContext, phaseState);
+                    }
+                });
+                // And this is for un-pre-merged items, these will be EntityItems, not ItemDropDatas.
+                capturedBlockItemEntityDrops.ifPresentAndNotEmpty(map -> {
+                    if (map.containsKey(pos)) {
+                        spawnItemEntitiesForBlockDrops(map.removeAll(pos), newBlockSnapshot, phaseContext, phaseState);
+                    }
+                });
+                // This is for entities actually spawned
+                capturedBlockEntitySpawns.ifPresentAndNotEmpty(map -> {
+                    if (map.containsKey(pos)) {
+                        spawnEntitiesForBlock(map.removeAll(pos), newBlockSnapshot, phaseContext, phaseState);
+                    }
+                });
+                if (logged) {
+                    SpongeHooks.logBlockAction(builder, worldServer, blockChange, new Transaction<>(capturedBlocks.get(i), newBlockSnapshot));
+                }
+            }
+
+            if (capturedBlocks.getChangeFlag(i).performBlockPhysics() && originalState.getBlock() != newState.getBlock()) {
+                newState.getBlock().onBlockAdded(worldServer, pos, newState);
+                final PhaseData peek = causeTracker.getCurrentPhaseData();
+                if (peek.state == GeneralPhase.Post.UNWINDING) {
+                    peek.state.getPhase().unwind(peek.state, peek.context);
+                }
+            }
+
+            final int minecraftChangeFlag = capturedBlocks.getUpdateFlag(i);
+            if (((minecraftChangeFlag & 2) != 0)) { // Always try to notify clients of the change.
+                worldServer.notifyBlockUpdate(pos, originalState, newState, minecraftChangeFlag);
+            }
+
+            if (capturedBlocks.getChangeFlag(i).updateNeighbors()) { // Notify neighbors only if the change flag allowed it.
+                mixinWorldServer.spongeNotifyNeighborsPostBlockChange(pos, originalState, newState, minecraftChangeFlag);
+            } else if ((minecraftChangeFlag & 16) == 0) {
+                worldServer.updateObservingBlocksAt(pos, newState.getBlock());
+            }
+
+            final PhaseData peek = causeTracker.getCurrentPhaseData();
+            if (peek.state == GeneralPhase.Post.UNWINDING) {
+                peek.state.getPhase().unwind(peek.state, peek.context);
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasCapturedKey(CapturedMultiMapSupplier<BlockPos, ?> supplier, BlockPos pos) {
+        return !supplier.isEmpty() && supplier.get().containsKey(pos);
+    }
+
     public static void spawnItemEntitiesForBlockDrops(Collection<EntityItem> entityItems, SpongeBlockSnapshot newBlockSnapshot,
         PhaseContext phaseContext, IPhaseState phaseState) {
         // Now we can spawn the entity items appropriately
@@ -49,6 +49,8 @@
 import org.spongepowered.api.world.explosion.Explosion;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.tracking.CapturedBlockList;
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.TrackingUtil;
@@ -148,6 +150,11 @@ private void processBlockCaptures(List<BlockSnapshot> snapshots, Explosion explo
         if (snapshots.isEmpty()) {
             return;
         }
+        if (snapshots instanceof CapturedBlockList && !ShouldFire.CHANGE_BLOCK_EVENT && !ShouldFire.EXPLOSION_EVENT_POST) {
+            // No event is thrown for the changes, so no transactions are needed
+            TrackingUtil.performPackedBlockAdditions((CapturedBlockList) snapshots, TrackingUtil.createCauseBuilder(this, context), this, context);
+            return;
+        }
         ImmutableList<Transaction<BlockSnapshot>>[] transactionArrays = new ImmutableList[TrackingUtil.EVENT_COUNT];
         ImmutableList.Builder<Transaction<BlockSnapshot>>[] transactionBuilders = new ImmutableList.Builder[TrackingUtil.EVENT_COUNT];
         for (int i = 0; i < TrackingUtil.EVENT_COUNT; i++) {
@@ -275,9 +282,13 @@ private void processBlockCaptures(List<BlockSnapshot> snapshots, Explosion explo
     @Override
     public boolean shouldCaptureBlockChangeOrSkip(PhaseContext phaseContext,
         BlockPos pos) {
+        final List<BlockSnapshot> capturedBlocks = phaseContext.getCapturedBlocks();
+        if (capturedBlocks instanceof CapturedBlockList) {
+            return !((CapturedBlockList) capturedBlocks).containsPosition(pos);
+        }
         boolean match = false;
         final Vector3i blockPos = VecHelper.toVector3i(pos);
-        for (final Iterator<BlockSnapshot> iterator = phaseContext.getCapturedBlocks().iterator(); iterator.hasNext(); ) {
+        for (final Iterator<BlockSnapshot> iterator = capturedBlocks.iterator(); iterator.hasNext(); ) {
             final BlockSnapshot capturedSnapshot = iterator.next();
             if (capturedSnapshot.getPosition().equals(blockPos)) {
                 match = true;
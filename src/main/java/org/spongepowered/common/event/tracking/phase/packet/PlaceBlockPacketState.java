@@ -78,6 +78,11 @@ public void populateContext(EntityPlayerMP playerMP, Packet<?> packet, PhaseCont
                 .addEntityDropCaptures();
     }
 
+    @Override
+    public boolean requiresBlockChangeSnapshots() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         PhaseContext context) {
@@ -68,6 +68,11 @@ public void populateContext(EntityPlayerMP playerMP, Packet<?> packet, PhaseCont
                .addBlockCaptures();
     }
 
+    @Override
+    public boolean requiresBlockChangeSnapshots() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
         PhaseContext context) {
@@ -107,6 +107,11 @@ public boolean spawnEntityOrCapture(PhaseContext context, Entity entity, int chu
         return false;
     }
 
+    @Override
+    public boolean requiresBlockChangeSnapshots() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange,
         Transaction<BlockSnapshot> snapshotTransaction, PhaseContext context) {
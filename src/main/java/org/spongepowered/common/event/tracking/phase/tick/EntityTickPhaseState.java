@@ -345,6 +345,11 @@ public Cause generateTeleportCause(PhaseContext context) {
                 .build();
     }
 
+    @Override
+    public boolean requiresBlockChangeSnapshots() {
+        return true;
+    }
+
     @SuppressWarnings("OptionalGetWithoutIsPresent")
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange, Transaction<BlockSnapshot> transaction,
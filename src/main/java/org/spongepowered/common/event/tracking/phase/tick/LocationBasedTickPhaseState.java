@@ -67,6 +67,11 @@ public void associateNeighborBlockNotifier(PhaseContext context, @Nullable Block
         }
     }
 
+    @Override
+    public boolean requiresBlockChangeSnapshots() {
+        return true;
+    }
+
     @Override
     public void handleBlockChangeWithUser(@Nullable BlockChange blockChange,
         Transaction<BlockSnapshot> snapshotTransaction, PhaseContext context) {
@@ -47,7 +47,6 @@
 import org.spongepowered.common.asset.SpongeAssetManager;
 import org.spongepowered.common.command.SpongeCommandDisambiguator;
 import org.spongepowered.common.command.SpongeCommandManager;
-import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.registry.SpongeGameRegistry;
 import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.scheduler.SpongeTaskBuilder;
@@ -94,7 +93,6 @@ protected void configure() {
         this.requestStaticInjection(SpongeImpl.class);
         this.requestStaticInjection(SpongeBootstrap.class);
         this.requestStaticInjection(SpongeTaskBuilder.class);
-        this.requestStaticInjection(SpongeProfileManager.class);
         this.requestStaticInjection(SpongeChunkPreGenerateTask.class);
         this.requestStaticInjection(WorldManager.class);
         this.requestStaticInjection(WorldStorageUtil.class);
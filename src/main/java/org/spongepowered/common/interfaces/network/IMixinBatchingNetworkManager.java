@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces.network;
+
+/**
+ * A network manager that buffers the packets sent during a tick and flushes
+ * them to its channel at once.
+ */
+public interface IMixinBatchingNetworkManager {
+
+    /**
+     * Writes the buffered packets to the channel and flushes it.
+     */
+    void flushBatchedPackets();
+
+    /**
+     * Records bytes that were encoded for this connection.
+     *
+     * @param bytes The amount of bytes
+     */
+    void addEncodedBytes(int bytes);
+
+    /**
+     * Gets the amount of times the channel was flushed.
+     *
+     * @return The flush count
+     */
+    long getFlushCount();
+
+    /**
+     * Gets the amount of encoded packet bytes that were flushed.
+     *
+     * @return The flushed bytes
+     */
+    long getFlushedBytes();
+
+}
@@ -35,4 +35,32 @@ public interface IMixinAnvilChunkLoader {
 
     Path getWorldDir();
 
+    /**
+     * Gets whether the chunk at the given coordinates is waiting to be
+     * written, in which case it may not be present in its region file yet.
+     *
+     * @param x The chunk x coordinate
+     * @param z The chunk z coordinate
+     * @return True if the chunk is queued for writing
+     */
+    boolean isChunkQueued(int x, int z);
+
+    /**
+     * Gets the amount of chunks waiting to be written.
+     *
+     * @return The queue depth
+     */
+    int getQueuedChunkCount();
+
+    long getWrittenChunkCount();
+
+    long getWrittenByteCount();
+
+    /**
+     * Gets the total time the IO thread spent writing chunks of this loader.
+     *
+     * @return The write time in nanoseconds
+     */
+    long getWriteTime();
+
 }
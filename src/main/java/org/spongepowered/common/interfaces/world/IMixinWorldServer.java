@@ -42,11 +42,11 @@
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.world.SpongeLightingEngine;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
 import org.spongepowered.common.world.gen.SpongeWorldGenerator;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 import javax.annotation.Nullable;
 
@@ -82,6 +82,21 @@ default boolean forceSpawnEntity(Entity entity) {
 
     SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag);
 
+    /**
+     * Creates a snapshot of the block at the given position, optionally
+     * deferring the capture of its tile entity data until the snapshot is
+     * first read. Only block change capturing defers the capture, since it
+     * captures the data before the tile entity is changed.
+     *
+     * @param state The block state
+     * @param extended The extended block state
+     * @param pos The position
+     * @param updateFlag The update flag of the change
+     * @param deferTileData Whether to defer the tile entity data capture
+     * @return The snapshot
+     */
+    SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag, boolean deferTileData);
+
     SpongeWorldGenerator createWorldGenerator(DataContainer settings);
 
     SpongeWorldGenerator createWorldGenerator(String settings);
@@ -98,7 +113,7 @@ default boolean forceSpawnEntity(Entity entity) {
 
     boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
-    ExecutorService getLightingExecutor();
+    SpongeLightingEngine getLightingEngine();
 
     WorldTimingsHandler getTimingsHandler();
 
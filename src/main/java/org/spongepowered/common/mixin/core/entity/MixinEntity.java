@@ -944,12 +944,7 @@ public void writeToNbt(NBTTagCompound compound) {
         if (this instanceof IMixinCustomDataHolder) {
             final List<DataManipulator<?, ?>> manipulators = ((IMixinCustomDataHolder) this).getCustomManipulators();
             if (!manipulators.isEmpty()) {
-                final List<DataView> manipulatorViews = DataUtil.getSerializedManipulatorList(manipulators);
-                final NBTTagList manipulatorTagList = new NBTTagList();
-                for (DataView dataView : manipulatorViews) {
-                    manipulatorTagList.appendTag(NbtTranslator.getInstance().translateData(dataView));
-                }
-                compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, manipulatorTagList);
+                compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtTranslator.getInstance().translateManipulators(manipulators));
             }
         }
         if (this instanceof IMixinGriefer && ((IMixinGriefer) this).isGriefer()) {
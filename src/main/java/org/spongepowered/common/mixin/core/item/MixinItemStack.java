@@ -334,11 +334,7 @@ public DataTransactionResult offerCustom(DataManipulator<?, ?> manipulator, Merg
 
     private void resyncCustomToTag() {
         if (!this.manipulators.isEmpty()) {
-            final NBTTagList newList = new NBTTagList();
-            final List<DataView> manipulatorViews = DataUtil.getSerializedManipulatorList(this.getCustomManipulators());
-            for (DataView dataView : manipulatorViews) {
-                newList.appendTag(NbtTranslator.getInstance().translateData(dataView));
-            }
+            final NBTTagList newList = NbtTranslator.getInstance().translateManipulators(this.getCustomManipulators());
             final NBTTagCompound spongeCompound = getOrCreateSubCompound(NbtDataUtil.SPONGE_DATA);
             spongeCompound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, newList);
         } else {
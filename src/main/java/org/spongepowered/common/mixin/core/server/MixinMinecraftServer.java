@@ -102,6 +102,7 @@
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+import org.spongepowered.common.network.PacketBatching;
 import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
 import org.spongepowered.common.text.SpongeTexts;
@@ -320,16 +321,16 @@ public void onServerStopping(CallbackInfo ci) {
         if (this.worlds != null && SpongeImpl.getGlobalConfig().getConfig().getModules().useOptimizations() &&
                 SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
             for (WorldServer world : this.worlds) {
-                ((IMixinWorldServer) world).getLightingExecutor().shutdown();
+                ((IMixinWorldServer) world).getLightingEngine().shutdown();
             }
 
             for (WorldServer world : this.worlds) {
                 try {
-                    ((IMixinWorldServer) world).getLightingExecutor().awaitTermination(1, TimeUnit.SECONDS);
+                    ((IMixinWorldServer) world).getLightingEngine().awaitTermination(1, TimeUnit.SECONDS);
                 } catch (InterruptedException e) {
                     e.printStackTrace();
                 } finally {
-                    ((IMixinWorldServer) world).getLightingExecutor().shutdownNow();
+                    ((IMixinWorldServer) world).getLightingEngine().shutdownNow();
                 }
             }
         }
@@ -639,6 +640,7 @@ public void onServerTickStart(CallbackInfo ci) {
 
     @Inject(method = "tick", at = @At(value = "RETURN"))
     public void onServerTickEnd(CallbackInfo ci) {
+        PacketBatching.flushPendingConnections();
         int lastAnimTick = SpongeCommonEventFactory.lastAnimationPacketTick;
         int lastPrimaryTick = SpongeCommonEventFactory.lastPrimaryPacketTick;
         int lastSecondaryTick = SpongeCommonEventFactory.lastSecondaryPacketTick;
@@ -125,6 +125,7 @@
 import org.spongepowered.common.service.ban.SpongeIPBanList;
 import org.spongepowered.common.service.ban.SpongeUserListBans;
 import org.spongepowered.common.service.permission.SpongePermissionService;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.service.whitelist.SpongeUserListWhitelist;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.chat.ChatUtil;
@@ -237,6 +238,7 @@ public void initializeConnectionToPlayer(NetworkManager netManager, EntityPlayer
         GameProfile gameprofile1 = playerprofilecache.getProfileByUUID(gameprofile.getId());
         String s = gameprofile1 == null ? gameprofile.getName() : gameprofile1.getName();
         playerprofilecache.addEntry(gameprofile);
+        UserIndex.onLogin(gameprofile); // Sponge
 
         // Sponge start - save changes to offline User before reading player data
         SpongeUser user = (SpongeUser) ((IMixinEntityPlayerMP) playerIn).getUserObject();
@@ -803,6 +805,7 @@ private void onPlayerLogOut(EntityPlayerMP player, CallbackInfo ci) {
         NBTTagCompound nbt = new NBTTagCompound();
         player.writeToNBT(nbt);
         ((SpongeUser) ((IMixinEntityPlayerMP) player).getUserObject()).readFromNbt(nbt);
+        UserIndex.onLogout(player.getGameProfile());
 
         // Remove player reference from scoreboard
         ((IMixinServerScoreboard) ((Player) player).getScoreboard()).removePlayer(player, false);
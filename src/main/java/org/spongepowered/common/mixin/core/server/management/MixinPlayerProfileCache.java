@@ -50,6 +50,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerProfileCache;
 import org.spongepowered.common.interfaces.server.management.IMixinPlayerProfileCacheEntry;
+import org.spongepowered.common.profile.SpongeProfileManager;
 import org.spongepowered.common.profile.callback.MapProfileLookupCallback;
 import org.spongepowered.common.profile.callback.SingleProfileLookupCallback;
 import org.spongepowered.common.util.SpongeUsernameCache;
@@ -70,6 +71,8 @@
 @Mixin(PlayerProfileCache.class)
 public abstract class MixinPlayerProfileCache implements IMixinPlayerProfileCache, GameProfileCache {
 
+    private static final String DUMMY_NAME = "[sponge]";
+
     @Shadow @Final private Map<String, IMixinPlayerProfileCacheEntry> usernameToProfileEntryMap;
     @Shadow @Final private Map<UUID, IMixinPlayerProfileCacheEntry> uuidToProfileEntryMap;
     @Shadow @Final private Deque<com.mojang.authlib.GameProfile> gameProfiles;
@@ -82,7 +85,10 @@ public abstract class MixinPlayerProfileCache implements IMixinPlayerProfileCach
 
     @Inject(method = "addEntry(Lcom/mojang/authlib/GameProfile;Ljava/util/Date;)V", at = @At(value = "RETURN"))
     public void onAddEntry(com.mojang.authlib.GameProfile profile, Date date, CallbackInfo ci) {
-        SpongeUsernameCache.setUsername(profile.getId(), profile.getName());
+        // Dummy profiles of failed lookups expire, don't make them permanent
+        if (!DUMMY_NAME.equals(profile.getName())) {
+            SpongeUsernameCache.setUsername(profile.getId(), profile.getName());
+        }
     }
 
     @Redirect(method = "addEntry(Lcom/mojang/authlib/GameProfile;Ljava/util/Date;)V", at = @At(value = "INVOKE", target = "Ljava/util/Deque;remove(Ljava/lang/Object;)Z", remap = false))
@@ -214,9 +220,13 @@ public void clear() {
         this.save();
     }
 
+    private static Date getExpiry(boolean found) {
+        return new Date(System.currentTimeMillis() + SpongeProfileManager.getCacheExpiry(found));
+    }
+
     @Override
     public Optional<GameProfile> getById(UUID uniqueId) {
-        return Optional.ofNullable((GameProfile) this.getProfileByUUID(checkNotNull(uniqueId, "unique id")));
+        return Optional.ofNullable((GameProfile) this.getByIdNoLookup(checkNotNull(uniqueId, "unique id")));
     }
 
     @Override
@@ -226,7 +236,7 @@ public Map<UUID, Optional<GameProfile>> getByIds(Iterable<UUID> uniqueIds) {
         Map<UUID, Optional<GameProfile>> result = Maps.newHashMap();
 
         for (UUID uniqueId : uniqueIds) {
-            result.put(uniqueId, Optional.ofNullable((GameProfile) this.getProfileByUUID(uniqueId)));
+            result.put(uniqueId, Optional.ofNullable((GameProfile) this.getByIdNoLookup(uniqueId)));
         }
 
         return result.isEmpty() ? ImmutableMap.of() : ImmutableMap.copyOf(result);
@@ -239,7 +249,7 @@ public Optional<GameProfile> lookupById(UUID uniqueId) {
         com.mojang.authlib.GameProfile profile = SpongeImpl.getServer().getMinecraftSessionService().fillProfileProperties(
                 new com.mojang.authlib.GameProfile(uniqueId, ""), true);
         if (profile != null && profile.getName() != null && !profile.getName().isEmpty()) {
-            this.addEntry(profile, null);
+            this.addEntry(profile, getExpiry(true));
             return Optional.of((GameProfile) profile);
         } else {
             return Optional.empty();
@@ -256,12 +266,12 @@ public Map<UUID, Optional<GameProfile>> lookupByIds(Iterable<UUID> uniqueIds) {
         for (UUID uniqueId : uniqueIds) {
             com.mojang.authlib.GameProfile profile = service.fillProfileProperties(new com.mojang.authlib.GameProfile(uniqueId, ""), true);
             if (profile != null && profile.getName() != null && !profile.getName().isEmpty()) {
-                this.addEntry(profile, null);
+                this.addEntry(profile, getExpiry(true));
                 result.put(uniqueId, Optional.of((GameProfile) profile));
             } else {
-                // create a dummy profile to avoid future lookups
+                // create a dummy profile to avoid lookups until the negative expiry passes
                 // if actual user logs in, the profile will be updated during PlayerList#initializeConnectionToPlayer
-                this.addEntry(new com.mojang.authlib.GameProfile(uniqueId, "[sponge]"), null);
+                this.addEntry(new com.mojang.authlib.GameProfile(uniqueId, DUMMY_NAME), getExpiry(false));
                 result.put(uniqueId, Optional.empty());
             }
         }
@@ -323,7 +333,7 @@ public Optional<GameProfile> lookupByName(String name) {
 
         Optional<GameProfile> profile = callback.getResult();
         if (profile.isPresent()) {
-            this.addEntry((com.mojang.authlib.GameProfile) profile.get(), null);
+            this.addEntry((com.mojang.authlib.GameProfile) profile.get(), getExpiry(true));
         }
 
         return profile;
@@ -341,7 +351,7 @@ public Map<String, Optional<GameProfile>> lookupByNames(Iterable<String> names)
         if (!result.isEmpty()) {
             for (Optional<GameProfile> entry : result.values()) {
                 if (entry.isPresent()) {
-                    this.addEntry((com.mojang.authlib.GameProfile) entry.get(), null);
+                    this.addEntry((com.mojang.authlib.GameProfile) entry.get(), getExpiry(true));
                 }
             }
             return ImmutableMap.copyOf(result);
@@ -406,6 +416,22 @@ public Collection<GameProfile> match(String name) {
                 .collect(GuavaCollectors.toImmutableSet());
     }
 
+    @Nullable
+    private com.mojang.authlib.GameProfile getByIdNoLookup(UUID uniqueId) {
+        @Nullable IMixinPlayerProfileCacheEntry entry = this.uuidToProfileEntryMap.get(uniqueId);
+
+        // Unlike vanilla's lookup by unique id, respect the expiry so lookups that found nothing are retried
+        if (entry != null && System.currentTimeMillis() >= entry.getExpirationDate().getTime()) {
+            com.mojang.authlib.GameProfile profile = entry.getGameProfile();
+            this.uuidToProfileEntryMap.remove(uniqueId);
+            this.usernameToProfileEntryMap.remove(profile.getName().toLowerCase(Locale.ROOT), entry);
+            this.profiles.remove(profile);
+            entry = null;
+        }
+
+        return entry == null ? null : entry.getGameProfile();
+    }
+
     @Nullable
     public com.mojang.authlib.GameProfile getByNameNoLookup(String username) {
         @Nullable IMixinPlayerProfileCacheEntry entry = this.usernameToProfileEntryMap.get(username.toLowerCase(Locale.ROOT));
@@ -246,12 +246,8 @@ public void readFromNbt(NBTTagCompound compound) {
     @Override
     public void writeToNbt(NBTTagCompound compound) {
         if (this instanceof IMixinCustomDataHolder) {
-            final List<DataView> manipulatorViews = DataUtil.getSerializedManipulatorList(((IMixinCustomDataHolder) this).getCustomManipulators());
-            final NBTTagList manipulatorTagList = new NBTTagList();
-            for (DataView dataView : manipulatorViews) {
-                manipulatorTagList.appendTag(NbtTranslator.getInstance().translateData(dataView));
-            }
-            compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, manipulatorTagList);
+            final List<DataManipulator<?, ?>> manipulators = ((IMixinCustomDataHolder) this).getCustomManipulators();
+            compound.setTag(NbtDataUtil.CUSTOM_MANIPULATOR_TAG_LIST, NbtTranslator.getInstance().translateManipulators(manipulators));
         }
     }
 
@@ -90,8 +90,10 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.block.BlockUtil;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.event.InternalNamedCauses;
+import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.CauseTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
@@ -577,6 +579,10 @@ public IBlockState setBlockState(BlockPos pos, IBlockState newState, IBlockState
         // if (block1 != block) // Sponge - Forge removes this change.
         {
             if (!this.world.isRemote) {
+                // Sponge - Capture deferred tile entity data before it is changed, if a listener could read it or cancel this change
+                if (ShouldFire.CHANGE_BLOCK_EVENT && newBlockSnapshot instanceof SpongeBlockSnapshot) {
+                    ((SpongeBlockSnapshot) newBlockSnapshot).captureTileData();
+                }
                 // Sponge - Forge adds this change for block changes to only fire events when necessary
                 if (currentState.getBlock() != newState.getBlock()) {
                     currentBlock.breakBlock(this.world, pos, currentState);
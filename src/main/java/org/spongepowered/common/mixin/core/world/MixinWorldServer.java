@@ -1533,6 +1533,12 @@ private boolean forceSpawnEntity(net.minecraft.entity.Entity entity, int chunkX,
 
     @Override
     public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag) {
+        return createSpongeBlockSnapshot(state, extended, pos, updateFlag, false);
+    }
+
+    @Override
+    public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockState extended, BlockPos pos, int updateFlag,
+            boolean deferTileData) {
         this.builder.reset();
         this.builder.blockState((BlockState) state)
                 .extendedState((BlockState) extended)
@@ -1548,7 +1554,10 @@ public SpongeBlockSnapshot createSpongeBlockSnapshot(IBlockState state, IBlockSt
         }
         if (state.getBlock() instanceof ITileEntityProvider) {
             net.minecraft.tileentity.TileEntity te = getTileEntity(pos);
-            if (te != null) {
+            if (te != null && deferTileData) {
+                // The tile data is captured when the snapshot is first read, or before the tile entity is changed
+                this.builder.tileEntity(te);
+            } else if (te != null) {
                 TileEntity tile = (TileEntity) te;
                 for (DataManipulator<?, ?> manipulator : tile.getContainers()) {
                     this.builder.add(manipulator);
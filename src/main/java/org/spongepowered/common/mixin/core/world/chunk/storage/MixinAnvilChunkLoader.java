@@ -35,6 +35,7 @@
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFile;
 import net.minecraft.world.chunk.storage.RegionFileCache;
 import net.minecraft.world.storage.ThreadedFileIOBase;
 import org.apache.logging.log4j.Logger;
@@ -65,21 +66,39 @@
 import org.spongepowered.common.entity.PlayerTracker;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
+import org.spongepowered.common.util.CompressedChunk;
 import org.spongepowered.common.util.QueuedChunk;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 @Mixin(AnvilChunkLoader.class)
 @Implements(@Interface(iface = IMixinAnvilChunkLoader.class, prefix = "loader$"))
 public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
 
+    // The amount of queued chunks written per call of writeNextIO
+    private static final int WRITE_BATCH_SIZE = 256;
+
     private ConcurrentLinkedQueue<QueuedChunk> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
     private final Object lock = new Object();
+    private final LongAdder writtenChunks = new LongAdder();
+    private final LongAdder writtenBytes = new LongAdder();
+    private final LongAdder writeTime = new LongAdder();
 
     private static final String ENTITY_LIST_CREATE_FROM_NBT =
             "Lnet/minecraft/entity/EntityList;createEntityFromNBT(Lnet/minecraft/nbt/NBTTagCompound;Lnet/minecraft/world/World;)Lnet/minecraft/entity/Entity;";
@@ -90,9 +109,6 @@ public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
     @Shadow @Final private File chunkSaveLocation;
     @Shadow private boolean savingExtraData;
 
-    @Shadow
-    public abstract void writeChunkData(ChunkPos pos, NBTTagCompound compound);
-
     @Inject(method = "writeChunkToNBT", at = @At(value = "RETURN"))
     public void onWriteChunkToNBT(net.minecraft.world.chunk.Chunk chunkIn, World worldIn, NBTTagCompound compound, CallbackInfo ci) {
         IMixinChunk chunk = (IMixinChunk) chunkIn;
@@ -235,6 +251,7 @@ protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
             this.chunksToRemove.put(pos, compound);
         }
         this.queue.add(new QueuedChunk(pos, compound));
+        this.queueSize.incrementAndGet();
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
     }
@@ -246,61 +263,117 @@ protected void addChunkToPending(ChunkPos pos, NBTTagCompound compound) {
      */
     @Overwrite
     public boolean writeNextIO() {
-        QueuedChunk chunk = this.queue.poll();
-        if (chunk == null) {
+        // Sponge start - Write queued chunks in batches, grouped by region file
+        final Map<ChunkPos, QueuedChunk> batch = new LinkedHashMap<>();
+        QueuedChunk queued;
+        while (batch.size() < WRITE_BATCH_SIZE && (queued = this.queue.poll()) != null) {
+            this.queueSize.decrementAndGet();
+            // A later queued version of the same chunk replaces the earlier one
+            batch.put(queued.coords, queued);
+        }
+        if (batch.isEmpty()) {
             if (this.savingExtraData) {
                 LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
             }
 
             return false;
-        } else {
-            ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
-
-            try {
-                // this.pendingAnvilChunksCoordinates.add(chunkpos);
-                NBTTagCompound nbttagcompound = chunk.compound;
-
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    if (laste != null) {
-                        laste.printStackTrace();
-                    }
+        }
+
+        final long startTime = System.nanoTime();
+        final List<QueuedChunk> chunks = new ArrayList<>(batch.size());
+        synchronized (this.lock) {
+            for (QueuedChunk chunk : batch.values()) {
+                // Only the newest data of a chunk is written, an outdated
+                // version is skipped if a newer one is still in the queue
+                if (chunk.compound != null && this.chunksToRemove.get(chunk.coords) == chunk.compound) {
+                    chunks.add(chunk);
                 }
+            }
+        }
 
-                synchronized (this.lock) {
-                    if (this.chunksToRemove.get(chunkpos) == nbttagcompound) {
-                        this.chunksToRemove.remove(chunkpos);
-                    }
+        // Compress all chunks in parallel, then write them grouped by region
+        final List<CompletableFuture<CompressedChunk>> compressed = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> CompressedChunk.compress(chunk), CompressedChunk.EXECUTOR))
+                .collect(Collectors.toList());
+        final Map<Long, List<CompressedChunk>> regions = compressed.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(chunk -> ChunkPos.asLong(chunk.coords.chunkXPos >> 5, chunk.coords.chunkZPos >> 5)));
+        for (List<CompressedChunk> regionChunks : regions.values()) {
+            this.writeRegion(regionChunks);
+        }
+
+        synchronized (this.lock) {
+            for (QueuedChunk chunk : batch.values()) {
+                // Sponge - This will not equal if a newer version is still pending
+                if (this.chunksToRemove.get(chunk.coords) == chunk.compound) {
+                    this.chunksToRemove.remove(chunk.coords);
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.pendingAnvilChunksCoordinates.remove(chunkpos);
             }
+        }
+        this.writeTime.add(System.nanoTime() - startTime);
+        // Sponge end
+
+        return true;
+    }
 
-            return lvt_3_1_;
+    private void writeRegion(List<CompressedChunk> chunks) {
+        final ChunkPos first = chunks.get(0).coords;
+        final RegionFile regionFile = RegionFileCache.createOrLoadRegionFile(this.chunkSaveLocation, first.chunkXPos, first.chunkZPos);
+        final IMixinRegionFile region = (IMixinRegionFile) regionFile;
+        // Write in sector order, to avoid seeking back and forth in the file
+        chunks.sort(Comparator.comparingInt(chunk -> region.getSectorNumber(chunk.coords.chunkXPos & 31, chunk.coords.chunkZPos & 31)));
+        for (CompressedChunk chunk : chunks) {
+            int attempts = 0;
+            Exception laste = null;
+            while (attempts++ < 5) {
+                try {
+                    region.writeCompressed(chunk.coords.chunkXPos & 31, chunk.coords.chunkZPos & 31, chunk.data, chunk.length);
+                    laste = null;
+                    break;
+                } catch (Exception exception) {
+                    laste = exception;
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (laste != null) {
+                laste.printStackTrace();
+            } else {
+                this.writtenChunks.increment();
+                this.writtenBytes.add(chunk.length);
+            }
         }
     }
 
+    @Override
+    public boolean isChunkQueued(int x, int z) {
+        return this.chunksToRemove.containsKey(new ChunkPos(x, z));
+    }
+
+    @Override
+    public int getQueuedChunkCount() {
+        return this.queueSize.get();
+    }
+
+    @Override
+    public long getWrittenChunkCount() {
+        return this.writtenChunks.sum();
+    }
+
+    @Override
+    public long getWrittenByteCount() {
+        return this.writtenBytes.sum();
+    }
+
+    @Override
+    public long getWriteTime() {
+        return this.writeTime.sum();
+    }
+
     @Override
     public Path getWorldDir() {
         return this.chunkSaveLocation.toPath();
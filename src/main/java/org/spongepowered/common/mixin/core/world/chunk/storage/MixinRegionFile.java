@@ -22,32 +22,29 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.profile.query;
+package org.spongepowered.common.mixin.core.world.chunk.storage;
 
-import org.spongepowered.api.profile.GameProfile;
-import org.spongepowered.api.profile.GameProfileCache;
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.interfaces.world.IMixinRegionFile;
 
-public abstract class GameProfileQuery<T> extends Query<T> {
+@Mixin(RegionFile.class)
+public abstract class MixinRegionFile implements IMixinRegionFile {
 
-    protected GameProfileQuery(GameProfileCache cache, boolean useCache) {
-        super(cache, useCache);
+    @Shadow protected abstract void write(int x, int z, byte[] data, int length);
+    @Shadow private int getOffset(int x, int z) {
+        return 0; // Shadowed
     }
 
-    public static final class SingleFill extends GameProfileQuery<GameProfile> {
-
-        private final GameProfile profile;
-        private final boolean signed;
-
-        public SingleFill(GameProfileCache cache, GameProfile profile, boolean signed, boolean useCache) {
-            super(cache, useCache);
-            this.profile = profile;
-            this.signed = signed;
-        }
+    @Override
+    public void writeCompressed(int x, int z, byte[] data, int length) {
+        this.write(x, z, data, length);
+    }
 
-        @Override
-        public GameProfile call() throws Exception {
-            return this.fillProfile(this.profile, this.signed);
-        }
+    @Override
+    public int getSectorNumber(int x, int z) {
+        return this.getOffset(x, z) >> 8;
     }
 
 }
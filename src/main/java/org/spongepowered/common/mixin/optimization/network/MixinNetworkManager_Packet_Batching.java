@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.network;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketDisconnect;
+import net.minecraft.network.play.server.SPacketKeepAlive;
+import net.minecraft.util.text.ITextComponent;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.network.IMixinBatchingNetworkManager;
+import org.spongepowered.common.network.PacketBatching;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@SuppressWarnings("rawtypes")
+@Mixin(NetworkManager.class)
+public abstract class MixinNetworkManager_Packet_Batching extends SimpleChannelInboundHandler implements IMixinBatchingNetworkManager {
+
+    private static final int MAX_BATCHED_PACKETS =
+            SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getPacketBatchingMaxPackets();
+
+    @Shadow private Channel channel;
+
+    @Shadow public abstract boolean isChannelOpen();
+    @Shadow private void flushOutboundQueue() { }
+
+    private final Queue<Packet<?>> batchedPackets = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger batchedPacketCount = new AtomicInteger();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushedBytes = new LongAdder();
+
+    @Inject(method = "sendPacket(Lnet/minecraft/network/Packet;)V", at = @At("HEAD"), cancellable = true)
+    private void onSendPacket(Packet<?> packet, CallbackInfo ci) {
+        if (!this.isChannelOpen() || !this.canBatch(packet)) {
+            // Keep the packets in order
+            this.flushBatchedPackets();
+            return;
+        }
+
+        this.flushOutboundQueue();
+        this.batchedPackets.add(packet);
+        if (this.batchedPacketCount.incrementAndGet() >= MAX_BATCHED_PACKETS) {
+            this.flushBatchedPackets();
+        } else {
+            PacketBatching.markPending(this);
+        }
+        ci.cancel();
+    }
+
+    @Inject(method = "sendPacket(Lnet/minecraft/network/Packet;Lio/netty/util/concurrent/GenericFutureListener;"
+            + "[Lio/netty/util/concurrent/GenericFutureListener;)V", at = @At("HEAD"))
+    private void onSendPacketWithListeners(Packet<?> packet, GenericFutureListener<? extends Future<? super Void>> listener,
+            GenericFutureListener<? extends Future<? super Void>>[] listeners, CallbackInfo ci) {
+        this.flushBatchedPackets();
+    }
+
+    @Inject(method = "closeChannel", at = @At("HEAD"))
+    private void onCloseChannel(ITextComponent message, CallbackInfo ci) {
+        this.flushBatchedPackets();
+    }
+
+    @Inject(method = "dispatchPacket", at = @At("HEAD"))
+    private void onDispatchPacket(CallbackInfo ci) {
+        // Packets that aren't batched are flushed one by one
+        this.flushCount.increment();
+    }
+
+    /**
+     * Packets are only batched once the connection is in the play state.
+     * Keep-alive and disconnect packets are always sent immediately.
+     */
+    private boolean canBatch(Packet<?> packet) {
+        return !(packet instanceof SPacketKeepAlive) && !(packet instanceof SPacketDisconnect)
+                && EnumConnectionState.getFromPacket(packet) == EnumConnectionState.PLAY
+                && this.channel.attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() == EnumConnectionState.PLAY;
+    }
+
+    @Override
+    public void flushBatchedPackets() {
+        if (this.batchedPackets.isEmpty()) {
+            return;
+        }
+        if (this.channel.eventLoop().inEventLoop()) {
+            this.writeBatchedPackets();
+        } else {
+            this.channel.eventLoop().execute(this::writeBatchedPackets);
+        }
+    }
+
+    private void writeBatchedPackets() {
+        boolean written = false;
+        Packet<?> packet;
+        while ((packet = this.batchedPackets.poll()) != null) {
+            this.batchedPacketCount.decrementAndGet();
+            this.channel.write(packet).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+            written = true;
+        }
+        if (written) {
+            this.channel.flush();
+            this.flushCount.increment();
+        }
+    }
+
+    @Override
+    public void addEncodedBytes(int bytes) {
+        this.flushedBytes.add(bytes);
+    }
+
+    @Override
+    public long getFlushCount() {
+        return this.flushCount.sum();
+    }
+
+    @Override
+    public long getFlushedBytes() {
+        return this.flushedBytes.sum();
+    }
+
+}
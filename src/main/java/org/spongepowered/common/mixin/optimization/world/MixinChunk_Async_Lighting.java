@@ -88,7 +88,7 @@ private boolean onCheckLightForSkylight(World world, EnumSkyBlock enumSkyBlock,
     @Inject(method = "recheckGaps", at = @At("HEAD"), cancellable = true)
     private void onRecheckGaps(boolean onlyOnce, CallbackInfo ci) {
         if (!this.world.isRemote) {
-            ((IMixinWorldServer) this.world).getLightingExecutor().execute(() -> {
+            ((IMixinWorldServer) this.world).getLightingEngine().queueGapCheck((Chunk) (Object) this, () -> {
                 this.recheckGapsAsync(onlyOnce);
             });
             ci.cancel();
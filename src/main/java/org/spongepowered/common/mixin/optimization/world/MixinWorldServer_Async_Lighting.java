@@ -24,7 +24,6 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
@@ -33,23 +32,22 @@
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.util.math.IMixinBlockPos;
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.core.world.MixinWorld;
+import org.spongepowered.common.world.SpongeLightingEngine;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Mixin(value = WorldServer.class)
 public abstract class MixinWorldServer_Async_Lighting extends MixinWorld implements IMixinWorldServer {
 
-    private ExecutorService lightExecutorService =
-            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    private final SpongeLightingEngine lightingEngine = new SpongeLightingEngine((WorldServer) (Object) this);
+    // Light updates of different regions are processed in parallel, so each thread needs its own list
+    private final ThreadLocal<int[]> lightUpdateBlockLists = ThreadLocal.withInitial(() -> new int[32768]);
 
     @Override
     public boolean checkLightFor(EnumSkyBlock lightType, BlockPos pos) {
@@ -62,7 +60,7 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
         if (false && !this.isAreaLoaded(pos, 17, false)) {
             return false;
         } else {
-            final IMixinChunk spongeChunk = (IMixinChunk) currentChunk;
+            final int[] lightUpdateBlockList = this.lightUpdateBlockLists.get(); // Sponge - use list of the current thread
             int i = 0;
             int j = 0;
             //this.profiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
@@ -73,12 +71,12 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
             int k1 = pos.getZ();
 
             if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
+                lightUpdateBlockList[j++] = 133152;
             } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
+                lightUpdateBlockList[j++] = 133152 | k << 18;
 
                 while (i < j) {
-                    int l1 = this.lightUpdateBlockList[i++];
+                    int l1 = lightUpdateBlockList[i++];
                     int i2 = (l1 & 63) - 32 + i1;
                     int j2 = (l1 >> 6 & 63) - 32 + j1;
                     int k2 = (l1 >> 12 & 63) - 32 + k1;
@@ -111,8 +109,8 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                                     i3 = this.getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
                                     // Sponge end
 
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                    if (i3 == l2 - l4 && j < lightUpdateBlockList.length) {
+                                        lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
                                     }
                                 }
 
@@ -129,7 +127,7 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
             //this.profiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
 
             while (i < j) {
-                int i5 = this.lightUpdateBlockList[i++];
+                int i5 = lightUpdateBlockList[i++];
                 int j5 = (i5 & 63) - 32 + i1;
                 int k5 = (i5 >> 6 & 63) - 32 + j1;
                 int l5 = (i5 >> 12 & 63) - 32 + k1;
@@ -144,32 +142,32 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                         int k6 = Math.abs(j5 - i1);
                         int l6 = Math.abs(k5 - j1);
                         int i7 = Math.abs(l5 - k1);
-                        boolean flag = j < this.lightUpdateBlockList.length - 6;
+                        boolean flag = j < lightUpdateBlockList.length - 6;
 
                         if (k6 + l6 + i7 < 17 && flag) {
                             // Sponge start - use thread safe method getLightForAsync
                             if (this.getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
                             }
 
                             if (this.getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
                             }
                             // Sponge end
                         }
@@ -177,15 +175,7 @@ public boolean checkLightAsync(EnumSkyBlock lightType, BlockPos pos, net.minecra
                 }
             }
 
-            // Sponge start - Asynchronous light updates
-            if (SpongeImpl.getGlobalConfig().getConfig().getOptimizations().useAsyncLighting()) {
-                spongeChunk.getPendingLightUpdates().decrementAndGet();
-                for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                    final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-                    neighbor.getPendingLightUpdates().decrementAndGet();
-                }
-            }
-            // Sponge end
+            // Sponge - pending light updates are decreased by the lighting engine
             //this.profiler.endSection(); // Sponge - don't use profiler off of main thread
             return true;
         }
@@ -200,7 +190,6 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos) {
             return false;
         }
 
-        spongeChunk.getPendingLightUpdates().incrementAndGet();
         spongeChunk.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
 
         List<Chunk> neighbors = spongeChunk.getNeighbors();
@@ -224,20 +213,16 @@ public boolean updateLightAsync(EnumSkyBlock lightType, BlockPos pos) {
 
         for (net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
             final IMixinChunk neighbor = (IMixinChunk) neighborChunk;
-            neighbor.getPendingLightUpdates().incrementAndGet();
             neighbor.setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
         }
 
-        this.lightExecutorService.execute(() -> {
-            this.checkLightAsync(lightType, pos, chunk, neighbors);
-        });
-
-        return true;
+        // The engine keeps the pending light updates of the chunks increased until the update was processed
+        return this.lightingEngine.queueUpdate(lightType, pos, chunk, neighbors);
     }
 
     @Override
-    public ExecutorService getLightingExecutor() {
-        return this.lightExecutorService;
+    public SpongeLightingEngine getLightingEngine() {
+        return this.lightingEngine;
     }
 
     // Thread safe methods to retrieve a chunk during async light updates
@@ -101,6 +101,10 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::useAsyncLighting)
             .put("org.spongepowered.common.mixin.optimization.world.gen.structure.MixinMapGenStructure_Structure_Saving",
                     OptimizationCategory::useStructureSave)
+            .put("org.spongepowered.common.mixin.optimization.network.MixinNetworkManager_Packet_Batching",
+                    OptimizationCategory::usePacketBatching)
+            .put("org.spongepowered.common.mixin.optimization.network.MixinNettyPacketEncoder_Packet_Batching",
+                    OptimizationCategory::usePacketBatching)
             .build();
 
 }
@@ -27,6 +27,11 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -49,6 +54,7 @@
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -68,7 +74,9 @@
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -81,13 +89,8 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
+    // A player bounding box never reaches further than this outside of the chunk the player is indexed in
+    private static final int PLAYER_CELL_MARGIN = 2;
     @SuppressWarnings("serial") static Map<Byte, Integer> maxActivationRanges = new HashMap<Byte, Integer>() {
 
         {
@@ -193,137 +196,132 @@ public static boolean initializeEntityActivationState(Entity entity) {
         return false;
     }
 
-    /**
-     * Utility method to grow an AABB without creating a new AABB or touching
-     * the pool, so we can re-use ones we have.
-     *
-     * @param target The AABB to modify
-     * @param source The AABB to get initial coordinates from
-     * @param x The x value to expand by
-     * @param y The y value to expand by
-     * @param z The z value to expand by
-     */
-    public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int y, int z) {
-        target.minX = source.minX - x;
-        target.minY = source.minY - y;
-        target.minZ = source.minZ - z;
-        target.maxX = source.maxX + x;
-        target.maxY = source.maxY + y;
-        target.maxZ = source.maxZ + z;
-    }
-
     /**
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>The players are indexed by chunk once per tick, then every loaded
+     * chunk within range of any player is visited a single time. Each entity
+     * only checks the players in the chunks its activation range reaches,
+     * so players close to each other don't cause entities to be checked
+     * over and over.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        for (EntityPlayer player : world.playerEntities) {
+        if (world.playerEntities.isEmpty()) {
+            return;
+        }
 
-            int maxRange = 0;
-            for (Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
+        int maxRange = 0;
+        for (Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
             }
+        }
+        maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
 
-            maxRange = Math.min((SpongeImpl.getServer().getPlayerList().getViewDistance() << 4) - 8, maxRange);
-            ((IModData_Activation) player).setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            int i = MathHelper.floor(maxBB.minX / 16.0D);
-            int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    Chunk chunk = ((IMixinChunkProviderServer) worldserver.getChunkProvider()).getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final Long2ObjectMap<List<EntityPlayer>> playersByChunk = new Long2ObjectOpenHashMap<>();
+        final LongSet activeChunks = new LongOpenHashSet();
+        for (EntityPlayer player : world.playerEntities) {
+            ((IModData_Activation) player).setActivatedTick(currentTick);
+            playersByChunk.computeIfAbsent(ChunkPos.asLong(MathHelper.floor(player.posX) >> 4, MathHelper.floor(player.posZ) >> 4),
+                    key -> new ArrayList<>()).add(player);
+
+            // The union of the chunks within the largest activation range of all players
+            final AxisAlignedBB box = player.getEntityBoundingBox();
+            final int minChunkX = MathHelper.floor((box.minX - maxRange) / 16.0D);
+            final int maxChunkX = MathHelper.floor((box.maxX + maxRange) / 16.0D);
+            final int minChunkZ = MathHelper.floor((box.minZ - maxRange) / 16.0D);
+            final int maxChunkZ = MathHelper.floor((box.maxZ + maxRange) / 16.0D);
+            for (int x = minChunkX; x <= maxChunkX; x++) {
+                for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                    activeChunks.add(ChunkPos.asLong(x, z));
                 }
             }
         }
+
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) ((WorldServer) world).getChunkProvider();
+        final LongIterator iterator = activeChunks.iterator();
+        while (iterator.hasNext()) {
+            final long chunkKey = iterator.nextLong();
+            final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive((int) chunkKey, (int) (chunkKey >> 32));
+            if (chunk != null) {
+                activateChunkEntities(chunk, playersByChunk, currentTick);
+            }
+        }
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
      * @param chunk Chunk to check for activation
+     * @param playersByChunk The players of the world, by the chunk they are in
+     * @param currentTick The current server tick
      */
-    private static void activateChunkEntities(EntityPlayer player, Chunk chunk) {
+    private static void activateChunkEntities(Chunk chunk, Long2ObjectMap<List<EntityPlayer>> playersByChunk, long currentTick) {
         for (int i = 0; i < chunk.getEntityLists().length; ++i) {
 
-            for (Object o : chunk.getEntityLists()[i]) {
-                Entity entity = (Entity) o;
+            for (Entity entity : chunk.getEntityLists()[i]) {
+                final IModData_Activation spongeEntity = (IModData_Activation) entity;
                 EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
-                long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (type == EntityTypes.UNKNOWN) {
-                    ((IModData_Activation) entity).setActivatedTick(currentTick);
+                    spongeEntity.setActivatedTick(currentTick);
                     continue;
                 }
 
-                if (currentTick > ((IModData_Activation) entity).getActivatedTick()) {
-                    if (((IModData_Activation) entity).getDefaultActivationState()) {
-                        ((IModData_Activation) entity).setActivatedTick(currentTick);
+                if (currentTick > spongeEntity.getActivatedTick()) {
+                    if (spongeEntity.getDefaultActivationState()) {
+                        spongeEntity.setActivatedTick(currentTick);
                         continue;
                     }
 
-                    IModData_Activation spongeEntity = (IModData_Activation) entity;
                     // check if activation cache needs to be updated
                     if (spongeEntity.requiresActivationCacheRefresh()) {
                         EntityActivationRange.initializeEntityActivationState(entity);
                         spongeEntity.requiresActivationCacheRefresh(false);
                     }
-                    // check for entity type overrides
-                    byte activationType = ((IModData_Activation) entity).getActivationType();
-                    int bbActivationRange = ((IModData_Activation) entity).getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
+                    // the range includes entity type overrides
+                    if (isInPlayerRange(entity.getEntityBoundingBox(), spongeEntity.getActivationRange(), playersByChunk)) {
+                        spongeEntity.setActivatedTick(currentTick);
                     }
+                }
+            }
+        }
+    }
 
-                    switch (((IModData_Activation) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IModData_Activation) entity).setActivatedTick(currentTick);
-                            }
+    /**
+     * Checks whether the given box intersects the box of any player, grown
+     * by the activation range horizontally and by 256 blocks vertically.
+     *
+     * @param box The bounding box of the entity
+     * @param range The activation range of the entity
+     * @param playersByChunk The players of the world, by the chunk they are in
+     * @return Whether any player is in range
+     */
+    private static boolean isInPlayerRange(AxisAlignedBB box, int range, Long2ObjectMap<List<EntityPlayer>> playersByChunk) {
+        final int minChunkX = MathHelper.floor(box.minX - range - PLAYER_CELL_MARGIN) >> 4;
+        final int maxChunkX = MathHelper.floor(box.maxX + range + PLAYER_CELL_MARGIN) >> 4;
+        final int minChunkZ = MathHelper.floor(box.minZ - range - PLAYER_CELL_MARGIN) >> 4;
+        final int maxChunkZ = MathHelper.floor(box.maxZ + range + PLAYER_CELL_MARGIN) >> 4;
+        for (int x = minChunkX; x <= maxChunkX; x++) {
+            for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                final List<EntityPlayer> players = playersByChunk.get(ChunkPos.asLong(x, z));
+                if (players == null) {
+                    continue;
+                }
+                for (int i = 0; i < players.size(); i++) {
+                    final AxisAlignedBB playerBox = players.get(i).getEntityBoundingBox();
+                    if (box.maxX > playerBox.minX - range && box.minX < playerBox.maxX + range
+                            && box.maxY > playerBox.minY - 256 && box.minY < playerBox.maxY + 256
+                            && box.maxZ > playerBox.minZ - range && box.minZ < playerBox.maxZ + range) {
+                        return true;
                     }
                 }
             }
         }
+        return false;
     }
 
     /**
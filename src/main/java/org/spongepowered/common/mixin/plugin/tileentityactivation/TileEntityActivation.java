@@ -26,8 +26,9 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.entity.player.EntityPlayer;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.tileentity.TileEntity;
@@ -46,8 +47,10 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
-import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_TileEntityIndex;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class TileEntityActivation {
@@ -111,55 +114,119 @@ public static boolean initializeTileEntityActivationState(TileEntity tileEntity)
     */
     public static void activateTileEntities(WorldServer world) {
         final PlayerChunkMap playerChunkMap = world.getPlayerChunkMap();
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
         for (PlayerChunkMapEntry playerChunkMapEntry : playerChunkMap.entries) {
-            for (EntityPlayer player : playerChunkMapEntry.players) {
-                final Chunk chunk = playerChunkMapEntry.chunk;
-                if (chunk == null || chunk.unloadQueued) {
-                    continue;
-                }
-
-                activateChunkTileEntities(player, chunk);
+            final Chunk chunk = playerChunkMapEntry.chunk;
+            if (chunk == null || chunk.unloadQueued || playerChunkMapEntry.players.isEmpty()) {
+                continue;
             }
+
+            activateChunkTileEntities(playerChunkMapEntry.players, chunk, currentTick);
         }
     }
 
-
     /**
      * Checks for the activation state of all tileentities in this chunk.
      *
+     * <p>The tickable tileentities of the chunk are indexed by activation
+     * range. The distance from the nearest player to the closest and the
+     * furthest possible tileentity position in the chunk decides for a whole
+     * range group at once whether all or none of its tileentities are active,
+     * only the groups whose range ends within the chunk are checked one by
+     * one.</p>
+     *
+     * @param players The players watching the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current server tick
      */
-    private static void activateChunkTileEntities(EntityPlayer player, Chunk chunk) {
-        final Vector3i playerPos = VecHelper.toVector3i(player.getPosition());
-        final long currentTick = SpongeImpl.getServer().getTickCounter();
-        for (Map.Entry<BlockPos, TileEntity> mapEntry : chunk.getTileEntityMap().entrySet()) {
-            final TileEntity tileEntity = mapEntry.getValue();
-            if (!(tileEntity instanceof ITickable) || ((IModData_Activation) tileEntity).getActivatedTick() == currentTick) {
-                // already activated
+    private static void activateChunkTileEntities(List<EntityPlayerMP> players, Chunk chunk, long currentTick) {
+        final TileEntityActivationIndex index = ((IModData_TileEntityIndex) chunk).getTileEntityActivationIndex();
+        if (index.isEmpty()) {
+            return;
+        }
+        // check if activation cache needs to be updated
+        index.refreshActivationState();
+
+        final BlockPos min = new BlockPos(chunk.xPosition << 4, index.getMinY(), chunk.zPosition << 4);
+        final BlockPos max = new BlockPos((chunk.xPosition << 4) + 15, index.getMaxY(), (chunk.zPosition << 4) + 15);
+        long nearestDistanceSq = Long.MAX_VALUE;
+        long furthestDistanceSq = Long.MAX_VALUE;
+        for (int i = 0; i < players.size(); i++) {
+            final BlockPos playerPos = players.get(i).getPosition();
+            nearestDistanceSq = Math.min(nearestDistanceSq, distanceSq(playerPos, min, max, false));
+            furthestDistanceSq = Math.min(furthestDistanceSq, distanceSq(playerPos, min, max, true));
+        }
+
+        for (Int2ObjectMap.Entry<ReferenceSet<TileEntity>> group : index.getGroups()) {
+            // Math.round(distance) <= range
+            final double activationRange = group.getIntKey() + 0.5D;
+            final double activationRangeSq = activationRange * activationRange;
+            if (nearestDistanceSq >= activationRangeSq) {
                 continue;
             }
 
-            final Vector3i tilePos = VecHelper.toVector3i(tileEntity.getPos());
-            if (currentTick > ((IModData_Activation) tileEntity).getActivatedTick()) {
-                if (((IModData_Activation) tileEntity).getDefaultActivationState()) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
+            final boolean allInRange = furthestDistanceSq < activationRangeSq;
+            for (TileEntity tileEntity : group.getValue()) {
+                final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+                if (spongeTileEntity.getActivatedTick() >= currentTick) {
+                    // already activated
                     continue;
                 }
-
-                IModData_Activation spongeEntity = (IModData_Activation) tileEntity;
-                // check if activation cache needs to be updated
-                if (spongeEntity.requiresActivationCacheRefresh()) {
-                    TileEntityActivation.initializeTileEntityActivationState(tileEntity);
-                    spongeEntity.requiresActivationCacheRefresh(false);
+                if (allInRange || spongeTileEntity.getDefaultActivationState() || isInRange(tileEntity.getPos(), players, activationRangeSq)) {
+                    spongeTileEntity.setActivatedTick(currentTick);
                 }
+            }
+        }
+    }
 
-                int bbActivationRange = ((IModData_Activation) tileEntity).getActivationRange();
-                int blockDistance = Math.round(tilePos.distance(playerPos));
-                if (blockDistance <= bbActivationRange) {
-                    ((IModData_Activation) tileEntity).setActivatedTick(currentTick);
-                }
+    private static boolean isInRange(BlockPos pos, List<EntityPlayerMP> players, double activationRangeSq) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getPosition().distanceSq(pos) < activationRangeSq) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long distanceSq(BlockPos pos, BlockPos min, BlockPos max, boolean furthest) {
+        final long x = axisDistance(pos.getX(), min.getX(), max.getX(), furthest);
+        final long y = axisDistance(pos.getY(), min.getY(), max.getY(), furthest);
+        final long z = axisDistance(pos.getZ(), min.getZ(), max.getZ(), furthest);
+        return x * x + y * y + z * z;
+    }
+
+    private static long axisDistance(int value, int min, int max, boolean furthest) {
+        if (furthest) {
+            return Math.max(Math.abs(value - min), Math.abs(value - max));
+        }
+        return value < min ? min - value : value > max ? value - max : 0;
+    }
+
+    /**
+     * Counts the active and inactive tickable tileentities of the world per
+     * type, as of the most recent activation pass.
+     *
+     * @param world The world to count the tileentities of
+     * @return The counts per tileentity type
+     */
+    public static Map<TileEntityType, ActivationCount> getActivationCounts(WorldServer world) {
+        final Map<TileEntityType, ActivationCount> counts = new HashMap<>();
+        // The activation pass of the world may not have run yet during the current tick
+        final long lastActivationTick = SpongeImpl.getServer().getTickCounter() - 1;
+        for (TileEntity tileEntity : world.loadedTileEntityList) {
+            if (!(tileEntity instanceof ITickable) || !(tileEntity instanceof IModData_Activation)) {
+                continue;
+            }
+            final IModData_Activation spongeTileEntity = (IModData_Activation) tileEntity;
+            final ActivationCount count = counts.computeIfAbsent(((org.spongepowered.api.block.tileentity.TileEntity) tileEntity).getType(),
+                    type -> new ActivationCount());
+            if (spongeTileEntity.getDefaultActivationState() || spongeTileEntity.getActivatedTick() >= lastActivationTick) {
+                count.active++;
+            } else {
+                count.inactive++;
             }
         }
+        return counts;
     }
 
     /**
@@ -254,4 +321,18 @@ public static void addTileEntityToConfig(World world, SpongeTileEntityType type)
             config.save();
         }
     }
+
+    public static final class ActivationCount {
+
+        int active;
+        int inactive;
+
+        public int getActive() {
+            return this.active;
+        }
+
+        public int getInactive() {
+            return this.inactive;
+        }
+    }
 }
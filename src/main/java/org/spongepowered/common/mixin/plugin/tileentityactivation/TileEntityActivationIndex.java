@@ -0,0 +1,157 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.tileentityactivation;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
+import it.unimi.dsi.fastutil.objects.ObjectSortedSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The tickable tile entities of a single chunk, grouped by their activation
+ * range. Kept up to date as tile entities are added to and removed from the
+ * chunk, so activation checks don't have to go through the full tile entity
+ * map of the chunk every tick.
+ */
+public final class TileEntityActivationIndex {
+
+    private final Map<BlockPos, TileEntity> tileEntities = new HashMap<>();
+    private final Reference2IntMap<TileEntity> ranges = new Reference2IntOpenHashMap<>();
+    private final Int2ObjectSortedMap<ReferenceSet<TileEntity>> groups = new Int2ObjectAVLTreeMap<>();
+    // Only ever grows while the chunk is loaded, which keeps it a valid bound for all indexed positions
+    private int minY = Integer.MAX_VALUE;
+    private int maxY = Integer.MIN_VALUE;
+    private boolean requiresRefresh;
+
+    public void add(BlockPos pos, TileEntity tileEntity) {
+        final TileEntity previous = this.tileEntities.put(pos, tileEntity);
+        if (previous != null) {
+            removeFromGroup(previous);
+        }
+        addToGroup(tileEntity, ((IModData_Activation) tileEntity).getActivationRange());
+        this.minY = Math.min(this.minY, pos.getY());
+        this.maxY = Math.max(this.maxY, pos.getY());
+    }
+
+    public void remove(BlockPos pos) {
+        final TileEntity tileEntity = this.tileEntities.remove(pos);
+        if (tileEntity != null) {
+            removeFromGroup(tileEntity);
+        }
+    }
+
+    /**
+     * Marks this index to check its tile entities for an activation cache
+     * refresh on the next activation pass.
+     */
+    public void requiresActivationCacheRefresh() {
+        this.requiresRefresh = true;
+    }
+
+    /**
+     * Re-initializes the activation state of the tile entities that were
+     * flagged for a cache refresh, moving them to the group of their new
+     * activation range.
+     */
+    public void refreshActivationState() {
+        if (!this.requiresRefresh) {
+            return;
+        }
+        this.requiresRefresh = false;
+        List<TileEntity> moved = null;
+        for (TileEntity tileEntity : this.tileEntities.values()) {
+            final IModData_Activation spongeTile = (IModData_Activation) tileEntity;
+            if (!spongeTile.requiresActivationCacheRefresh()) {
+                continue;
+            }
+            spongeTile.setDefaultActivationState(TileEntityActivation.initializeTileEntityActivationState(tileEntity));
+            spongeTile.requiresActivationCacheRefresh(false);
+            if (spongeTile.getActivationRange() != this.ranges.getInt(tileEntity)) {
+                if (moved == null) {
+                    moved = new ArrayList<>();
+                }
+                moved.add(tileEntity);
+            }
+        }
+        if (moved != null) {
+            for (TileEntity tileEntity : moved) {
+                removeFromGroup(tileEntity);
+                addToGroup(tileEntity, ((IModData_Activation) tileEntity).getActivationRange());
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.tileEntities.isEmpty();
+    }
+
+    public int getMinY() {
+        return this.minY;
+    }
+
+    public int getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Gets the groups of tile entities, ordered by ascending activation range.
+     *
+     * @return The groups of tile entities by activation range
+     */
+    public ObjectSortedSet<Int2ObjectMap.Entry<ReferenceSet<TileEntity>>> getGroups() {
+        return this.groups.int2ObjectEntrySet();
+    }
+
+    private void addToGroup(TileEntity tileEntity, int range) {
+        this.ranges.put(tileEntity, range);
+        ReferenceSet<TileEntity> group = this.groups.get(range);
+        if (group == null) {
+            group = new ReferenceOpenHashSet<>();
+            this.groups.put(range, group);
+        }
+        group.add(tileEntity);
+    }
+
+    private void removeFromGroup(TileEntity tileEntity) {
+        final int range = this.ranges.removeInt(tileEntity);
+        final ReferenceSet<TileEntity> group = this.groups.get(range);
+        if (group != null && group.remove(tileEntity) && group.isEmpty()) {
+            this.groups.remove(range);
+        }
+    }
+
+}
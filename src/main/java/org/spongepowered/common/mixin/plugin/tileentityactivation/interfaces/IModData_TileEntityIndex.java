@@ -22,5 +22,12 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-@org.spongepowered.api.util.annotation.NonnullByDefault
-package org.spongepowered.common.profile.query;
+package org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces;
+
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivationIndex;
+
+public interface IModData_TileEntityIndex {
+
+    TileEntityActivationIndex getTileEntityActivationIndex();
+
+}
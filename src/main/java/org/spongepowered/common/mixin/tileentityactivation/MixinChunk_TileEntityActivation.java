@@ -39,11 +39,24 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldInfo;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivation;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.TileEntityActivationIndex;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_TileEntityIndex;
+
+import java.util.Map;
 
 @Mixin(Chunk.class)
-public class MixinChunk_TileEntityActivation {
+public class MixinChunk_TileEntityActivation implements IModData_TileEntityIndex {
 
     @Shadow @Final private World world;
+    @Shadow @Final private Map<BlockPos, net.minecraft.tileentity.TileEntity> chunkTileEntityMap;
+    @Shadow private boolean isChunkLoaded;
+
+    private final TileEntityActivationIndex tileEntityActivationIndex = new TileEntityActivationIndex();
+
+    @Override
+    public TileEntityActivationIndex getTileEntityActivationIndex() {
+        return this.tileEntityActivationIndex;
+    }
 
     @Inject(method = "addTileEntity(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V", at = @At("RETURN"))
     public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity tileEntityIn, CallbackInfo ci) {
@@ -51,6 +64,10 @@ public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity ti
             tileEntityIn.setWorld(this.world);
         }
         if (!(tileEntityIn instanceof ITickable)) {
+            if (this.chunkTileEntityMap.get(pos) == tileEntityIn) {
+                // may have replaced a tickable tile entity
+                this.tileEntityActivationIndex.remove(pos);
+            }
             return;
         }
 
@@ -61,5 +78,16 @@ public void onAddTileEntity(BlockPos pos, net.minecraft.tileentity.TileEntity ti
                 TileEntityActivation.addTileEntityToConfig(this.world, (SpongeTileEntityType) ((TileEntity) tileEntityIn).getType());
             }
         }
+        // Only index the tile entity if the chunk accepted it
+        if (this.chunkTileEntityMap.get(pos) == tileEntityIn) {
+            this.tileEntityActivationIndex.add(pos, tileEntityIn);
+        }
+    }
+
+    @Inject(method = "removeTileEntity", at = @At("HEAD"))
+    public void onRemoveTileEntity(BlockPos pos, CallbackInfo ci) {
+        if (this.isChunkLoaded) {
+            this.tileEntityActivationIndex.remove(pos);
+        }
     }
 }
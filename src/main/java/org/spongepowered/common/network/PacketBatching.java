@@ -0,0 +1,60 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import org.spongepowered.common.interfaces.network.IMixinBatchingNetworkManager;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the connections that buffered packets during the current tick, so
+ * they can be flushed at the end of the tick.
+ */
+public final class PacketBatching {
+
+    private static final Set<IMixinBatchingNetworkManager> pendingConnections = ConcurrentHashMap.newKeySet();
+
+    public static void markPending(IMixinBatchingNetworkManager networkManager) {
+        pendingConnections.add(networkManager);
+    }
+
+    public static void flushPendingConnections() {
+        if (pendingConnections.isEmpty()) {
+            return;
+        }
+        final Iterator<IMixinBatchingNetworkManager> iterator = pendingConnections.iterator();
+        while (iterator.hasNext()) {
+            final IMixinBatchingNetworkManager networkManager = iterator.next();
+            iterator.remove();
+            networkManager.flushBatchedPackets();
+        }
+    }
+
+    private PacketBatching() {
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import com.google.common.collect.Maps;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileCache;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ProfileResolver} that uses the lookup methods of the active
+ * {@link GameProfileCache}, which query Mojang's servers for the default
+ * cache.
+ */
+public final class CacheProfileResolver implements ProfileResolver {
+
+    private final Supplier<GameProfileCache> cache;
+
+    public CacheProfileResolver(Supplier<GameProfileCache> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Map<UUID, Optional<GameProfile>> lookupByIds(Collection<UUID> uniqueIds) {
+        return this.cache.get().lookupByIds(uniqueIds);
+    }
+
+    @Override
+    public Map<String, Optional<GameProfile>> lookupByNames(Collection<String> names) {
+        final Map<String, Optional<GameProfile>> result = Maps.newHashMapWithExpectedSize(names.size());
+        for (Optional<GameProfile> profile : this.cache.get().lookupByNames(names).values()) {
+            // The returned names may be capitalized differently than the requested ones
+            if (profile.isPresent() && profile.get().getName().isPresent()) {
+                result.put(profile.get().getName().get().toLowerCase(Locale.ROOT), profile);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<GameProfile> fill(GameProfile profile, boolean signed) {
+        return this.cache.get().fillProfile(profile, signed);
+    }
+
+}
@@ -0,0 +1,402 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileCache;
+import org.spongepowered.api.profile.ProfileNotFoundException;
+import org.spongepowered.common.util.SpongeUsernameCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Resolves game profiles for the {@link SpongeProfileManager}.
+ *
+ * <p>Requests that can be answered by the active {@link GameProfileCache} are
+ * completed immediately. All other requests are queued, concurrent requests
+ * for the same key share a single lookup, and queued lookups are sent to the
+ * {@link ProfileResolver} in batches. Found profiles are added to the cache
+ * with the positive expiry, lookups that found nothing are remembered for the
+ * negative expiry. The local caches are always checked first, so a profile
+ * that is cached after a lookup found nothing is still returned.</p>
+ */
+public final class ProfileLookupQueue {
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final Executor executor;
+    private final Supplier<GameProfileCache> cache;
+    private volatile ProfileResolver resolver;
+    private final long positiveExpiry;
+    private final Cache<Object, Boolean> notFound;
+
+    private final Map<UUID, Request<UUID>> pendingIds = new ConcurrentHashMap<>();
+    private final Queue<Request<UUID>> idQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean idDrainScheduled = new AtomicBoolean();
+    private final Map<String, Request<String>> pendingNames = new ConcurrentHashMap<>();
+    private final Queue<Request<String>> nameQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean nameDrainScheduled = new AtomicBoolean();
+    private final Map<UUID, CompletableFuture<GameProfile>> pendingSignedFills = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<GameProfile>> pendingUnsignedFills = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    /**
+     * Creates a new lookup queue.
+     *
+     * @param executor The executor lookups are run on
+     * @param cache The cache to check and fill
+     * @param resolver The resolver for profiles missing from the cache
+     * @param positiveExpiry How long found profiles are cached, in milliseconds
+     * @param negativeExpiry How long lookups that found nothing are remembered,
+     *     in milliseconds
+     */
+    public ProfileLookupQueue(Executor executor, Supplier<GameProfileCache> cache, ProfileResolver resolver, long positiveExpiry,
+            long negativeExpiry) {
+        checkArgument(positiveExpiry > 0, "positive expiry must be greater than 0");
+        this.executor = checkNotNull(executor, "executor");
+        this.cache = checkNotNull(cache, "cache");
+        this.resolver = checkNotNull(resolver, "resolver");
+        this.positiveExpiry = positiveExpiry;
+        this.notFound = CacheBuilder.newBuilder()
+                .expireAfterWrite(Math.max(negativeExpiry, 0), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public ProfileResolver getResolver() {
+        return this.resolver;
+    }
+
+    public void setResolver(ProfileResolver resolver) {
+        this.resolver = checkNotNull(resolver, "resolver");
+    }
+
+    /**
+     * Gets the profile with the given unique id.
+     *
+     * @param uniqueId The unique id
+     * @param useCache Whether cached profiles may be used
+     * @return The profile, if found
+     */
+    public CompletableFuture<Optional<GameProfile>> getById(UUID uniqueId, boolean useCache) {
+        if (useCache) {
+            // check username cache first
+            @Nullable final String username = SpongeUsernameCache.getLastKnownUsername(uniqueId);
+            final Optional<GameProfile> profile = username != null ? Optional.of(GameProfile.of(uniqueId, username))
+                    : this.cache.get().getById(uniqueId);
+            // A profile that wasn't found may have been cached since, for example when the player logged in
+            if (profile.isPresent() || this.notFound.getIfPresent(uniqueId) != null) {
+                this.hits.increment();
+                return CompletableFuture.completedFuture(profile);
+            }
+        }
+        this.misses.increment();
+        return this.enqueue(this.pendingIds, this.idQueue, this.idDrainScheduled, uniqueId, this::drainIds);
+    }
+
+    /**
+     * Gets the profile with the given name.
+     *
+     * @param name The name, case insensitive
+     * @param useCache Whether cached profiles may be used
+     * @return The profile, if found
+     */
+    public CompletableFuture<Optional<GameProfile>> getByName(String name, boolean useCache) {
+        final String key = name.toLowerCase(Locale.ROOT);
+        if (useCache) {
+            final Optional<GameProfile> profile = this.cache.get().getByName(name);
+            if (profile.isPresent() || this.notFound.getIfPresent(key) != null) {
+                this.hits.increment();
+                return CompletableFuture.completedFuture(profile);
+            }
+        }
+        this.misses.increment();
+        return this.enqueue(this.pendingNames, this.nameQueue, this.nameDrainScheduled, key, this::drainNames);
+    }
+
+    /**
+     * Fills the properties of the given profile.
+     *
+     * @param profile The profile to fill
+     * @param signed Whether the properties should be signed
+     * @param useCache Whether cached profiles may be used
+     * @return The filled profile
+     */
+    public CompletableFuture<GameProfile> fill(GameProfile profile, boolean signed, boolean useCache) {
+        final UUID uniqueId = profile.getUniqueId();
+        if (useCache) {
+            final Optional<GameProfile> cached = this.cache.get().getById(uniqueId);
+            if (cached.isPresent() && cached.get().isFilled() && !cached.get().getPropertyMap().isEmpty()) {
+                this.hits.increment();
+                return CompletableFuture.completedFuture(cached.get());
+            }
+        }
+        this.misses.increment();
+
+        final Map<UUID, CompletableFuture<GameProfile>> pending = signed ? this.pendingSignedFills : this.pendingUnsignedFills;
+        final CompletableFuture<GameProfile> future = new CompletableFuture<>();
+        final CompletableFuture<GameProfile> existing = pending.putIfAbsent(uniqueId, future);
+        if (existing != null) {
+            this.coalesced.increment();
+            return existing;
+        }
+
+        final long queuedAt = System.nanoTime();
+        this.executor.execute(() -> {
+            this.recordQueueLatency(queuedAt);
+            try {
+                this.lookups.increment();
+                final Optional<GameProfile> result = this.resolver.fill(profile, signed);
+                pending.remove(uniqueId, future);
+                if (result.isPresent() && result.get().isFilled()) {
+                    this.cache.get().add(result.get(), true, this.getExpiry());
+                    future.complete(result.get());
+                } else {
+                    future.completeExceptionally(new ProfileNotFoundException("Profile: " + profile));
+                }
+            } catch (Throwable t) {
+                pending.remove(uniqueId, future);
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private <K> CompletableFuture<Optional<GameProfile>> enqueue(Map<K, Request<K>> pending, Queue<Request<K>> queue, AtomicBoolean drainScheduled,
+            K key, Runnable drain) {
+        final Request<K> request = new Request<>(key);
+        final Request<K> existing = pending.putIfAbsent(key, request);
+        if (existing != null) {
+            this.coalesced.increment();
+            return existing.future;
+        }
+        queue.add(request);
+        if (drainScheduled.compareAndSet(false, true)) {
+            this.executor.execute(drain);
+        }
+        return request.future;
+    }
+
+    private void drainIds() {
+        this.drain(this.pendingIds, this.idQueue, this.idDrainScheduled, this::drainIds, keys -> this.resolver.lookupByIds(keys));
+    }
+
+    private void drainNames() {
+        this.drain(this.pendingNames, this.nameQueue, this.nameDrainScheduled, this::drainNames, keys -> this.resolver.lookupByNames(keys));
+    }
+
+    private <K> void drain(Map<K, Request<K>> pending, Queue<Request<K>> queue, AtomicBoolean drainScheduled, Runnable drain,
+            Function<Collection<K>, Map<K, Optional<GameProfile>>> lookup) {
+        drainScheduled.set(false);
+        final List<Request<K>> batch = new ArrayList<>();
+        final List<K> keys = new ArrayList<>();
+        Request<K> request;
+        while (batch.size() < MAX_BATCH_SIZE && (request = queue.poll()) != null) {
+            this.recordQueueLatency(request.queuedAt);
+            batch.add(request);
+            keys.add(request.key);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Let another thread take the next batch while this one is resolved
+        if (!queue.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+            this.executor.execute(drain);
+        }
+
+        final Map<K, Optional<GameProfile>> result;
+        try {
+            this.lookups.increment();
+            result = lookup.apply(keys);
+        } catch (Throwable t) {
+            for (Request<K> failed : batch) {
+                pending.remove(failed.key, failed);
+                failed.future.completeExceptionally(t);
+            }
+            return;
+        }
+
+        final GameProfileCache cache = this.cache.get();
+        final Date expiry = this.getExpiry();
+        for (Request<K> resolved : batch) {
+            @Nullable Optional<GameProfile> profile = result.get(resolved.key);
+            if (profile == null) {
+                profile = Optional.empty();
+            }
+            if (profile.isPresent()) {
+                cache.add(profile.get(), true, expiry);
+            } else {
+                this.notFound.put(resolved.key, Boolean.TRUE);
+            }
+            pending.remove(resolved.key, resolved);
+            resolved.future.complete(profile);
+        }
+    }
+
+    private Date getExpiry() {
+        return new Date(System.currentTimeMillis() + this.positiveExpiry);
+    }
+
+    private void recordQueueLatency(long queuedAt) {
+        final long latency = System.nanoTime() - queuedAt;
+        this.queueNanos.add(latency);
+        this.maxQueueNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Gets a snapshot of the lookup statistics.
+     *
+     * @return The metrics
+     */
+    public Metrics getMetrics() {
+        return new Metrics(this.hits.sum(), this.misses.sum(), this.coalesced.sum(), this.lookups.sum(), this.queueNanos.sum(),
+                this.maxQueueNanos.get());
+    }
+
+    private static final class Request<K> {
+
+        final K key;
+        final long queuedAt = System.nanoTime();
+        final CompletableFuture<Optional<GameProfile>> future = new CompletableFuture<>();
+
+        Request(K key) {
+            this.key = key;
+        }
+
+    }
+
+    /**
+     * Statistics of the profile lookups made through a
+     * {@link ProfileLookupQueue}.
+     */
+    public static final class Metrics {
+
+        private final long hits;
+        private final long misses;
+        private final long coalesced;
+        private final long lookups;
+        private final long queueNanos;
+        private final long maxQueueNanos;
+
+        Metrics(long hits, long misses, long coalesced, long lookups, long queueNanos, long maxQueueNanos) {
+            this.hits = hits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+            this.lookups = lookups;
+            this.queueNanos = queueNanos;
+            this.maxQueueNanos = maxQueueNanos;
+        }
+
+        /**
+         * Gets the amount of requests answered from the cache.
+         *
+         * @return The cache hits
+         */
+        public long getHits() {
+            return this.hits;
+        }
+
+        /**
+         * Gets the amount of requests that had to be resolved, including
+         * those that joined a pending lookup.
+         *
+         * @return The cache misses
+         */
+        public long getMisses() {
+            return this.misses;
+        }
+
+        /**
+         * Gets the amount of requests that joined a pending lookup for the
+         * same profile.
+         *
+         * @return The coalesced requests
+         */
+        public long getCoalesced() {
+            return this.coalesced;
+        }
+
+        /**
+         * Gets the amount of calls made to the {@link ProfileResolver}.
+         *
+         * @return The resolver calls
+         */
+        public long getLookups() {
+            return this.lookups;
+        }
+
+        /**
+         * Gets the total time requests spent queued before being resolved.
+         *
+         * @param unit The time unit
+         * @return The total queue latency
+         */
+        public long getTotalQueueLatency(TimeUnit unit) {
+            return unit.convert(this.queueNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Gets the longest time a request spent queued before being resolved.
+         *
+         * @param unit The time unit
+         * @return The maximum queue latency
+         */
+        public long getMaxQueueLatency(TimeUnit unit) {
+            return unit.convert(this.maxQueueNanos, TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves {@link GameProfile}s that are not known locally, usually by
+ * querying Mojang's servers.
+ */
+public interface ProfileResolver {
+
+    /**
+     * Looks up the profiles with the given unique ids.
+     *
+     * @param uniqueIds The unique ids
+     * @return The profiles, by unique id
+     */
+    Map<UUID, Optional<GameProfile>> lookupByIds(Collection<UUID> uniqueIds);
+
+    /**
+     * Looks up the profiles with the given names.
+     *
+     * @param names The lower case names
+     * @return The profiles, by lower case name
+     */
+    Map<String, Optional<GameProfile>> lookupByNames(Collection<String> names);
+
+    /**
+     * Fills the properties of the given profile.
+     *
+     * @param profile The profile to fill
+     * @param signed Whether the properties should be signed
+     * @return The filled profile, if found
+     */
+    Optional<GameProfile> fill(GameProfile profile, boolean signed);
+
+}
@@ -26,61 +26,95 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.google.inject.Inject;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.profile.GameProfileCache;
 import org.spongepowered.api.profile.GameProfileManager;
+import org.spongepowered.api.profile.ProfileNotFoundException;
 import org.spongepowered.api.profile.property.ProfileProperty;
 import org.spongepowered.common.SpongeImpl;
-import org.spongepowered.common.profile.query.GameProfileQuery;
-import org.spongepowered.common.profile.query.NameQuery;
-import org.spongepowered.common.profile.query.UniqueIdQuery;
-import org.spongepowered.common.scheduler.SpongeScheduler;
+import org.spongepowered.common.config.category.GlobalWorldCategory;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
 public final class SpongeProfileManager implements GameProfileManager {
 
     private static final int LOOKUP_INTERVAL = SpongeImpl.getGlobalConfig().getConfig().getWorld().getGameProfileQueryTaskInterval();
+    private static final int LOOKUP_BATCH_SIZE = SpongeImpl.getGlobalConfig().getConfig().getWorld().getGameProfileLookupBatchSize();
     private final GameProfileCache defaultCache = (GameProfileCache) SpongeImpl.getServer().getPlayerProfileCache();
-    private GameProfileCache cache = this.defaultCache;
-    private ExecutorService gameLookupExecutorService = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge - Async User Lookup Thread").build());
-    @Inject private static SpongeScheduler scheduler;
+    private volatile GameProfileCache cache = this.defaultCache;
+    private final ScheduledExecutorService gameLookupExecutorService;
+    private final ProfileLookupQueue lookupQueue;
+    // Background lookups of unknown block and entity owners, rate limited to respect Mojang's limits
+    private final Queue<UUID> userLookups = new ConcurrentLinkedQueue<>();
+    private final Set<UUID> queuedUserLookups = ConcurrentHashMap.newKeySet();
 
     public SpongeProfileManager() {
+        this.gameLookupExecutorService = Executors.newScheduledThreadPool(
+                SpongeImpl.getGlobalConfig().getConfig().getWorld().getGameProfileLookupThreads(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge - Async User Lookup Thread #%d").setDaemon(true).build());
+        this.lookupQueue = new ProfileLookupQueue(this.gameLookupExecutorService, this::getCache, new CacheProfileResolver(this::getCache),
+                getCacheExpiry(true), getCacheExpiry(false));
+        this.gameLookupExecutorService.scheduleWithFixedDelay(this::processUserLookups, LOOKUP_INTERVAL, LOOKUP_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Gets how long the result of a profile lookup should be cached.
+     *
+     * @param found Whether the lookup found a profile
+     * @return The expiry, in milliseconds
+     */
+    public static long getCacheExpiry(boolean found) {
+        final GlobalWorldCategory config = SpongeImpl.getGlobalConfig().getConfig().getWorld();
+        return found ? TimeUnit.HOURS.toMillis(config.getGameProfileCacheExpiry())
+                : TimeUnit.MINUTES.toMillis(config.getGameProfileCacheNegativeExpiry());
     }
 
     public void lookupUserAsync(UUID uuid) {
-        this.gameLookupExecutorService.execute(() -> { 
+        if (SpongeUsernameCache.getLastKnownUsername(uuid) != null) {
+            return;
+        }
+        if (this.queuedUserLookups.add(uuid)) {
+            this.userLookups.add(uuid);
+        }
+    }
+
+    private void processUserLookups() {
+        int count = 0;
+        UUID uuid;
+        while (count < LOOKUP_BATCH_SIZE && (uuid = this.userLookups.poll()) != null) {
+            this.queuedUserLookups.remove(uuid);
             if (SpongeUsernameCache.getLastKnownUsername(uuid) != null) {
-                return;
+                continue;
             }
-
             try {
-                Sponge.getServer().getGameProfileManager().get(checkNotNull(uuid, "uniqueId")).get();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            } catch (ExecutionException e) {
-                e.printStackTrace();
+                this.lookupQueue.getById(uuid, true);
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Failed to look up the profile of {}", uuid, e);
             }
+            count++;
+        }
+    }
 
-            try {
-                Thread.sleep(LOOKUP_INTERVAL * 1000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        });
+    public ProfileLookupQueue getLookupQueue() {
+        return this.lookupQueue;
     }
 
     @Override
@@ -96,27 +130,36 @@ public ProfileProperty createProfileProperty(String name, String value, @Nullabl
 
     @Override
     public CompletableFuture<GameProfile> get(UUID uniqueId, final boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.SingleGet(this.cache, checkNotNull(uniqueId, "unique id"), useCache));
+        checkNotNull(uniqueId, "unique id");
+        return this.lookupQueue.getById(uniqueId, useCache).thenApply(profile -> profile.orElseGet(() -> GameProfile.of(uniqueId, null)));
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllById(Iterable<UUID> uniqueIds, boolean useCache) {
-        return this.submitTask(new UniqueIdQuery.MultiGet(this.cache, checkNotNull(uniqueIds, "unique ids"), useCache));
+        final List<CompletableFuture<Optional<GameProfile>>> futures = new ArrayList<>();
+        for (UUID uniqueId : Sets.newHashSet(checkNotNull(uniqueIds, "unique ids"))) {
+            futures.add(this.lookupQueue.getById(uniqueId, useCache));
+        }
+        return allPresent(futures);
     }
 
     @Override
     public CompletableFuture<GameProfile> get(String name, boolean useCache) {
-        return this.submitTask(new NameQuery.SingleGet(this.cache, checkNotNull(name, "name"), useCache));
+        return orNotFound(this.lookupQueue.getByName(checkNotNull(name, "name"), useCache), name);
     }
 
     @Override
     public CompletableFuture<Collection<GameProfile>> getAllByName(Iterable<String> names, boolean useCache) {
-        return this.submitTask(new NameQuery.MultiGet(this.cache, checkNotNull(names, "names"), useCache));
+        final List<CompletableFuture<Optional<GameProfile>>> futures = new ArrayList<>();
+        for (String name : Sets.newHashSet(checkNotNull(names, "names"))) {
+            futures.add(this.lookupQueue.getByName(name, useCache));
+        }
+        return allPresent(futures);
     }
 
     @Override
     public CompletableFuture<GameProfile> fill(GameProfile profile, boolean signed, boolean useCache) {
-        return this.submitTask(new GameProfileQuery.SingleFill(this.cache, checkNotNull(profile, "profile"), signed, useCache));
+        return this.lookupQueue.fill(checkNotNull(profile, "profile"), signed, useCache);
     }
 
     @Override
@@ -134,8 +177,24 @@ public GameProfileCache getDefaultCache() {
         return this.defaultCache;
     }
 
-    private <T> CompletableFuture<T> submitTask(Callable<T> callable) {
-        return scheduler.submitAsyncTask(callable);
+    private static CompletableFuture<GameProfile> orNotFound(CompletableFuture<Optional<GameProfile>> future, String name) {
+        return future.thenCompose(profile -> {
+            if (profile.isPresent()) {
+                return CompletableFuture.completedFuture(profile.get());
+            }
+            final CompletableFuture<GameProfile> notFound = new CompletableFuture<>();
+            notFound.completeExceptionally(new ProfileNotFoundException("Profile: " + name));
+            return notFound;
+        });
+    }
+
+    private static CompletableFuture<Collection<GameProfile>> allPresent(List<CompletableFuture<Optional<GameProfile>>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(v -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toList()));
     }
 
 }
@@ -24,30 +24,28 @@
  */
 package org.spongepowered.common.scheduler;
 
-import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
 
-import java.util.Set;
+import java.lang.reflect.Method;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 public class AsyncScheduler extends SchedulerBase {
 
-    // Adjustable timeout for pending Tasks
-    private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
-    // Locking mechanism
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = this.lock.newCondition();
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // The tasks waiting for their delay or interval to pass, ordered by
+    // their next execution time.
+    private final DelayQueue<PendingTask> pendingTasks = new DelayQueue<>();
+    // The executor of asynchronous tasks, see SchedulerCategory.
+    private final ExecutorService executor;
 
     AsyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS);
+        this.executor = createExecutor(SpongeImpl.getGlobalConfig().getConfig().getScheduler());
 
         Thread thread = new Thread(AsyncScheduler.this::mainLoop);
         thread.setName("Sponge Async Scheduler Thread");
@@ -55,92 +53,107 @@ public class AsyncScheduler extends SchedulerBase {
         thread.start();
     }
 
+    private static ExecutorService createExecutor(SchedulerCategory config) {
+        final String type = config.getAsyncExecutor();
+        if ("virtual".equalsIgnoreCase(type)) {
+            try {
+                // Only available on newer runtimes
+                final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                SpongeImpl.getLogger().warn("Virtual threads are not supported by this runtime, using the 'fork-join' async executor instead.");
+                return createForkJoinPool(config);
+            }
+        } else if ("fork-join".equalsIgnoreCase(type)) {
+            return createForkJoinPool(config);
+        } else if (!"cached".equalsIgnoreCase(type)) {
+            SpongeImpl.getLogger().warn("Unknown async executor '{}', using the 'cached' async executor instead.", type);
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    private static ExecutorService createForkJoinPool(SchedulerCategory config) {
+        final int parallelism = config.getAsyncPoolSize() > 0 ? config.getAsyncPoolSize() : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism, pool -> {
+            final Thread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Sponge Async Scheduler Worker-" + thread.getPoolIndex());
+            return thread;
+        }, null, true);
+    }
+
     ExecutorService getExecutor() {
         return this.executor;
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (true) {
-            recalibrateMinimumTimeout();
-            this.runTick();
-        }
-    }
-
-    private void recalibrateMinimumTimeout() {
-        this.lock.lock();
-        try {
-            Set<Task> tasks = this.getScheduledTasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            long now = System.nanoTime();
-            for (Task tmpTask : tasks) {
-                ScheduledTask task = (ScheduledTask) tmpTask;
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.offset == 0 && task.period == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                long timeSinceLast = now - task.getTimestamp();
-
-                if (task.offset > 0 && task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an offset and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.offset - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.period > 0 && task.getState().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.period - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
+            final PendingTask pending;
+            try {
+                pending = this.pendingTasks.take();
+            } catch (InterruptedException ignored) {
+                continue;
             }
-            if (!tasks.isEmpty()) {
-                long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
+            try {
+                this.processTask(pending.task);
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", t);
+            }
+            // Repeating tasks and tasks which were not due yet are still
+            // in the task map and are queued again for their next execution.
+            if (this.getTask(pending.task.getUniqueId()).isPresent()) {
+                long executionTime = pending.task.nextExecutionTimestamp();
+                if (pending.task.getState() == ScheduledTask.ScheduledTaskState.SWITCHING && executionTime - System.nanoTime() <= 0) {
+                    // The executor hasn't started the previous execution yet, so the task
+                    // can't be processed again. Check back after another period instead
+                    // of taking the overdue task from the queue over and over.
+                    executionTime = System.nanoTime() + pending.task.period;
+                }
+                this.pendingTasks.add(new PendingTask(pending.task, executionTime));
             }
-        } finally {
-            this.lock.unlock();
         }
     }
 
     @Override
-    protected void preTick() {
-        this.lock.lock();
-        try {
-            this.condition.await(this.minimumTimeout, TimeUnit.NANOSECONDS);
-        } catch (InterruptedException ignored) {
-            // The taskMap has been modified; there is work to do.
-            // Continue on without handling the Exception.
-        } catch (IllegalMonitorStateException e) {
-            SpongeImpl.getLogger().error("The scheduler internal state machine suffered a catastrophic error", e);
-        }
+    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
+        this.executor.submit(runnable);
     }
 
     @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
+    protected void addTask(ScheduledTask task) {
+        super.addTask(task);
+        this.pendingTasks.add(new PendingTask(task));
     }
 
-    @Override
-    protected void finallyPostTick() {
-        this.lock.unlock();
-    }
+    /**
+     * A task waiting in the delay queue until its next execution.
+     */
+    private static final class PendingTask implements Delayed {
 
-    @Override
-    protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
-        this.executor.submit(runnable);
-    }
+        final ScheduledTask task;
+        // Since async tasks are always nanotime-based, the next execution
+        // timestamp can be compared against System.nanoTime()
+        private final long executionTime;
 
-    @Override
-    protected void addTask(ScheduledTask task) {
-        this.lock.lock();
-        try {
-            super.addTask(task);
-            this.condition.signalAll();
-        } finally {
-            this.lock.unlock();
+        PendingTask(ScheduledTask task) {
+            this(task, task.nextExecutionTimestamp());
+        }
+
+        PendingTask(ScheduledTask task, long executionTime) {
+            this.task = task;
+            this.executionTime = executionTime;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.executionTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof PendingTask) {
+                return Long.compare(this.executionTime, ((PendingTask) other).executionTime);
+            }
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
         }
     }
 
@@ -54,6 +54,8 @@ public class ScheduledTask implements Task {
     private final TaskSynchronicity syncType;
     private final String stringRepresentation;
     private Timing taskTimer;
+    // Whether the task is due and waiting for its plugin's turn to run
+    boolean queued;
 
     // Internal Task state. Not for user-service use.
     public enum ScheduledTaskState {
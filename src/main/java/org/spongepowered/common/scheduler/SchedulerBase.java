@@ -33,6 +33,7 @@
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -42,6 +43,8 @@ abstract class SchedulerBase {
 
     // The simple queue of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // The statistics of the tasks run by each plugin
+    private final Map<String, TaskMetrics> metrics = Maps.newConcurrentMap();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -92,6 +95,25 @@ protected Optional<Task> getTask(UUID id) {
         return Optional.<Task>ofNullable(this.taskMap.get(id));
     }
 
+    /**
+     * Gets the statistics of the tasks the given plugin ran on this
+     * scheduler.
+     *
+     * @param plugin The plugin
+     * @return The task metrics
+     */
+    protected TaskMetrics getMetrics(PluginContainer plugin) {
+        return this.getMetrics(plugin.getId());
+    }
+
+    protected TaskMetrics getMetrics(String pluginId) {
+        return this.metrics.computeIfAbsent(pluginId, id -> new TaskMetrics());
+    }
+
+    protected Map<String, TaskMetrics> getAllMetrics() {
+        return Collections.unmodifiableMap(this.metrics);
+    }
+
     protected Set<Task> getScheduledTasks() {
         synchronized (this.taskMap) {
             return Sets.<Task>newHashSet(this.taskMap.values());
@@ -176,7 +198,12 @@ protected void processTask(ScheduledTask task) {
      * @param task The task to start
      */
     protected void startTask(final ScheduledTask task) {
+        final TaskMetrics metrics = this.getMetrics(task.getOwner());
+        final long queuedTime = System.nanoTime();
+        metrics.onQueued();
         this.executeTaskRunnable(task, () -> {
+            final long startTime = System.nanoTime();
+            metrics.onStart(startTime - queuedTime);
             task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
             task.getTimingsHandler().startTimingIfSync();
             try {
@@ -186,6 +213,7 @@ protected void startTask(final ScheduledTask task) {
                                              task.getOwner(), t);
             }
             task.getTimingsHandler().stopTimingIfSync();
+            metrics.onFinish(System.nanoTime() - startTime);
         });
     }
 
@@ -38,6 +38,7 @@
 import org.spongepowered.api.util.Functional;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -154,6 +155,30 @@ PluginContainer checkPluginInstance(Object plugin) {
         return optPlugin.get();
     }
 
+    /**
+     * Gets the statistics of the tasks the given plugin ran on the
+     * synchronous or asynchronous scheduler.
+     *
+     * @param plugin The plugin
+     * @param async Whether to get the metrics of the asynchronous scheduler
+     * @return The task metrics
+     */
+    public TaskMetrics getMetrics(PluginContainer plugin, boolean async) {
+        return getDelegate(async ? ScheduledTask.TaskSynchronicity.ASYNCHRONOUS : ScheduledTask.TaskSynchronicity.SYNCHRONOUS)
+                .getMetrics(checkNotNull(plugin, "plugin"));
+    }
+
+    /**
+     * Gets the statistics of the tasks of all plugins which ran tasks on the
+     * synchronous or asynchronous scheduler, keyed by plugin id.
+     *
+     * @param async Whether to get the metrics of the asynchronous scheduler
+     * @return The task metrics by plugin id
+     */
+    public Map<String, TaskMetrics> getAllMetrics(boolean async) {
+        return getDelegate(async ? ScheduledTask.TaskSynchronicity.ASYNCHRONOUS : ScheduledTask.TaskSynchronicity.SYNCHRONOUS).getAllMetrics();
+    }
+
     private SchedulerBase getDelegate(Task task) {
         if (task.isAsynchronous()) {
             return this.asyncScheduler;
@@ -26,6 +26,8 @@
 
 import net.minecraft.world.WorldServer;
 import org.spongepowered.api.event.cause.NamedCause;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.event.InternalNamedCauses;
 import org.spongepowered.common.event.tracking.CauseTracker;
 import org.spongepowered.common.event.tracking.PhaseContext;
@@ -34,10 +36,23 @@
 import org.spongepowered.common.interfaces.world.IMixinWorldServer;
 import org.spongepowered.common.world.WorldManager;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 public class SyncScheduler extends SchedulerBase {
 
     // The number of ticks elapsed since this scheduler began.
     private volatile long counter = 0L;
+    // The due tasks of each plugin, in the order they became due. Tasks
+    // remain here if the tick budget of their plugin was used up.
+    private final Map<String, Deque<ScheduledTask>> dueTasks = new LinkedHashMap<>();
+    // The plugin which runs its tasks first, rotated each tick
+    private int firstPlugin;
 
     SyncScheduler() {
         super(ScheduledTask.TaskSynchronicity.SYNCHRONOUS);
@@ -71,6 +86,70 @@ protected long getTimestamp(ScheduledTask task) {
         return 0L;
     }
 
+    @Override
+    protected void startTask(ScheduledTask task) {
+        // A deferred repeating task may become due again before it ran,
+        // it only runs once in that case
+        if (!task.queued) {
+            task.queued = true;
+            this.dueTasks.computeIfAbsent(task.getOwner().getId(), id -> new ArrayDeque<>()).add(task);
+        }
+    }
+
+    @Override
+    protected void postTick() {
+        if (this.dueTasks.isEmpty()) {
+            return;
+        }
+        final SchedulerCategory config = SpongeImpl.getGlobalConfig().getConfig().getScheduler();
+        final List<Map.Entry<String, Deque<ScheduledTask>>> plugins = new ArrayList<>(this.dueTasks.entrySet());
+        final int size = plugins.size();
+        final long[] budgets = new long[size];
+        final long[] spent = new long[size];
+        for (int i = 0; i < size; i++) {
+            final double budget = config.getSyncPluginTickBudgets().getOrDefault(plugins.get(i).getKey(), config.getSyncTickBudget());
+            budgets[i] = budget > 0 ? (long) (budget * TimeUnit.MILLISECONDS.toNanos(1)) : Long.MAX_VALUE;
+        }
+
+        // Run one task of each plugin in turn, until all tasks ran or all
+        // plugins with remaining tasks used up their budget
+        final int offset = Math.floorMod(this.firstPlugin++, size);
+        boolean ranTask = true;
+        while (ranTask) {
+            ranTask = false;
+            for (int j = 0; j < size; j++) {
+                final int i = (offset + j) % size;
+                if (spent[i] >= budgets[i]) {
+                    continue;
+                }
+                final ScheduledTask task = plugins.get(i).getValue().poll();
+                if (task == null) {
+                    continue;
+                }
+                task.queued = false;
+                if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                    continue;
+                }
+                final long start = System.nanoTime();
+                super.startTask(task);
+                spent[i] += System.nanoTime() - start;
+                ranTask = true;
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            final Map.Entry<String, Deque<ScheduledTask>> entry = plugins.get(i);
+            if (spent[i] > budgets[i]) {
+                this.getMetrics(entry.getKey()).onOverrun();
+            }
+            if (entry.getValue().isEmpty()) {
+                this.dueTasks.remove(entry.getKey());
+            } else {
+                this.getMetrics(entry.getKey()).onDeferred(entry.getValue().size());
+            }
+        }
+    }
+
     @Override
     protected void executeTaskRunnable(ScheduledTask task, Runnable runnable) {
         CauseTracker.getInstance().switchToPhase(PluginPhase.State.SCHEDULED_TASK, PhaseContext.start()
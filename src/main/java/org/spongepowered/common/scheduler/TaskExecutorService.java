@@ -54,6 +54,16 @@ protected TaskExecutorService(Supplier<Task.Builder> taskBuilderProvider, Schedu
         this.plugin = plugin;
     }
 
+    /**
+     * Gets the statistics of the tasks the owning plugin ran on the
+     * scheduler backing this executor.
+     *
+     * @return The task metrics
+     */
+    public TaskMetrics getMetrics() {
+        return this.scheduler.getMetrics(this.plugin);
+    }
+
     @Override
     public void shutdown() {
         // Since this class is delegating its work to SchedulerService
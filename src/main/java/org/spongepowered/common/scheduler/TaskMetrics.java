@@ -0,0 +1,188 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics about the tasks a single plugin executes on one of
+ * the schedulers.
+ */
+public final class TaskMetrics {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Histogram latency = new Histogram();
+    private final Histogram runTime = new Histogram();
+    private final LongAdder overruns = new LongAdder();
+    private final LongAdder deferrals = new LongAdder();
+
+    void onQueued() {
+        this.queueDepth.incrementAndGet();
+    }
+
+    void onStart(long latencyNanos) {
+        this.queueDepth.decrementAndGet();
+        this.latency.record(latencyNanos);
+    }
+
+    void onFinish(long runTimeNanos) {
+        this.runTime.record(runTimeNanos);
+    }
+
+    void onOverrun() {
+        this.overruns.increment();
+    }
+
+    void onDeferred(int tasks) {
+        this.deferrals.add(tasks);
+    }
+
+    /**
+     * Gets the amount of ticks in which the tasks of the plugin exceeded
+     * their tick budget.
+     *
+     * @return The overrun count
+     */
+    public long getOverruns() {
+        return this.overruns.sum();
+    }
+
+    /**
+     * Gets the amount of times a due task was deferred to the next tick
+     * because the tick budget of the plugin was used up.
+     *
+     * @return The deferral count
+     */
+    public long getDeferrals() {
+        return this.deferrals.sum();
+    }
+
+    /**
+     * Gets the amount of tasks that were handed to the executor but did not
+     * start to run yet.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+
+    /**
+     * Gets the histogram of the time between a task being due and the task
+     * starting to run.
+     *
+     * @return The latency histogram
+     */
+    public Histogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Gets the histogram of the time tasks took to run.
+     *
+     * @return The run time histogram
+     */
+    public Histogram getRunTime() {
+        return this.runTime;
+    }
+
+    /**
+     * A lock free histogram with power of two buckets in microseconds.
+     */
+    public static final class Histogram {
+
+        private static final int BUCKETS = 32;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        void record(long nanos) {
+            final long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+            final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            this.buckets.incrementAndGet(bucket);
+            this.count.increment();
+            this.total.add(nanos);
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * Gets the average of all recorded values.
+         *
+         * @param unit The unit of the result
+         * @return The average
+         */
+        public double getMean(TimeUnit unit) {
+            final long count = this.count.sum();
+            return count == 0 ? 0 : (double) unit.convert(this.total.sum(), TimeUnit.NANOSECONDS) / count;
+        }
+
+        /**
+         * Gets the upper bound of the bucket which contains the given
+         * percentile of the recorded values.
+         *
+         * @param percentile The percentile, between 0 and 1
+         * @param unit The unit of the result
+         * @return The upper bound of the percentile
+         */
+        public long getPercentile(double percentile, TimeUnit unit) {
+            final long[] counts = getBuckets();
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            final long target = (long) Math.ceil(count * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target && seen > 0) {
+                    return unit.convert(1L << i, TimeUnit.MICROSECONDS);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Gets a copy of the bucket counts. Bucket {@code i} contains the
+         * values less than {@code 2^i} microseconds.
+         *
+         * @return The bucket counts
+         */
+        public long[] getBuckets() {
+            final long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = this.buckets.get(i);
+            }
+            return counts;
+        }
+    }
+
+}
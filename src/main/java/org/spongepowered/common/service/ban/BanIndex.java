@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.ban;
+
+import net.minecraft.server.management.UserList;
+import net.minecraft.server.management.UserListBans;
+import net.minecraft.server.management.UserListEntry;
+import net.minecraft.server.management.UserListIPBans;
+import org.spongepowered.api.util.ban.Ban;
+import org.spongepowered.api.util.ban.BanTypes;
+import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetTrie;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index over the vanilla ban lists used by {@link SpongeBanService}.
+ *
+ * <p>Profile bans are indexed by unique id and ip bans by address, so
+ * lookups don't have to build the string keys of the vanilla lists.
+ * Temporary bans are queued by their expiration date, which allows them
+ * to be removed once they expire instead of scanning the lists for
+ * expired bans on every query.</p>
+ *
+ * <p>Changes made to the lists without going through the ban service,
+ * such as reloading them from disk, are detected by the lists changing
+ * in size, in which case the index is rebuilt.</p>
+ */
+final class BanIndex {
+
+    private final Map<UUID, Ban.Profile> profileBans = new HashMap<>();
+    private final IpSetTrie<Ban.Ip> ipBans = new IpSetTrie<>();
+    private final PriorityQueue<Ban> expirations = new PriorityQueue<>(Comparator.comparing(ban -> ban.getExpirationDate().get()));
+
+    @Nullable private UserListBans profileList;
+    @Nullable private UserListIPBans ipList;
+    private int profileCount;
+    private int ipCount;
+
+    /**
+     * Brings the index up to date with the given lists and removes all bans
+     * which have expired from both the index and the lists.
+     *
+     * @param profileList The profile ban list
+     * @param ipList The ip ban list
+     */
+    synchronized void update(UserListBans profileList, UserListIPBans ipList) {
+        if (this.profileList != profileList || this.ipList != ipList
+                || this.profileCount != profileList.getValues().size() || this.ipCount != ipList.getValues().size()) {
+            this.rebuild(profileList, ipList);
+        }
+
+        final Instant now = Instant.now();
+        Ban ban;
+        while ((ban = this.expirations.peek()) != null && ban.getExpirationDate().get().isBefore(now)) {
+            this.expirations.poll();
+            if (ban.getType().equals(BanTypes.PROFILE)) {
+                if (removeFromList(profileList, ban)) {
+                    this.profileBans.remove(((Ban.Profile) ban).getProfile().getUniqueId(), ban);
+                }
+            } else if (removeFromList(ipList, ban)) {
+                final IpSet set = IpSet.fromAddress(((Ban.Ip) ban).getAddress());
+                if (this.ipBans.getExact(set) == ban) {
+                    this.ipBans.remove(set);
+                }
+            }
+        }
+        this.profileCount = profileList.getValues().size();
+        this.ipCount = ipList.getValues().size();
+    }
+
+    private void rebuild(UserListBans profileList, UserListIPBans ipList) {
+        this.profileList = profileList;
+        this.ipList = ipList;
+        this.profileBans.clear();
+        this.ipBans.clear();
+        this.expirations.clear();
+        for (Object entry : profileList.getValues().values()) {
+            this.add((Ban) entry);
+        }
+        for (Object entry : ipList.getValues().values()) {
+            this.add((Ban) entry);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static boolean removeFromList(UserList list, Ban ban) {
+        // Only remove the entry if it wasn't replaced or pardoned in the meantime
+        return list.getValues().remove(list.getObjectKey(((UserListEntry) ban).getValue()), ban);
+    }
+
+    synchronized Optional<Ban.Profile> getBan(UUID uniqueId) {
+        return Optional.ofNullable(this.profileBans.get(uniqueId));
+    }
+
+    synchronized Optional<Ban.Ip> getBan(InetAddress address) {
+        return Optional.ofNullable(this.ipBans.getExact(IpSet.fromAddress(address)));
+    }
+
+    /**
+     * Adds a ban which has been added to its list.
+     *
+     * @param ban The ban
+     */
+    synchronized void add(Ban ban) {
+        if (ban.getType().equals(BanTypes.PROFILE)) {
+            this.profileBans.put(((Ban.Profile) ban).getProfile().getUniqueId(), (Ban.Profile) ban);
+        } else if (ban.getType().equals(BanTypes.IP)) {
+            this.ipBans.put(IpSet.fromAddress(((Ban.Ip) ban).getAddress()), (Ban.Ip) ban);
+        } else {
+            return;
+        }
+        if (ban.getExpirationDate().isPresent()) {
+            this.expirations.add(ban);
+        }
+        this.recount();
+    }
+
+    /**
+     * Removes the ban of a profile which has been removed from its list.
+     *
+     * @param uniqueId The unique id of the profile
+     */
+    synchronized void remove(UUID uniqueId) {
+        // Pardoned bans are skipped once they reach the head of the expiration queue
+        this.profileBans.remove(uniqueId);
+        this.recount();
+    }
+
+    /**
+     * Removes the ban of an address which has been removed from its list.
+     *
+     * @param address The address
+     */
+    synchronized void remove(InetAddress address) {
+        this.ipBans.remove(IpSet.fromAddress(address));
+        this.recount();
+    }
+
+    private void recount() {
+        if (this.profileList != null && this.ipList != null) {
+            this.profileCount = this.profileList.getValues().size();
+            this.ipCount = this.ipList.getValues().size();
+        }
+    }
+}
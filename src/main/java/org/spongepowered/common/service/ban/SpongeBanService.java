@@ -37,6 +37,7 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.net.InetAddress;
@@ -57,6 +58,8 @@
  */
 public class SpongeBanService implements BanService {
 
+    private final BanIndex index = new BanIndex();
+
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban> getBans() {
@@ -69,54 +72,43 @@ public Collection<Ban> getBans() {
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Profile> getProfileBans() {
-        this.getUserBanList().removeExpired();
+        this.updateIndex();
         return new ArrayList<>((Collection<Ban.Profile>) (Object) this.getUserBanList().getValues().values());
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Ip> getIpBans() {
-        this.getIPBanList().removeExpired();
+        this.updateIndex();
         return new ArrayList<>((Collection<Ban.Ip>) (Object) this.getIPBanList().getValues().values());
     }
 
     @Override
     public Optional<Ban.Profile> getBanFor(GameProfile profile) {
-        UserListBans bans = this.getUserBanList();
-
-        bans.removeExpired();
-        return Optional.ofNullable((Ban.Profile) bans.getValues().get(bans.getObjectKey((com.mojang.authlib.GameProfile) profile)));
+        return this.updateIndex().getBan(profile.getUniqueId());
     }
 
     @Override
     public Optional<Ban.Ip> getBanFor(InetAddress address) {
-        UserListIPBans bans = this.getIPBanList();
-
-        bans.removeExpired();
-        return Optional.ofNullable((Ban.Ip) bans.getValues().get(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0)))));
+        return this.updateIndex().getBan(address);
     }
 
     @Override
     public boolean isBanned(GameProfile profile) {
-        UserListBans bans = this.getUserBanList();
-
-        bans.removeExpired();
-        return bans.values.containsKey(bans.getObjectKey((com.mojang.authlib.GameProfile) profile));
+        return this.getBanFor(profile).isPresent();
     }
 
     @Override
     public boolean isBanned(InetAddress address) {
-        UserListIPBans bans = this.getIPBanList();
-
-        bans.removeExpired();
-        return bans.getValues().containsKey(bans.getObjectKey(bans.addressToString(new InetSocketAddress(address, 0))));
+        return this.getBanFor(address).isPresent();
     }
 
     @Override
     public boolean pardon(GameProfile profile) {
-        this.getUserBanList().removeExpired();
         boolean hadBan = this.isBanned(profile);
         UserListUtils.removeEntry(this.getUserBanList(), profile);
+        this.index.remove(profile.getUniqueId());
+        UserIndex.onUnlisted((com.mojang.authlib.GameProfile) profile);
         return hadBan;
     }
 
@@ -124,10 +116,10 @@ public boolean pardon(GameProfile profile) {
     public boolean pardon(InetAddress address) {
         UserListIPBans banList = this.getIPBanList();
 
-        banList.removeExpired();
         InetSocketAddress inetSocketAddress = new InetSocketAddress(address, 0);
         boolean hadBan = this.isBanned(address);
         UserListUtils.removeEntry(banList, banList.addressToString(inetSocketAddress));
+        this.index.remove(address);
         return hadBan;
     }
 
@@ -152,12 +144,15 @@ public Optional<? extends Ban> addBan(Ban ban) {
             Sponge.getEventManager().post(SpongeEventFactory.createBanUserEvent(Cause.source(this).build(), (Ban.Profile) ban, user));
 
             UserListUtils.addEntry(this.getUserBanList(), (UserListEntry) ban);
+            this.index.add(ban);
+            UserIndex.onListed((com.mojang.authlib.GameProfile) ((Ban.Profile) ban).getProfile());
         } else if (ban.getType().equals(BanTypes.IP)) {
             prevBan = this.getBanFor(((Ban.Ip) ban).getAddress());
 
             Sponge.getEventManager().post(SpongeEventFactory.createBanIpEvent(Cause.source(this).build(), (Ban.Ip) ban));
 
             UserListUtils.addEntry(this.getIPBanList(), (UserListEntry) ban);
+            this.index.add(ban);
         } else {
             throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
         }
@@ -174,6 +169,11 @@ public boolean hasBan(Ban ban) {
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
     }
 
+    private BanIndex updateIndex() {
+        this.index.update(this.getUserBanList(), this.getIPBanList());
+        return this.index;
+    }
+
     private UserListBans getUserBanList() {
         return SpongeImpl.getServer().getPlayerList().getBannedPlayers();
     }
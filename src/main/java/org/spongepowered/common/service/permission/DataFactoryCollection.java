@@ -103,8 +103,14 @@ public MemorySubjectData getSubjectData() {
         }
 
         @Override
-        public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-            Tristate ret = super.getPermissionValue(contexts, permission);
+        protected boolean canCachePermissions() {
+            return super.canCachePermissions() && isCacheable(DataFactoryCollection.this.getDefaults().getTransientSubjectData())
+                    && isCacheable(DataFactoryCollection.this.service.getDefaults().getTransientSubjectData());
+        }
+
+        @Override
+        protected Tristate resolvePermissionValue(String permission) {
+            Tristate ret = super.resolvePermissionValue(permission);
 
             if (ret == Tristate.UNDEFINED) {
                 ret = getDataPermissionValue(DataFactoryCollection.this.getDefaults().getTransientSubjectData(), permission);
@@ -119,8 +119,25 @@ public MemorySubjectData getSubjectData() {
     }
 
     @Override
-    public Tristate getPermissionValue(Set<Context> contexts, String permission) {
-        Tristate ret = super.getPermissionValue(contexts, permission);
+    protected int getPermissionStamp() {
+        // The op level is stored in the server ops list, not in the subject data
+        return getOpLevel();
+    }
+
+    @Override
+    protected boolean isStableParent() {
+        return false;
+    }
+
+    @Override
+    protected boolean canCachePermissions() {
+        return super.canCachePermissions() && isCacheable(this.collection.getDefaults().getSubjectData())
+                && isCacheable(this.collection.getService().getDefaults().getSubjectData());
+    }
+
+    @Override
+    protected Tristate resolvePermissionValue(String permission) {
+        Tristate ret = super.resolvePermissionValue(permission);
         if (ret == Tristate.UNDEFINED) {
             ret = getDataPermissionValue(this.collection.getDefaults().getSubjectData(), permission);
         }
@@ -34,9 +34,38 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GlobalMemorySubjectData extends MemorySubjectData {
 
+    // Incremented whenever the permissions or parents of any subject change, see SpongeSubject#getPermissionValue
+    private static final AtomicInteger version = new AtomicInteger();
+
+    /**
+     * Gets the version of all global memory subject data, which changes
+     * whenever the permissions or parents of any subject change.
+     *
+     * @return The current version
+     */
+    public static int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Marks the data of a subject as changed, invalidating the cached
+     * permissions of all subjects.
+     */
+    protected static void onChanged() {
+        version.incrementAndGet();
+    }
+
+    private static boolean onChanged(boolean changed) {
+        if (changed) {
+            onChanged();
+        }
+        return changed;
+    }
+
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
      *
@@ -57,7 +86,7 @@ public boolean setPermission(Set<Context> contexts, String permission, Tristate
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.setPermission(contexts, permission, value);
+        return onChanged(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -65,7 +94,7 @@ public boolean clearPermissions(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearPermissions(contexts);
+        return onChanged(super.clearPermissions(contexts));
     }
 
     @Override
@@ -73,7 +102,7 @@ public boolean addParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.addParent(contexts, parent);
+        return onChanged(super.addParent(contexts, parent));
     }
 
     @Override
@@ -81,7 +110,7 @@ public boolean removeParent(Set<Context> contexts, Subject parent) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.removeParent(contexts, parent);
+        return onChanged(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -89,6 +118,16 @@ public boolean clearParents(Set<Context> contexts) {
         if (!GLOBAL_CONTEXT.equals(contexts)) {
             return false;
         }
-        return super.clearParents(contexts);
+        return onChanged(super.clearParents(contexts));
+    }
+
+    @Override
+    public boolean clearPermissions() {
+        return onChanged(super.clearPermissions());
+    }
+
+    @Override
+    public boolean clearParents() {
+        return onChanged(super.clearParents());
     }
 }
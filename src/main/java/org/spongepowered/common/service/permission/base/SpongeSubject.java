@@ -31,11 +31,17 @@
 import org.spongepowered.api.util.Tristate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class SpongeSubject implements Subject {
 
+    private static final int MAX_CACHED_PERMISSIONS = 1024;
+
+    private volatile PermissionCache permissionCache = new PermissionCache(-1, 0);
+
     @Override
     public MemorySubjectData getTransientSubjectData() {
         return getSubjectData();
@@ -51,9 +57,86 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        final int version = GlobalMemorySubjectData.getVersion();
+        final int stamp = getPermissionStamp();
+        PermissionCache cache = this.permissionCache;
+        if (cache.version != version || cache.stamp != stamp) {
+            cache = new PermissionCache(version, stamp);
+            this.permissionCache = cache;
+        }
+        Tristate res = cache.values.get(permission);
+        if (res == null) {
+            res = resolvePermissionValue(permission);
+            if (canCachePermissions()) {
+                if (cache.values.size() >= MAX_CACHED_PERMISSIONS) {
+                    cache.values.clear();
+                }
+                cache.values.put(permission, res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Resolves the value of a permission without consulting the cache
+     * of previously resolved values.
+     *
+     * @param permission The permission to resolve
+     * @return The resolved value
+     */
+    protected Tristate resolvePermissionValue(String permission) {
         return getDataPermissionValue(getSubjectData(), permission);
     }
 
+    /**
+     * Gets a stamp for any state outside of the subject data that
+     * influences the permissions of this subject. Cached permission
+     * values are discarded when the stamp changes.
+     *
+     * @return The stamp
+     */
+    protected int getPermissionStamp() {
+        return 0;
+    }
+
+    /**
+     * Gets whether subjects that inherit from this subject may cache
+     * permissions resolved through it, which is only the case if all
+     * state it depends on is covered by {@link GlobalMemorySubjectData}.
+     *
+     * @return Whether this subject is a stable parent
+     */
+    protected boolean isStableParent() {
+        return getPermissionStamp() == 0;
+    }
+
+    /**
+     * Gets whether the resolved permissions of this subject may be cached,
+     * which requires every change to the data they are resolved from to be
+     * tracked by {@link GlobalMemorySubjectData#getVersion()}.
+     *
+     * @return Whether permissions may be cached
+     */
+    protected boolean canCachePermissions() {
+        return isCacheable(getSubjectData());
+    }
+
+    protected static boolean isCacheable(MemorySubjectData data) {
+        if (!(data instanceof GlobalMemorySubjectData)) {
+            return false;
+        }
+        for (Subject parent : data.getParents(SubjectData.GLOBAL_CONTEXT)) {
+            if (!(parent instanceof SpongeSubject)) {
+                return false;
+            }
+            final SpongeSubject subject = (SpongeSubject) parent;
+            if (!subject.isStableParent() || !subject.canCachePermissions()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
         Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
@@ -103,4 +186,16 @@ public Optional<String> getOption(Set<Context> contexts, String key) {
     public Set<Context> getActiveContexts() {
         return SubjectData.GLOBAL_CONTEXT;
     }
+
+    private static final class PermissionCache {
+
+        final int version;
+        final int stamp;
+        final Map<String, Tristate> values = new ConcurrentHashMap<>();
+
+        PermissionCache(int version, int stamp) {
+            this.version = version;
+            this.stamp = stamp;
+        }
+    }
 }
@@ -28,7 +28,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import com.google.common.collect.Sets;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
@@ -101,14 +100,7 @@ public boolean delete(User user) {
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
         lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
-        Collection<GameProfile> matching = Sets.newHashSet();
-        for (GameProfile profile : allProfiles) {
-            if (profile.getName().isPresent() && profile.getName().get().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+        return UserDiscoverer.matchProfiles(lastKnownName);
     }
 
 }
@@ -116,6 +116,12 @@ static User findByUsername(String username) {
             }
         }
 
+        // check user index
+        final Optional<UUID> indexed = UserIndex.getUniqueId(username);
+        if (indexed.isPresent()) {
+            return findByProfile((org.spongepowered.api.profile.GameProfile) new GameProfile(indexed.get(), username));
+        }
+
         // check username cache
         final UUID uuid = SpongeUsernameCache.getLastKnownUUID(username);
         if (uuid != null) {
@@ -132,41 +138,26 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         // Add all cached profiles
         profiles.addAll(userCache.asMap().values().stream().map(User::getProfile).collect(Collectors.toList()));
 
-        // Add all known profiles from the data files
-        SaveHandler saveHandler = (SaveHandler) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
-        String[] uuids = saveHandler.getAvailablePlayerDat();
-        for (String playerUuid : uuids) {
+        // Add all known profiles from the index
+        profiles.addAll(UserIndex.getProfiles());
 
-            // If the filename contains a period, we can fail fast. Vanilla code fixes the Strings that have ".dat" to strip that out
-            // before passing that back in getAvailablePlayerDat. It doesn't remove non ".dat" filenames from the list.
-            if (playerUuid.contains(".")) {
-                continue;
-            }
+        return profiles;
+    }
 
-            // At this point, we have a filename who has no extension. This doesn't mean it is actually a UUID. We trap the exception and ignore
-            // any filenames that fail the UUID check.
-            UUID uuid;
-            try {
-                uuid = UUID.fromString(playerUuid);
-            } catch (Exception ex) {
-                continue;
-            }
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(String lowerCasePrefix) {
+        Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
+        Set<org.spongepowered.api.profile.GameProfile> profiles = Sets.newHashSet();
 
-            final GameProfile profile = SpongeImpl.getServer().getPlayerProfileCache().getProfileByUUID(uuid);
-            if (profile != null) {
-                profiles.add((org.spongepowered.api.profile.GameProfile) profile);
+        // Add all cached profiles with a matching name
+        for (User user : userCache.asMap().values()) {
+            final org.spongepowered.api.profile.GameProfile profile = user.getProfile();
+            if (profile.getName().isPresent() && profile.getName().get().toLowerCase(Locale.ROOT).startsWith(lowerCasePrefix)) {
+                profiles.add(profile);
             }
         }
 
-        // Add all whitelisted users
-        final UserListWhitelist whiteList = SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers();
-        profiles.addAll(whiteList.getValues().values().stream().map(entry -> (org.spongepowered.api.profile.GameProfile) entry.value)
-                .collect(Collectors.toList()));
-
-        // Add all banned users
-        final UserListBans banList = SpongeImpl.getServer().getPlayerList().getBannedPlayers();
-        profiles.addAll(banList.getValues().values().stream().filter(entry -> entry != null).map(entry -> (org.spongepowered.api.profile.GameProfile)
-                entry.value).collect(Collectors.toList()));
+        // Add all known profiles with a matching name from the index
+        profiles.addAll(UserIndex.match(lowerCasePrefix));
 
         return profiles;
     }
@@ -179,6 +170,9 @@ static boolean delete(UUID uniqueId) {
         boolean success = deleteStoredPlayerData(uniqueId);
         success = success && deleteWhitelistEntry(uniqueId);
         success = success && deleteBanlistEntry(uniqueId);
+        if (success) {
+            UserIndex.remove(uniqueId);
+        }
         return success;
     }
 
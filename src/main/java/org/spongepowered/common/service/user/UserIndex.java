@@ -0,0 +1,672 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import com.google.common.base.Charsets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.server.management.PlayerProfileCache;
+import net.minecraft.server.management.UserListEntryBan;
+import net.minecraft.server.management.UserListWhitelistEntry;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.SaveHandler;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.service.ban.BanService;
+import org.spongepowered.api.service.whitelist.WhitelistService;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.AppendLogUtil;
+import org.spongepowered.common.util.SpongeUsernameCache;
+import org.spongepowered.common.world.WorldManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * A persistent index of every user known to the server.
+ *
+ * <p>The index is built from the player data directory, the whitelist and
+ * the ban list, and is afterwards kept up to date as players log in and out
+ * and as profiles are whitelisted or banned. Profiles are additionally
+ * indexed by their lower case name so prefix matching only has to visit the
+ * matching range instead of every known user.</p>
+ *
+ * <p>Changes are appended to a log file next to the index file, which is only
+ * rewritten once the log has grown large. Both are written off the main
+ * thread. Every log starts with the generation of the index file it applies
+ * to, so a log left behind by an interrupted rewrite is never replayed onto
+ * the newer index file.</p>
+ *
+ * <p>Player data files can be copied in or deleted without going through
+ * the server, so once the index is loaded the player data directory is
+ * scanned off the main thread and the index is reconciled with it and with
+ * the lists. Until then, lookups only see the saved index and the changes
+ * made since.</p>
+ */
+public final class UserIndex {
+
+    private static final File saveFile = new File(".", "userindex.json");
+    private static final File logFile = new File(".", "userindex.json.log");
+    private static final int MIN_COMPACTION_LOG_SIZE = 1024;
+    private static final Gson gson = new Gson();
+
+    private static final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private static final NavigableMap<String, Set<UUID>> byName = new ConcurrentSkipListMap<>();
+
+    // Log records of the changes made since the last save, in order
+    private static final Queue<String> changes = new ConcurrentLinkedQueue<>();
+    private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - User Index Writer").build());
+
+    // Only accessed from the writer thread, or while loading
+    private static long generation = 0;
+    private static int logSize = 0;
+
+    private static volatile boolean loaded = false;
+    private static volatile boolean reconcileScheduled = false;
+    // Users changed while the player data directory is scanned, the scan may predate their data file
+    @Nullable private static Set<UUID> changedDuringScan;
+    private static volatile boolean compactionRequested = false;
+
+    static {
+        // Don't keep an idle writer thread around, it would keep the JVM alive
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    private UserIndex() {
+    }
+
+    /**
+     * Gets the profiles of all indexed users that have a known name.
+     *
+     * @return The profiles
+     */
+    static Collection<org.spongepowered.api.profile.GameProfile> getProfiles() {
+        ensureLoaded();
+        final List<org.spongepowered.api.profile.GameProfile> profiles = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            if (entry.name != null) {
+                profiles.add(entry.getProfile());
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Gets the profiles of all indexed users whose last known name starts
+     * with the given lower case prefix.
+     *
+     * @param prefix The lower case name prefix
+     * @return The matching profiles
+     */
+    static Collection<org.spongepowered.api.profile.GameProfile> match(String prefix) {
+        ensureLoaded();
+        final Collection<Set<UUID>> matches = prefix.isEmpty() ? byName.values()
+                : byName.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        final List<org.spongepowered.api.profile.GameProfile> profiles = new ArrayList<>();
+        for (Set<UUID> uniqueIds : matches) {
+            for (UUID uniqueId : uniqueIds) {
+                final Entry entry = entries.get(uniqueId);
+                if (entry != null && entry.name != null) {
+                    profiles.add(entry.getProfile());
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Gets the unique id of the most recently seen user with the given last
+     * known name.
+     *
+     * @param name The name, case insensitive
+     * @return The unique id, if indexed
+     */
+    static Optional<UUID> getUniqueId(String name) {
+        ensureLoaded();
+        final Set<UUID> uniqueIds = byName.get(name.toLowerCase(Locale.ROOT));
+        if (uniqueIds == null) {
+            return Optional.empty();
+        }
+        Entry latest = null;
+        for (UUID uniqueId : uniqueIds) {
+            final Entry entry = entries.get(uniqueId);
+            if (entry != null && (latest == null || entry.lastSeen > latest.lastSeen)) {
+                latest = entry;
+            }
+        }
+        return latest == null ? Optional.empty() : Optional.of(latest.uniqueId);
+    }
+
+    /**
+     * Records a player logging in.
+     *
+     * @param profile The player's profile
+     */
+    public static void onLogin(GameProfile profile) {
+        update(profile, false, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a player logging out, after which their data file exists.
+     *
+     * @param profile The player's profile
+     */
+    public static void onLogout(GameProfile profile) {
+        update(profile, true, System.currentTimeMillis());
+    }
+
+    /**
+     * Records the data file of an offline user being written.
+     *
+     * @param profile The user's profile
+     */
+    public static void onDataSaved(GameProfile profile) {
+        update(profile, true, 0L);
+    }
+
+    /**
+     * Records a profile being added to the whitelist or ban list.
+     *
+     * @param profile The profile
+     */
+    public static void onListed(GameProfile profile) {
+        update(profile, false, 0L);
+    }
+
+    /**
+     * Records a profile being removed from the whitelist or ban list. The
+     * user is only dropped from the index if nothing else makes them known.
+     *
+     * @param profile The profile
+     */
+    public static synchronized void onUnlisted(GameProfile profile) {
+        if (profile.getId() == null) {
+            return;
+        }
+        ensureLoaded();
+        final Entry entry = entries.get(profile.getId());
+        if (entry == null || entry.dataFile || entry.lastSeen != 0L) {
+            return;
+        }
+        final org.spongepowered.api.profile.GameProfile spongeProfile = (org.spongepowered.api.profile.GameProfile) profile;
+        if (Sponge.getServiceManager().provideUnchecked(WhitelistService.class).isWhitelisted(spongeProfile)
+                || Sponge.getServiceManager().provideUnchecked(BanService.class).isBanned(spongeProfile)) {
+            return;
+        }
+        remove(profile.getId());
+    }
+
+    /**
+     * Removes a user from the index.
+     *
+     * @param uniqueId The user's unique id
+     */
+    static synchronized void remove(UUID uniqueId) {
+        ensureLoaded();
+        final Entry entry = entries.remove(uniqueId);
+        if (entry != null) {
+            unindexName(entry);
+            changes.add(Entry.removalRecord(uniqueId));
+        }
+    }
+
+    private static synchronized void update(GameProfile profile, boolean dataFile, long lastSeen) {
+        if (profile.getId() == null) {
+            return;
+        }
+        ensureLoaded();
+        Entry entry = entries.get(profile.getId());
+        if (entry == null) {
+            entry = new Entry(profile.getId());
+            entries.put(entry.uniqueId, entry);
+        }
+        setName(entry, profile.getName());
+        if (changedDuringScan != null) {
+            changedDuringScan.add(entry.uniqueId);
+        }
+        entry.dataFile |= dataFile;
+        entry.lastSeen = Math.max(entry.lastSeen, lastSeen);
+        changes.add(entry.toRecord());
+    }
+
+    private static void setName(Entry entry, @Nullable String name) {
+        if (name == null || name.isEmpty() || name.equals(entry.name)) {
+            return;
+        }
+        unindexName(entry);
+        entry.name = name;
+        entry.profile = null;
+        indexName(entry);
+    }
+
+    private static void indexName(Entry entry) {
+        if (entry.name != null) {
+            byName.computeIfAbsent(entry.name.toLowerCase(Locale.ROOT), k -> ConcurrentHashMap.newKeySet()).add(entry.uniqueId);
+        }
+    }
+
+    private static void unindexName(Entry entry) {
+        if (entry.name != null) {
+            byName.computeIfPresent(entry.name.toLowerCase(Locale.ROOT), (k, uniqueIds) -> {
+                uniqueIds.remove(entry.uniqueId);
+                return uniqueIds.isEmpty() ? null : uniqueIds;
+            });
+        }
+    }
+
+    private static void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        // Wait for any pending write, the log is replayed below
+        waitForWriter();
+        readIndex();
+        readLog();
+        entries.values().forEach(UserIndex::indexName);
+        loaded = true;
+        scheduleReconcile();
+    }
+
+    private static void waitForWriter() {
+        final Future<?> future = writer.submit(() -> { });
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            SpongeImpl.getLogger().error("Failed to wait for the user index writer", e);
+        }
+    }
+
+    private static void readIndex() {
+        if (!saveFile.exists()) {
+            return;
+        }
+        try (Reader in = Files.newBufferedReader(saveFile.toPath(), Charsets.UTF_8)) {
+            final SavedIndex saved = gson.fromJson(in, SavedIndex.class);
+            if (saved != null && saved.entries != null) {
+                generation = saved.generation;
+                for (Entry entry : saved.entries) {
+                    if (entry != null && entry.uniqueId != null) {
+                        entries.merge(entry.uniqueId, entry, UserIndex::mergeEntries);
+                    }
+                }
+            }
+        } catch (JsonParseException e) {
+            SpongeImpl.getLogger().error("Could not parse user index file as valid json, rebuilding it", e);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read user index file from disk, rebuilding it", e);
+        }
+    }
+
+    private static void readLog() {
+        logSize = 0;
+        if (!logFile.exists()) {
+            return;
+        }
+        try {
+            final List<String> records = AppendLogUtil.readLines(logFile.toPath(), Charsets.UTF_8);
+            if (records.isEmpty() || !records.get(0).equals(getLogHeader())) {
+                // The log of an older index file which was replaced before the log could be deleted
+                SpongeImpl.getLogger().info("Discarding outdated user index log");
+                Files.delete(logFile.toPath());
+                return;
+            }
+            for (String record : records.subList(1, records.size())) {
+                if (!replay(record)) {
+                    SpongeImpl.getLogger().warn("Skipping malformed user index log record: {}", record);
+                }
+                logSize++;
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to read user index log from disk", e);
+        }
+    }
+
+    private static String getLogHeader() {
+        return "# " + generation;
+    }
+
+    private static boolean replay(String record) {
+        final String[] parts = record.split(" ", 5);
+        try {
+            if (parts.length == 2 && parts[0].equals("-")) {
+                entries.remove(UUID.fromString(parts[1]));
+                return true;
+            } else if (parts.length == 5 && parts[0].equals("+")) {
+                final Entry entry = entries.computeIfAbsent(UUID.fromString(parts[1]), Entry::new);
+                entry.dataFile = parts[2].equals("1");
+                entry.lastSeen = Long.parseLong(parts[3]);
+                if (!parts[4].isEmpty()) {
+                    entry.name = parts[4];
+                    entry.profile = null;
+                }
+                return true;
+            }
+        } catch (IllegalArgumentException e) {
+            // Covers malformed unique ids and numbers
+        }
+        return false;
+    }
+
+    private static Entry mergeEntries(Entry current, Entry saved) {
+        // Changes recorded before the index was loaded are newer than the saved ones
+        if (current.name == null) {
+            current.name = saved.name;
+        }
+        current.dataFile |= saved.dataFile;
+        current.lastSeen = Math.max(current.lastSeen, saved.lastSeen);
+        return current;
+    }
+
+    /**
+     * Schedules the index to be reconciled with the player data directory,
+     * the whitelist and the ban list, if it hasn't been yet. The directory
+     * is scanned off the main thread.
+     */
+    private static synchronized void scheduleReconcile() {
+        if (reconcileScheduled) {
+            return;
+        }
+        // The player data lives in the overworld, which may not be registered yet
+        final Optional<WorldServer> overworld = WorldManager.getWorldByDimensionId(0);
+        if (!overworld.isPresent() || !Sponge.isServerAvailable()) {
+            return;
+        }
+        reconcileScheduled = true;
+        changedDuringScan = new HashSet<>();
+        final SaveHandler saveHandler = (SaveHandler) overworld.get().getSaveHandler();
+        writer.execute(() -> {
+            final Map<UUID, Long> dataFiles = scanPlayerData(saveHandler);
+            // The lists and the online players may only be accessed on the main thread
+            SpongeImpl.getServer().addScheduledTask(() -> reconcile(dataFiles));
+        });
+    }
+
+    /**
+     * Lists the player data files of the server.
+     *
+     * @param saveHandler The save handler of the overworld
+     * @return The last modification time of each data file, by unique id
+     */
+    private static Map<UUID, Long> scanPlayerData(SaveHandler saveHandler) {
+        final Map<UUID, Long> dataFiles = new HashMap<>();
+        for (String playerUuid : saveHandler.getAvailablePlayerDat()) {
+            // Vanilla strips ".dat" from the filenames but doesn't remove other files from the list
+            if (playerUuid.contains(".")) {
+                continue;
+            }
+
+            final UUID uuid;
+            try {
+                uuid = UUID.fromString(playerUuid);
+            } catch (Exception ex) {
+                continue;
+            }
+
+            dataFiles.put(uuid, new File(saveHandler.playersDirectory, playerUuid + ".dat").lastModified());
+        }
+        return dataFiles;
+    }
+
+    /**
+     * Adds the users of the player data directory, the whitelist and the ban
+     * list to the index, and drops users whose player data file was removed
+     * and who are no longer listed.
+     *
+     * @param dataFiles The scanned player data files
+     */
+    private static synchronized void reconcile(Map<UUID, Long> dataFiles) {
+        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+        final Set<UUID> known = new HashSet<>(dataFiles.keySet());
+        for (Map.Entry<UUID, Long> dataFile : dataFiles.entrySet()) {
+            final Entry entry = getOrCreate(dataFile.getKey());
+            if (entry.name == null) {
+                final GameProfile profile = profileCache.getProfileByUUID(entry.uniqueId);
+                setName(entry, profile != null ? profile.getName() : SpongeUsernameCache.getLastKnownUsername(entry.uniqueId));
+            }
+            entry.dataFile = true;
+            entry.lastSeen = Math.max(entry.lastSeen, dataFile.getValue());
+        }
+
+        for (UserListWhitelistEntry whitelisted : SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers().getValues().values()) {
+            addListed(whitelisted.value, known);
+        }
+        for (UserListEntryBan<GameProfile> banned : SpongeImpl.getServer().getPlayerList().getBannedPlayers().getValues().values()) {
+            if (banned != null) {
+                addListed(banned.value, known);
+            }
+        }
+
+        int removed = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            final Entry entry = it.next();
+            if (dataFiles.containsKey(entry.uniqueId) || changedDuringScan.contains(entry.uniqueId)
+                    // Players that are online right now only have a data file once they log out
+                    || SpongeImpl.getServer().getPlayerList().getPlayerByUUID(entry.uniqueId) != null) {
+                continue;
+            }
+            entry.dataFile = false;
+            if (!known.contains(entry.uniqueId)) {
+                it.remove();
+                unindexName(entry);
+                removed++;
+            }
+        }
+
+        changedDuringScan = null;
+        SpongeImpl.getLogger().info("Indexed {} known users, dropped {} users without player data", entries.size(), removed);
+        // Write the reconciled index in full, which also drops the replayed log
+        compactionRequested = true;
+        writer.execute(UserIndex::writeChanges);
+    }
+
+    private static void addListed(@Nullable GameProfile profile, Set<UUID> known) {
+        if (profile == null || profile.getId() == null) {
+            return;
+        }
+        known.add(profile.getId());
+        final Entry entry = getOrCreate(profile.getId());
+        if (entry.name == null) {
+            setName(entry, profile.getName());
+        }
+    }
+
+    private static Entry getOrCreate(UUID uniqueId) {
+        return entries.computeIfAbsent(uniqueId, Entry::new);
+    }
+
+    /**
+     * Saves the changes made to the index since the last save, off the main
+     * thread.
+     */
+    public static void save() {
+        if (!loaded) {
+            return;
+        }
+        // The overworld may not have been available when the index was loaded
+        scheduleReconcile();
+        if (changes.isEmpty() && !compactionRequested) {
+            return;
+        }
+        writer.execute(UserIndex::writeChanges);
+    }
+
+    private static void writeChanges() {
+        if (!changes.isEmpty()) {
+            try (Writer out = Files.newBufferedWriter(logFile.toPath(), Charsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (logFile.length() == 0) {
+                    out.write(getLogHeader());
+                    out.write('\n');
+                }
+                String record;
+                while ((record = changes.poll()) != null) {
+                    out.write(record);
+                    out.write('\n');
+                    logSize++;
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to save user index changes to file!", e);
+                return;
+            }
+        }
+
+        if (compactionRequested || logSize >= Math.max(MIN_COMPACTION_LOG_SIZE, entries.size())) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the index file from the current index and deletes the log.
+     * Changes made while compacting are still queued and end up in the new
+     * log, replaying them on load is harmless.
+     */
+    private static void compact() {
+        final SavedIndex index = new SavedIndex();
+        synchronized (UserIndex.class) {
+            index.generation = generation + 1;
+            index.entries = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                index.entries.add(entry.copy());
+            }
+            compactionRequested = false;
+        }
+
+        final File tempFile = new File(saveFile.getPath() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tempFile.toPath(), Charsets.UTF_8)) {
+            gson.toJson(index, out);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save user index to file!", e);
+            compactionRequested = true;
+            return;
+        }
+
+        try {
+            Files.move(tempFile.toPath(), saveFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to replace user index file!", e);
+            compactionRequested = true;
+            return;
+        }
+
+        generation = index.generation;
+        logSize = 0;
+        try {
+            Files.deleteIfExists(logFile.toPath());
+        } catch (IOException e) {
+            // The log belongs to the previous generation now and is ignored on load, but
+            // appending to it would lose the changes, so rewrite the index again instead
+            SpongeImpl.getLogger().error("Failed to delete user index log!", e);
+            compactionRequested = true;
+        }
+    }
+
+    private static final class SavedIndex {
+
+        private long generation;
+        @Nullable private List<Entry> entries;
+
+    }
+
+    private static final class Entry {
+
+        private UUID uniqueId;
+        @Nullable private String name;
+        private boolean dataFile;
+        private long lastSeen;
+        @Nullable private transient GameProfile profile;
+
+        Entry(UUID uniqueId) {
+            this.uniqueId = uniqueId;
+        }
+
+        org.spongepowered.api.profile.GameProfile getProfile() {
+            GameProfile profile = this.profile;
+            if (profile == null) {
+                this.profile = profile = new GameProfile(this.uniqueId, this.name);
+            }
+            return (org.spongepowered.api.profile.GameProfile) profile;
+        }
+
+        Entry copy() {
+            final Entry copy = new Entry(this.uniqueId);
+            copy.name = this.name;
+            copy.dataFile = this.dataFile;
+            copy.lastSeen = this.lastSeen;
+            return copy;
+        }
+
+        /**
+         * Gets the log record storing the current state of this entry.
+         *
+         * @return The log record
+         */
+        String toRecord() {
+            return "+ " + this.uniqueId + ' ' + (this.dataFile ? '1' : '0') + ' ' + this.lastSeen + ' ' + (this.name == null ? "" : this.name);
+        }
+
+        static String removalRecord(UUID uniqueId) {
+            return "- " + uniqueId;
+        }
+
+    }
+
+}
@@ -29,6 +29,7 @@
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.whitelist.WhitelistService;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.service.user.UserIndex;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.util.ArrayList;
@@ -61,6 +62,7 @@ public boolean isWhitelisted(GameProfile profile) {
     public boolean addProfile(GameProfile profile) {
         boolean wasWhitelisted = this.isWhitelisted(profile);
         UserListUtils.addEntry(getWhitelist(), new UserListWhitelistEntry((com.mojang.authlib.GameProfile) profile));
+        UserIndex.onListed((com.mojang.authlib.GameProfile) profile);
         return wasWhitelisted;
     }
 
@@ -68,6 +70,7 @@ public boolean addProfile(GameProfile profile) {
     public boolean removeProfile(GameProfile profile) {
         boolean wasWhitelisted = this.isWhitelisted(profile);
         UserListUtils.removeEntry(getWhitelist(), profile);
+        UserIndex.onUnlisted((com.mojang.authlib.GameProfile) profile);
         return wasWhitelisted;
     }
 
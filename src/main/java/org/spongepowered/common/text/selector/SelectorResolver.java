@@ -28,9 +28,16 @@
 import static org.spongepowered.common.util.OptionalUtils.asSet;
 
 import com.flowpowered.math.vector.Vector3d;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
 import org.spongepowered.api.data.manipulator.mutable.entity.ExperienceHolderData;
@@ -59,6 +66,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -66,10 +74,13 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 /**
  * A resolver that acts like Vanilla Minecraft in many regards.
  */
@@ -81,6 +92,10 @@ public class SelectorResolver {
     private static final Set<ArgumentType<?>> LOCATION_BASED_ARGUMENTS;
     private static final Function<Number, Double> TO_DOUBLE = Number::doubleValue;
     private static final Collection<SelectorType> INFINITE_TYPES = ImmutableSet.of(SelectorTypes.ALL_ENTITIES, SelectorTypes.ALL_PLAYERS);
+    // Bounds used for axes that aren't limited by the selector, and the margin added to
+    // the search box so entities exactly on its edge are still found
+    private static final double UNBOUNDED = 1.0E7;
+    private static final double SEARCH_BOX_MARGIN = 1.0;
 
     static {
         ImmutableSet.Builder<ArgumentType<?>> builder = ImmutableSet.builder();
@@ -115,6 +130,9 @@ private static <I, R> Predicate<I> requireTypePredicate(Class<I> inputType, fina
     private final Optional<CommandSource> original;
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
+    private final boolean playerOnly;
+    @Nullable private final AxisAlignedBB searchBox;
+    private final Class<? extends net.minecraft.entity.Entity> searchClass;
     private final boolean alwaysUsePosition;
 
     public SelectorResolver(Collection<? extends Extent> extents, Selector selector, boolean force) {
@@ -135,13 +153,85 @@ private SelectorResolver(Collection<? extends Extent> extents, Vector3d position
         this.position = position == null ? ORIGIN : position;
         this.original = Optional.ofNullable(original);
         this.selector = checkNotNull(selector);
+        this.playerOnly = isPlayerOnlySelector();
         this.selectorFilter = makeFilter();
+        this.searchBox = makeSearchBox();
+        this.searchClass = getSearchClass();
         this.alwaysUsePosition = force;
     }
 
-    private Predicate<Entity> makeFilter() {
-        // for easier reading
+    private boolean isPlayerOnlySelector() {
+        SelectorType selectorType = this.selector.getType();
+        Optional<Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
+        return selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
+                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
+                && type.get().getValue() != EntityTypes.PLAYER);
+    }
+
+    /**
+     * Gets the box containing every position matched by the radius and
+     * volume arguments of the selector, if they limit both horizontal axes.
+     *
+     * @return The box to search entities in, or null to search everywhere
+     */
+    @Nullable
+    private AxisAlignedBB makeSearchBox() {
         final Selector sel = this.selector;
+        final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        final Vector3d boxDimensions = getPositionOrDefault(ORIGIN, ArgumentTypes.DIMENSION);
+        final Vector3d boxMin = position.min(position.add(boxDimensions));
+        final Vector3d boxMax = position.max(position.add(boxDimensions));
+        double minX = -UNBOUNDED;
+        double minY = -UNBOUNDED;
+        double minZ = -UNBOUNDED;
+        double maxX = UNBOUNDED;
+        double maxY = UNBOUNDED;
+        double maxZ = UNBOUNDED;
+        final Optional<Integer> radiusMax = sel.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            final int radius = radiusMax.get();
+            minX = position.getX() - radius;
+            minY = position.getY() - radius;
+            minZ = position.getZ() - radius;
+            maxX = position.getX() + radius;
+            maxY = position.getY() + radius;
+            maxZ = position.getZ() + radius;
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.x())) {
+            minX = Math.max(minX, boxMin.getX());
+            maxX = Math.min(maxX, boxMax.getX());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.y())) {
+            minY = Math.max(minY, boxMin.getY());
+            maxY = Math.min(maxY, boxMax.getY());
+        }
+        if (sel.has(ArgumentTypes.DIMENSION.z())) {
+            minZ = Math.max(minZ, boxMin.getZ());
+            maxZ = Math.min(maxZ, boxMax.getZ());
+        }
+        if (minX == -UNBOUNDED || maxX == UNBOUNDED || minZ == -UNBOUNDED || maxZ == UNBOUNDED) {
+            return null;
+        }
+        return new AxisAlignedBB(minX, minY, minZ, maxX, maxY, maxZ).expand(SEARCH_BOX_MARGIN, SEARCH_BOX_MARGIN, SEARCH_BOX_MARGIN);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends net.minecraft.entity.Entity> getSearchClass() {
+        if (this.playerOnly) {
+            return EntityPlayer.class;
+        }
+        final Optional<Invertible<EntityType>> type = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        if (type.isPresent() && !type.get().isInverted()) {
+            final Class<?> entityClass = type.get().getValue().getEntityClass();
+            if (net.minecraft.entity.Entity.class.isAssignableFrom(entityClass)) {
+                return (Class<? extends net.minecraft.entity.Entity>) entityClass;
+            }
+        }
+        return net.minecraft.entity.Entity.class;
+    }
+
+    private Predicate<Entity> makeFilter() {
         Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
         List<Predicate<Entity>> filters = Lists.newArrayList();
         addTypeFilters(filters);
@@ -153,14 +243,7 @@ private Predicate<Entity> makeFilter() {
         addRotationFilters(filters);
         addTeamFilters(filters);
         addScoreFilters(filters);
-        SelectorType selectorType = sel.getType();
-        Optional<Invertible<EntityType>> type = sel.getArgument(ArgumentTypes.ENTITY_TYPE);
-        // isn't an ALL_ENTITIES selector or it is a RANDOM selector for only players
-        boolean isPlayerOnlySelector =
-            selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER
-                || (selectorType == SelectorTypes.RANDOM && type.isPresent() && !type.get().isInverted()
-                && type.get().getValue() != EntityTypes.PLAYER);
-        if (isPlayerOnlySelector) {
+        if (this.playerOnly) {
             // insert at the start so it applies first
             filters.add(0, requireTypePredicate(Entity.class, Player.class));
         }
@@ -347,28 +430,71 @@ public Set<Entity> resolve() {
         }
         int maxToSelect = this.selector.get(ArgumentTypes.COUNT).orElse(defaultCount);
         Set<? extends Extent> extents = getExtentSet();
-        int count = 0;
-        ImmutableSet.Builder<Entity> entities = ImmutableSet.builder();
+        final Selection selection = new Selection(maxToSelect, selectorType == SelectorTypes.RANDOM);
         for (Extent extent : extents) {
-            Collection<Entity> allEntities = extent.getEntities();
-            if (selectorType == SelectorTypes.RANDOM) {
-                List<Entity> entityList = new ArrayList<>(allEntities);
-                Collections.shuffle(entityList);
-                allEntities = entityList;
+            if (select(extent, selection)) {
+                break;
+            }
+        }
+        return selection.build();
+    }
+
+    /**
+     * Offers the matching entities of the extent to the selection, only
+     * going through the players of a world for player only selectors and
+     * through the chunks within the search box for selectors limiting the
+     * area.
+     *
+     * @param extent The extent to select entities from
+     * @param selection The selection
+     * @return True if the selection is full
+     */
+    private boolean select(Extent extent, Selection selection) {
+        if (!(extent instanceof WorldServer)) {
+            for (Entity entity : extent.getEntities()) {
+                if (this.selectorFilter.test(entity) && selection.offer(entity)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        final WorldServer world = (WorldServer) extent;
+        final List<? extends net.minecraft.entity.Entity> candidates = this.playerOnly ? world.playerEntities : world.loadedEntityList;
+        if (this.searchBox == null || this.playerOnly) {
+            for (int i = 0; i < candidates.size(); i++) {
+                final net.minecraft.entity.Entity entity = candidates.get(i);
+                if (this.searchClass.isInstance(entity) && this.selectorFilter.test((Entity) entity) && selection.offer((Entity) entity)) {
+                    return true;
+                }
             }
+            return false;
+        }
 
-            for (Entity e : allEntities) {
-                if (!this.selectorFilter.test(e)) {
+        final IMixinChunkProviderServer chunkProvider = (IMixinChunkProviderServer) world.getChunkProvider();
+        final int minChunkX = MathHelper.floor(this.searchBox.minX) >> 4;
+        final int maxChunkX = MathHelper.floor(this.searchBox.maxX) >> 4;
+        final int minChunkZ = MathHelper.floor(this.searchBox.minZ) >> 4;
+        final int maxChunkZ = MathHelper.floor(this.searchBox.maxZ) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final Chunk chunk = chunkProvider.getLoadedChunkWithoutMarkingActive(chunkX, chunkZ);
+                if (chunk == null) {
                     continue;
                 }
-                entities.add(e);
-                count++;
-                if (maxToSelect != 0 && count > maxToSelect) {
-                    break;
+                final ClassInheritanceMultiMap<net.minecraft.entity.Entity>[] entityLists = chunk.getEntityLists();
+                final int minSection = MathHelper.clamp(MathHelper.floor(this.searchBox.minY) >> 4, 0, entityLists.length - 1);
+                final int maxSection = MathHelper.clamp(MathHelper.floor(this.searchBox.maxY) >> 4, 0, entityLists.length - 1);
+                for (int section = minSection; section <= maxSection; section++) {
+                    for (net.minecraft.entity.Entity entity : entityLists[section].getByClass(this.searchClass)) {
+                        if (this.selectorFilter.test((Entity) entity) && selection.offer((Entity) entity)) {
+                            return true;
+                        }
+                    }
                 }
             }
         }
-        return entities.build();
+        return false;
     }
 
     private Set<? extends Extent> getExtentSet() {
@@ -384,4 +510,50 @@ private Collection<ArgumentType<?>> getArgumentTypes(Collection<Argument<?>> arg
         return types;
     }
 
+    /**
+     * The entities selected so far, which keeps a uniform random sample of
+     * the offered entities for random selectors.
+     */
+    @VisibleForTesting
+    static final class Selection {
+
+        private final int limit;
+        private final boolean random;
+        private final List<Entity> selected = new ArrayList<>();
+        private int offered;
+
+        Selection(int limit, boolean random) {
+            // A negative count has always selected a single entity
+            this.limit = limit < 0 ? 1 : limit;
+            this.random = random;
+        }
+
+        /**
+         * Offers a matching entity to the selection.
+         *
+         * @param entity The entity
+         * @return True if no more entities can be selected
+         */
+        boolean offer(Entity entity) {
+            this.offered++;
+            if (this.limit == 0 || this.selected.size() < this.limit) {
+                this.selected.add(entity);
+                return !this.random && this.limit != 0 && this.selected.size() >= this.limit;
+            }
+            // Reservoir sampling, every offered entity ends up selected with the same chance
+            final int index = ThreadLocalRandom.current().nextInt(this.offered);
+            if (index < this.limit) {
+                this.selected.set(index, entity);
+            }
+            return false;
+        }
+
+        Set<Entity> build() {
+            if (this.random) {
+                Collections.shuffle(this.selected);
+            }
+            return ImmutableSet.copyOf(this.selected);
+        }
+    }
+
 }
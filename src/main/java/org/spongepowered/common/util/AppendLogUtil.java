@@ -0,0 +1,83 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers for append-only log files, in which every record is written as a
+ * single line terminated by a line break.
+ */
+public final class AppendLogUtil {
+
+    /**
+     * Reads the complete records of a log file. A last line which isn't
+     * terminated by a line break was only partially written, it is skipped
+     * and cut off the file, so the next record appended to the file starts
+     * on a new line.
+     *
+     * @param path The log file
+     * @param charset The charset of the log file
+     * @return The complete lines, without line breaks
+     * @throws IOException If the file couldn't be read or repaired
+     */
+    public static List<String> readLines(Path path, Charset charset) throws IOException {
+        final byte[] bytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Read the whole file
+            }
+            bytes = buffer.array();
+
+            int end = buffer.position();
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+            if (end < buffer.position()) {
+                SpongeImpl.getLogger().warn("Discarding a partially written record at the end of {}", path);
+                channel.truncate(end);
+            }
+            if (end == 0) {
+                return new ArrayList<>();
+            }
+            // Drop the line break of the last line, so no empty line follows it
+            return new ArrayList<>(Arrays.asList(new String(bytes, 0, end - 1, charset).split("\n", -1)));
+        }
+    }
+
+    private AppendLogUtil() {
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.util.math.ChunkPos;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * The zlib compressed data of a {@link QueuedChunk}, in the format the
+ * chunk is stored in a region file.
+ */
+public class CompressedChunk {
+
+    /**
+     * The executor which compresses queued chunks before they are written.
+     */
+    public static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Chunk Compression Thread-%d").setDaemon(true).build());
+
+    public final ChunkPos coords;
+    public final byte[] data;
+    public final int length;
+
+    private CompressedChunk(ChunkPos coords, byte[] data, int length) {
+        this.coords = coords;
+        this.data = data;
+        this.length = length;
+    }
+
+    @Nullable
+    public static CompressedChunk compress(QueuedChunk chunk) {
+        final ExposedByteArrayOutputStream buffer = new ExposedByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(buffer))) {
+            CompressedStreamTools.write(chunk.compound, out);
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().error("Failed to compress chunk {}", chunk.coords, e);
+            return null;
+        }
+        return new CompressedChunk(chunk.coords, buffer.getBuffer(), buffer.size());
+    }
+
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ExposedByteArrayOutputStream() {
+            super(8096);
+        }
+
+        byte[] getBuffer() {
+            return this.buf;
+        }
+    }
+}
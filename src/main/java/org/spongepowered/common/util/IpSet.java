@@ -70,6 +70,18 @@ public boolean apply(InetAddress input) {
         return true;
     }
 
+    public InetAddress getAddress() {
+        return this.addr;
+    }
+
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
+    public static IpSet fromAddress(InetAddress address) {
+        return new IpSet(checkNotNull(address, "address"), getMaxPrefixLength(address));
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
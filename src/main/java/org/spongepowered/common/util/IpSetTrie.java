@@ -0,0 +1,186 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+
+import javax.annotation.Nullable;
+
+/**
+ * A binary trie mapping {@link IpSet}s to values, branching on one bit of
+ * the address per level. Lookups of an address take at most as many steps
+ * as the address has bits, independent of the amount of stored sets.
+ *
+ * <p>IPv4 and IPv6 sets are kept in separate tries, matching the behaviour
+ * of {@link IpSet#apply(InetAddress)}.</p>
+ *
+ * @param <V> The type of value
+ */
+public final class IpSetTrie<V> {
+
+    private final Node<V> ipv4 = new Node<>();
+    private final Node<V> ipv6 = new Node<>();
+    private int size;
+
+    /**
+     * Associates the value with the given set, replacing any value
+     * previously associated with the same set.
+     *
+     * @param set The set
+     * @param value The value
+     * @return The previous value, or null if there was none
+     */
+    @Nullable
+    public V put(IpSet set, V value) {
+        checkNotNull(value, "value");
+        final byte[] address = set.getAddress().getAddress();
+        Node<V> node = getRoot(set.getAddress());
+        for (int i = 0; i < set.getPrefixLength(); i++) {
+            final int bit = getBit(address, i);
+            if (node.children[bit] == null) {
+                node.children[bit] = new Node<>();
+            }
+            node = node.children[bit];
+        }
+        final V previous = node.value;
+        node.value = value;
+        if (previous == null) {
+            this.size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the value associated with exactly the given set.
+     *
+     * @param set The set
+     * @return The removed value, or null if there was none
+     */
+    @Nullable
+    public V remove(IpSet set) {
+        final byte[] address = set.getAddress().getAddress();
+        final int prefixLen = set.getPrefixLength();
+        @SuppressWarnings("unchecked")
+        final Node<V>[] path = new Node[prefixLen + 1];
+        Node<V> node = getRoot(set.getAddress());
+        path[0] = node;
+        for (int i = 0; i < prefixLen; i++) {
+            node = node.children[getBit(address, i)];
+            if (node == null) {
+                return null;
+            }
+            path[i + 1] = node;
+        }
+        final V previous = node.value;
+        if (previous == null) {
+            return null;
+        }
+        node.value = null;
+        this.size--;
+        // Prune the branches which no longer lead to any value
+        for (int i = prefixLen; i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].children[getBit(address, i - 1)] = null;
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the value associated with exactly the given set.
+     *
+     * @param set The set
+     * @return The value, or null if there is none
+     */
+    @Nullable
+    public V getExact(IpSet set) {
+        final byte[] address = set.getAddress().getAddress();
+        Node<V> node = getRoot(set.getAddress());
+        for (int i = 0; i < set.getPrefixLength() && node != null; i++) {
+            node = node.children[getBit(address, i)];
+        }
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Gets the value of the most specific set containing the address.
+     *
+     * @param address The address
+     * @return The value, or null if no set contains the address
+     */
+    @Nullable
+    public V get(InetAddress address) {
+        final byte[] bytes = address.getAddress();
+        final int length = bytes.length << 3;
+        Node<V> node = getRoot(address);
+        V match = node.value;
+        for (int i = 0; i < length; i++) {
+            node = node.children[getBit(bytes, i)];
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void clear() {
+        this.ipv4.clear();
+        this.ipv6.clear();
+        this.size = 0;
+    }
+
+    private Node<V> getRoot(InetAddress address) {
+        return address instanceof Inet4Address ? this.ipv4 : this.ipv6;
+    }
+
+    private static int getBit(byte[] address, int index) {
+        return (address[index >> 3] >> (7 - (index & 7))) & 1;
+    }
+
+    private static final class Node<V> {
+
+        @SuppressWarnings("unchecked")
+        final Node<V>[] children = new Node[2];
+        @Nullable V value;
+
+        boolean isEmpty() {
+            return this.value == null && this.children[0] == null && this.children[1] == null;
+        }
+
+        void clear() {
+            this.children[0] = null;
+            this.children[1] = null;
+            this.value = null;
+        }
+    }
+}
@@ -59,6 +59,7 @@
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.IModData_Activation;
 import org.spongepowered.common.mixin.plugin.blockcapturing.IModData_BlockCapturing;
 import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.IModData_Collisions;
+import org.spongepowered.common.mixin.plugin.tileentityactivation.interfaces.IModData_TileEntityIndex;
 import org.spongepowered.common.registry.type.BlockTypeRegistryModule;
 import org.spongepowered.common.world.BlockChange;
 import org.spongepowered.common.world.WorldManager;
@@ -510,6 +511,11 @@ public static void refreshActiveConfigs() {
                     ((IModData_Activation) tileEntity).requiresActivationCacheRefresh(true);
                 }
             }
+            for (Chunk chunk : world.getChunkProvider().getLoadedChunks()) {
+                if (chunk instanceof IModData_TileEntityIndex) {
+                    ((IModData_TileEntityIndex) chunk).getTileEntityActivationIndex().requiresActivationCacheRefresh();
+                }
+            }
         }
         for (BlockType blockType : BlockTypeRegistryModule.getInstance().getAll()) {
             if (blockType instanceof IModData_Collisions) {
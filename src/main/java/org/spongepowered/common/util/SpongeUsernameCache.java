@@ -26,26 +26,40 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 import javax.annotation.Nullable;
 
-import org.spongepowered.common.SpongeImpl;
-import com.google.common.base.Charsets;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
-import com.google.common.io.Files;
-import com.google.common.reflect.TypeToken;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
-
 /**
  * Caches player's last known usernames
  * <p>
@@ -59,18 +73,47 @@
  * here :
  * 
  * https://github.com/MinecraftForge/MinecraftForge/blob/1.8.9/src/main/java/net/minecraftforge/common/UsernameCache.java
+ *
+ * <p>Unlike Forge's cache, changes are appended to a log file next to the
+ * cache file when saving, and the cache file itself is only rewritten once
+ * the log has grown large. Both are written off the main thread. A record
+ * that was only partially written when the server stopped is discarded on
+ * load. Every log starts with a checksum of the cache file it applies to, so
+ * a log left behind by an interrupted rewrite is never replayed onto the
+ * newer cache file.</p>
  */
 public final class SpongeUsernameCache {
 
-    // Thread-safe map
-    private static Map<UUID, String> map = new ConcurrentHashMap<>();
+    // Thread-safe maps
+    private static final Map<UUID, String> map = new ConcurrentHashMap<>();
+    private static final Map<String, UUID> uuidsByName = new ConcurrentHashMap<>();
 
     private static final Charset charset = Charsets.UTF_8;
 
     private static final File saveFile = new File(".", "usernamecache.json");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final File logFile = new File(".", "usernamecache.json.log");
+    private static final int MIN_COMPACTION_LOG_SIZE = 1024;
+    // Log records are "+ <uuid> <username>" and "- <uuid>", each terminated by a line break
+    private static final String PUT_RECORD = "+ ";
+    private static final String REMOVE_RECORD = "- ";
 
-    private static boolean loaded = false;
+    // Changes made since the last save, in order. A null username is a removal.
+    private static final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    private static final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Username Cache Writer").build());
+    // Only accessed from the writer thread, or while loading
+    private static int logSize = 0;
+    // The checksum of the cache file the log applies to, which serves as its generation.
+    // The cache file itself has to keep Forge's format, so it can't store a generation.
+    private static long cacheChecksum = 0;
+    private static boolean compactionRequested = false;
+
+    private static volatile boolean loaded = false;
+
+    static {
+        // Don't keep an idle writer thread around, it would keep the JVM alive
+        writer.allowCoreThreadTimeOut(true);
+    }
 
     /**
      * Set a player's current username
@@ -87,11 +130,14 @@ public static void setUsername(UUID uuid, String username) {
             load();
         }
 
-        if (username.equals(map.get(uuid))) {
+        final String previous = map.put(uuid, username);
+        if (username.equals(previous)) {
             return;
         }
 
-        map.put(uuid, username);
+        unindexName(uuid, previous);
+        uuidsByName.put(username.toLowerCase(Locale.ROOT), uuid);
+        changes.add(new Change(uuid, username));
     }
 
     /**
@@ -107,13 +153,22 @@ public static boolean removeUsername(UUID uuid) {
             load();
         }
 
-        if (map.remove(uuid) != null) {
+        final String previous = map.remove(uuid);
+        if (previous != null) {
+            unindexName(uuid, previous);
+            changes.add(new Change(uuid, null));
             return true;
         }
 
         return false;
     }
 
+    private static void unindexName(UUID uuid, @Nullable String username) {
+        if (username != null) {
+            uuidsByName.remove(username.toLowerCase(Locale.ROOT), uuid);
+        }
+    }
+
     /**
      * Get the player's last known username
      * <p>
@@ -151,13 +206,7 @@ public static UUID getLastKnownUUID(String username) {
             load();
         }
 
-        for (Map.Entry<UUID, String> mapEntry : map.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
-        }
-
-        return null;
+        return uuidsByName.get(username.toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -190,45 +239,195 @@ public static Map<UUID, String> getMap() {
     }
 
     /**
-     * Save the cache to file
+     * Save the changes made since the last save to file
      */
     public static void save() {
         if (!loaded) {
             load();
         }
 
-        try {
-            // Make sure we don't save when another thread is still saving
-            Files.write(gson.toJson(map), saveFile, charset);
+        if (changes.isEmpty()) {
+            return;
+        }
+        writer.execute(SpongeUsernameCache::writeChanges);
+    }
+
+    private static void writeChanges() {
+        try (Writer out = Files.newBufferedWriter(logFile.toPath(), charset, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (logFile.length() == 0) {
+                out.write(getLogHeader());
+                out.write('\n');
+            }
+            Change change;
+            while ((change = changes.poll()) != null) {
+                // Every record names its kind, a cut off record can't be mistaken for another kind
+                if (change.username != null) {
+                    out.write(PUT_RECORD);
+                    out.write(change.uuid.toString());
+                    out.write(' ');
+                    out.write(change.username);
+                } else {
+                    out.write(REMOVE_RECORD);
+                    out.write(change.uuid.toString());
+                }
+                out.write('\n');
+                logSize++;
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save username cache changes to file!", e);
+            return;
+        }
+
+        if (compactionRequested || logSize >= Math.max(MIN_COMPACTION_LOG_SIZE, map.size())) {
+            compact();
+        }
+    }
+
+    private static String getLogHeader() {
+        return "# " + Long.toHexString(cacheChecksum);
+    }
+
+    /**
+     * Rewrites the cache file from the current cache and clears the log.
+     * Changes made while compacting are still queued and end up in the new
+     * log, replaying them on load is harmless.
+     */
+    private static void compact() {
+        final File tempFile = new File(saveFile.getPath() + ".tmp");
+        final CRC32 checksum = new CRC32();
+        try (JsonWriter out = new JsonWriter(new OutputStreamWriter(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())), checksum), charset))) {
+            out.beginObject();
+            for (Map.Entry<UUID, String> entry : map.entrySet()) {
+                out.name(entry.getKey().toString()).value(entry.getValue());
+            }
+            out.endObject();
         } catch (IOException e) {
             SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+            compactionRequested = true;
+            return;
+        }
+
+        try {
+            Files.move(tempFile.toPath(), saveFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to replace username cache file!", e);
+            compactionRequested = true;
+            return;
+        }
+
+        cacheChecksum = checksum.getValue();
+        logSize = 0;
+        compactionRequested = false;
+        try {
+            Files.deleteIfExists(logFile.toPath());
+        } catch (IOException e) {
+            // The log belongs to the previous cache file now and is ignored on load, but
+            // appending to it would lose the changes, so rewrite the cache file again instead
+            SpongeImpl.getLogger().error("Failed to delete username cache log!", e);
+            compactionRequested = true;
         }
     }
 
     /**
      * Load the cache from file
      */
-    public static void load() {
+    public static synchronized void load() {
         loaded = true;
-        if (!saveFile.exists()) return;
+        map.clear();
+        uuidsByName.clear();
+        changes.clear();
+        logSize = 0;
+        cacheChecksum = 0;
 
-        try {
+        if (saveFile.exists()) {
+            try {
+                final byte[] bytes = Files.readAllBytes(saveFile.toPath());
+                final CRC32 checksum = new CRC32();
+                checksum.update(bytes);
+                readCache(bytes);
+                cacheChecksum = checksum.getValue();
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                // Can occur when the json file is malformed
+                SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
+                saveFile.delete();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
+                saveFile.delete();
+            }
+        }
+
+        if (logFile.exists()) {
+            try {
+                // Only complete records are read, a partially written last record is cut off
+                final List<String> records = AppendLogUtil.readLines(logFile.toPath(), charset);
+                if (records.isEmpty() || !records.get(0).equals(getLogHeader())) {
+                    // The log of an older cache file which was replaced before the log could be deleted
+                    SpongeImpl.getLogger().info("Discarding outdated username cache log");
+                    Files.delete(logFile.toPath());
+                    records.clear();
+                } else {
+                    records.remove(0);
+                }
+                for (String record : records) {
+                    if (replay(record)) {
+                        logSize++;
+                    } else {
+                        SpongeImpl.getLogger().warn("Skipping malformed username cache log record: {}", record);
+                    }
+                }
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Failed to read username cache log from disk", e);
+            }
+        }
 
-            String json = Files.toString(saveFile, charset);
-            Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
+        for (Map.Entry<UUID, String> entry : map.entrySet()) {
+            uuidsByName.put(entry.getValue().toLowerCase(Locale.ROOT), entry.getKey());
+        }
+    }
 
-            map = gson.fromJson(json, type);
-        } catch (JsonSyntaxException e) {
-            SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
-            saveFile.delete();
-        } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
-            saveFile.delete();
-        } finally {
-            // Can sometimes occur when the json file is malformed
-            if (map == null) {
-                map = Maps.newHashMap();
+    private static void readCache(byte[] bytes) throws IOException {
+        try (JsonReader in = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), charset))) {
+            in.beginObject();
+            while (in.hasNext()) {
+                final UUID uuid = UUID.fromString(in.nextName());
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                } else {
+                    map.put(uuid, in.nextString());
+                }
             }
+            in.endObject();
         }
     }
-}
\ No newline at end of file
+
+    private static boolean replay(String record) {
+        try {
+            if (record.startsWith(PUT_RECORD)) {
+                final int split = record.indexOf(' ', PUT_RECORD.length());
+                if (split >= 0 && split + 1 < record.length()) {
+                    map.put(UUID.fromString(record.substring(PUT_RECORD.length(), split)), record.substring(split + 1));
+                    return true;
+                }
+            } else if (record.startsWith(REMOVE_RECORD)) {
+                map.remove(UUID.fromString(record.substring(REMOVE_RECORD.length())));
+                return true;
+            }
+        } catch (IllegalArgumentException e) {
+            // A malformed unique id
+        }
+        return false;
+    }
+
+    private static final class Change {
+
+        final UUID uuid;
+        @Nullable final String username;
+
+        Change(UUID uuid, @Nullable String username) {
+            this.uuid = uuid;
+            this.username = username;
+        }
+
+    }
+}
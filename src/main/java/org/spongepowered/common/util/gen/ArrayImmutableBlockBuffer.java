@@ -107,7 +107,8 @@ public BlockVolumeWorker<? extends ImmutableBlockVolume> getBlockWorker(Cause ca
     public MutableBlockVolume getBlockCopy(StorageType type) {
         switch (type) {
             case STANDARD:
-                return new ArrayMutableBlockBuffer(this.palette, this.data.copyOf(), this.start, this.size);
+                // This buffer never changes, so the copy only has to copy the data once it is written to
+                return ArrayMutableBlockBuffer.copyOnWrite(this.palette, this.data, this.start, this.size);
             case THREAD_SAFE:
             default:
                 throw new UnsupportedOperationException(type.name());
@@ -25,9 +25,9 @@
 package org.spongepowered.common.util.gen;
 
 import com.flowpowered.math.vector.Vector3i;
-import net.minecraft.util.math.MathHelper;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.util.DiscreteTransform3;
 import org.spongepowered.api.world.extent.ImmutableBlockVolume;
@@ -43,6 +43,8 @@
 import org.spongepowered.common.world.schematic.BimapPalette;
 import org.spongepowered.common.world.schematic.GlobalPalette;
 
+import java.util.BitSet;
+
 public class ArrayMutableBlockBuffer extends AbstractBlockBuffer implements MutableBlockVolume {
 
     /**
@@ -57,6 +59,8 @@ public class ArrayMutableBlockBuffer extends AbstractBlockBuffer implements Muta
 
     private BlockPalette palette;
     private BackingData data;
+    // Whether the palette and data are shared with a copy and have to be copied before writing
+    private boolean shared;
 
     public ArrayMutableBlockBuffer(Vector3i start, Vector3i size) {
         this(size.getX() * size.getY() * size.getZ() > SMALL_AREA_THRESHOLD ?
@@ -99,6 +103,118 @@ public ArrayMutableBlockBuffer(BlockPalette palette, Vector3i start, Vector3i si
         this.data = blocks;
     }
 
+    /**
+     * Creates a buffer sharing the palette and data of another buffer. Both
+     * are copied on the first write to the new buffer, the other buffer has
+     * to do the same.
+     *
+     * @param palette The shared palette
+     * @param blocks The shared backing data
+     * @param start The start block position
+     * @param size The block size
+     * @return The new buffer
+     */
+    static ArrayMutableBlockBuffer copyOnWrite(BlockPalette palette, BackingData blocks, Vector3i start, Vector3i size) {
+        final ArrayMutableBlockBuffer buffer = new ArrayMutableBlockBuffer(palette, blocks, start, size);
+        buffer.shared = true;
+        return buffer;
+    }
+
+    /**
+     * Creates a buffer from the block data of a Sponge schematic, which is a
+     * sequence of palette ids encoded as varints, ordered by y, then z, then
+     * x. The ids are packed straight into the backing data.
+     *
+     * @param palette The palette of the schematic
+     * @param start The start block position
+     * @param size The block size
+     * @param blockData The encoded block data
+     * @return The new buffer
+     * @throws InvalidDataException If the block data is malformed or uses ids missing from the palette
+     */
+    public static ArrayMutableBlockBuffer fromSchematicBlockData(BlockPalette palette, Vector3i start, Vector3i size, byte[] blockData)
+            throws InvalidDataException {
+        final int width = size.getX();
+        final int height = size.getY();
+        final int length = size.getZ();
+        final int highestId = palette.getHighestId();
+        final BackingData data = new PackedBackingData(width * height * length, highestId);
+        final BitSet validIds = new BitSet(highestId + 1);
+        int i = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    int value = 0;
+                    int varintLength = 0;
+                    while (true) {
+                        if (i >= blockData.length) {
+                            throw new InvalidDataException("Schematic block data is smaller than its volume");
+                        }
+                        final byte b = blockData[i++];
+                        value |= (b & 127) << (varintLength++ * 7);
+                        if (varintLength > 5) {
+                            throw new InvalidDataException("VarInt too big (probably corrupted data)");
+                        }
+                        if ((b & 128) != 128) {
+                            break;
+                        }
+                    }
+                    if (!validIds.get(Math.max(0, value))) {
+                        if (value < 0 || value > highestId || !palette.get(value).isPresent()) {
+                            throw new InvalidDataException("Schematic block data uses unknown palette id " + value);
+                        }
+                        validIds.set(value);
+                    }
+                    data.set((x * length + z) * height + y, value);
+                }
+            }
+        }
+        return new ArrayMutableBlockBuffer(palette, data, start, size);
+    }
+
+    /**
+     * Encodes the blocks of this buffer as the block data of a Sponge
+     * schematic using the ids of {@link #getPalette()}.
+     *
+     * @return The encoded block data
+     * @see #fromSchematicBlockData(BlockPalette, Vector3i, Vector3i, byte[])
+     */
+    public byte[] toSchematicBlockData() {
+        final int width = this.size.getX();
+        final int height = this.size.getY();
+        final int length = this.size.getZ();
+        final int area = area();
+        // Size the array up front instead of growing a stream
+        int bytes = 0;
+        for (int i = 0; i < area; i++) {
+            bytes += getVarIntSize(this.data.get(i));
+        }
+        final byte[] blockData = new byte[bytes];
+        int i = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    int id = this.data.get((x * length + z) * height + y);
+                    while ((id & -128) != 0) {
+                        blockData[i++] = (byte) (id & 127 | 128);
+                        id >>>= 7;
+                    }
+                    blockData[i++] = (byte) id;
+                }
+            }
+        }
+        return blockData;
+    }
+
+    private static int getVarIntSize(int value) {
+        int bytes = 1;
+        while ((value & -128) != 0) {
+            bytes++;
+            value >>>= 7;
+        }
+        return bytes;
+    }
+
     @Override
     public BlockPalette getPalette() {
         return this.palette;
@@ -107,6 +223,11 @@ public BlockPalette getPalette() {
     @Override
     public boolean setBlock(int x, int y, int z, BlockState block, Cause cause) {
         checkRange(x, y, z);
+        if (this.shared) {
+            this.palette = copyPalette(this.palette);
+            this.data = this.data.copyOf();
+            this.shared = false;
+        }
         int id = this.palette.getOrAssign(block);
         if (id > this.data.getMax()) {
 
@@ -169,7 +290,8 @@ public UnmodifiableBlockVolume getUnmodifiableBlockView() {
     public MutableBlockVolume getBlockCopy(StorageType type) {
         switch (type) {
             case STANDARD:
-                return new ArrayMutableBlockBuffer(this.palette, this.data.copyOf(), this.start, this.size);
+                this.shared = true;
+                return copyOnWrite(this.palette, this.data, this.start, this.size);
             case THREAD_SAFE:
             default:
                 throw new UnsupportedOperationException(type.name());
@@ -178,13 +300,22 @@ public MutableBlockVolume getBlockCopy(StorageType type) {
 
     @Override
     public ImmutableBlockVolume getImmutableBlockCopy() {
-        return new ArrayImmutableBlockBuffer(this.palette, this.data.copyOf(), this.start, this.size);
+        this.shared = true;
+        return new ArrayImmutableBlockBuffer(this.palette, this.data, this.start, this.size);
     }
 
     private int area() {
         return this.size.getX() * this.size.getY() * this.size.getZ();
     }
 
+    private static BlockPalette copyPalette(BlockPalette palette) {
+        // The global palette never changes, local palettes may get new ids assigned
+        if (palette instanceof BimapPalette) {
+            return ((BimapPalette) palette).copy();
+        }
+        return palette;
+    }
+
     /**
      * Basically a fixed length list of non negative numbers/ids.
      */
@@ -262,11 +393,12 @@ static class PackedBackingData implements BackingData {
         public PackedBackingData(int size, int highestValue) {
             this.arraySize = size;
             int bits;
-            for (bits = 0; 1 << bits <= highestValue; bits++);
+            // At least one bit, even if the only id is 0
+            for (bits = 1; 1 << bits <= highestValue; bits++);
             this.bits = bits;
 
             this.maxValue = (1 << bits) - 1;
-            this.longArray = new long[MathHelper.roundUp(size * bits, Long.SIZE) / Long.SIZE];
+            this.longArray = new long[(int) (((long) size * bits + Long.SIZE - 1) / Long.SIZE)];
         }
 
         private PackedBackingData(int size, int bits, long[] array) {
@@ -278,9 +410,9 @@ private PackedBackingData(int size, int bits, long[] array) {
 
         @Override
         public void set(int index, int value) {
-            int bitIndex = index * this.bits;
-            int longIndex = bitIndex / Long.SIZE;
-            int bitOffset = bitIndex % Long.SIZE;
+            long bitIndex = (long) index * this.bits;
+            int longIndex = (int) (bitIndex / Long.SIZE);
+            int bitOffset = (int) (bitIndex % Long.SIZE);
 
             this.longArray[longIndex] = this.longArray[longIndex] & ~(this.maxValue << bitOffset) | (long) value << bitOffset;
 
@@ -295,15 +427,14 @@ public void set(int index, int value) {
 
         @Override
         public int get(int index) {
-            int bitIndex = index * this.bits;
-            int longIndex = bitIndex / Long.SIZE;
-            int rightLongIndex = (bitIndex + this.bits - 1) / 64;
-            int bitOffset = bitIndex % 64;
+            long bitIndex = (long) index * this.bits;
+            int longIndex = (int) (bitIndex / Long.SIZE);
+            int bitOffset = (int) (bitIndex % Long.SIZE);
 
             if (bitOffset + this.bits > Long.SIZE) {
                 // The entry is split between two longs
                 int bitsInLeft = Long.SIZE - bitOffset;
-                return (int) ((this.longArray[longIndex] >>> bitOffset | this.longArray[rightLongIndex] << bitsInLeft) & this.maxValue);
+                return (int) ((this.longArray[longIndex] >>> bitOffset | this.longArray[longIndex + 1] << bitsInLeft) & this.maxValue);
             } else {
                 return (int) (this.longArray[longIndex] >>> bitOffset & this.maxValue);
             }
@@ -0,0 +1,345 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.border.WorldBorder;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.interfaces.world.gen.IMixinChunkProviderServer;
+
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * A search for the safe location closest to a location, performed on a copy
+ * of the blocks around it so it can be run off the main thread.
+ *
+ * <p>The copy is taken by {@link #create(Location, int, int)}, which has to
+ * be called on the main thread. {@link #find()} may then be called from any
+ * thread.</p>
+ */
+final class SafeLocationSearch {
+
+    static final int SAFE_BODY = 1;
+    static final int SAFE_FLOOR = 2;
+
+    private final World world;
+    private final Vector3i origin;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    private final CopiedBlocks blocks;
+
+    private SafeLocationSearch(Location<World> location, int height, int width) {
+        this.world = location.getExtent();
+        this.origin = location.getBlockPosition();
+
+        // We don't want to warp outside of the world border, so we want to check that we're within it.
+        final WorldBorder worldBorder = (WorldBorder) this.world.getWorldBorder();
+        final int worldMaxY = this.world.getBlockMax().getY();
+
+        // We use clamp to remain within the world confines, so we don't waste time checking blocks outside of the
+        // world border and the world height.
+        this.minY = GenericMath.clamp(this.origin.getY() - height, 0, worldMaxY);
+        this.maxY = GenericMath.clamp(this.origin.getY() + height, 0, worldMaxY);
+        this.minX = GenericMath.clamp(this.origin.getX() - width, GenericMath.floor(worldBorder.minX()), GenericMath.floor(worldBorder.maxX()));
+        this.maxX = GenericMath.clamp(this.origin.getX() + width, GenericMath.floor(worldBorder.minX()), GenericMath.floor(worldBorder.maxX()));
+        this.minZ = GenericMath.clamp(this.origin.getZ() - width, GenericMath.floor(worldBorder.minZ()), GenericMath.floor(worldBorder.maxZ()));
+        this.maxZ = GenericMath.clamp(this.origin.getZ() + width, GenericMath.floor(worldBorder.minZ()), GenericMath.floor(worldBorder.maxZ()));
+
+        // Two blocks below for the floor, one above for the head
+        this.blocks = new CopiedBlocks((WorldServer) this.world, this.minX, Math.max(this.minY - 2, 0), this.minZ,
+                this.maxX, Math.min(this.maxY + 1, worldMaxY), this.maxZ);
+    }
+
+    /**
+     * Copies the blocks which have to be checked to find a safe location
+     * within the given distances of a location. Must be called on the main
+     * thread.
+     *
+     * @param location The location to search around
+     * @param height The vertical distance to search
+     * @param width The horizontal distance to search
+     * @return The search
+     */
+    static SafeLocationSearch create(Location<World> location, int height, int width) {
+        return new SafeLocationSearch(location, height, width);
+    }
+
+    /**
+     * Finds the safe location closest to the center of the search. Positions
+     * at the same distance are resolved in order of x, y and z.
+     *
+     * @return The safe location, if any
+     */
+    Optional<Location<World>> find() {
+        return findClosest(this.origin, new Vector3i(this.minX, this.minY, this.minZ), new Vector3i(this.maxX, this.maxY, this.maxZ), this.blocks)
+                // Get the center of the block to spawn into.
+                .map(position -> new Location<>(this.world, position.getX() + 0.5, position.getY(), position.getZ() + 0.5));
+    }
+
+    /**
+     * Finds the safe position closest to the origin within the given bounds.
+     * Positions at the same distance are resolved in order of x, y and z.
+     *
+     * @param origin The position to search around
+     * @param min The lowest corner to search, inclusive
+     * @param max The highest corner to search, inclusive
+     * @param blocks The blocks to search
+     * @return The safe position, if any
+     */
+    static Optional<Vector3i> findClosest(Vector3i origin, Vector3i min, Vector3i max, Blocks blocks) {
+        int bestX = 0;
+        int bestY = 0;
+        int bestZ = 0;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (int x = min.getX(); x <= max.getX(); x++) {
+            final int dx = x - origin.getX();
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                final int dz = z - origin.getZ();
+                final int horizontalDistance = dx * dx + dz * dz;
+                if (horizontalDistance > bestDistance) {
+                    // Nothing in this column can be closer than what we have already found
+                    continue;
+                }
+
+                // The floor has to be the top block or below it, with at most one body safe block above it
+                final int columnMaxY = Math.min(max.getY(), blocks.getTopBlockY(x, z) + 2);
+                for (int y = min.getY(); y <= columnMaxY; y++) {
+                    final int dy = y - origin.getY();
+                    final int distance = horizontalDistance + dy * dy;
+                    if (distance > bestDistance || distance == bestDistance && (x > bestX || x == bestX && (y > bestY || y == bestY && z > bestZ))) {
+                        continue;
+                    }
+                    if (isSafe(blocks, x, y, z)) {
+                        bestX = x;
+                        bestY = y;
+                        bestZ = z;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+
+        if (bestDistance == Integer.MAX_VALUE) {
+            // No positions matched, so return an empty optional.
+            return Optional.empty();
+        }
+        return Optional.of(new Vector3i(bestX, bestY, bestZ));
+    }
+
+    private static boolean isSafe(Blocks blocks, int x, int y, int z) {
+        // Check the block and the block ABOVE are safe for the body, and the two BELOW are safe too.
+        if ((blocks.getFlags(x, y, z) & SAFE_BODY) == 0 || (blocks.getFlags(x, y + 1, z) & SAFE_BODY) == 0) {
+            return false;
+        }
+
+        final int floor = blocks.getFlags(x, y - 1, z);
+        // If it's a safe floor, we can just say yes now.
+        if ((floor & SAFE_FLOOR) != 0) {
+            return true;
+        }
+        // If it's not safe for the body, then we don't want to go through it anyway.
+        // Otherwise check the next block down, if it's a floor, then we're good to go,
+        // otherwise we'd fall too far for our liking.
+        return (floor & SAFE_BODY) != 0 && (blocks.getFlags(x, y - 2, z) & SAFE_FLOOR) != 0;
+    }
+
+    private static boolean isSafeFloorMaterial(Material material) {
+        return !(material == Material.AIR || material == Material.CACTUS || material == Material.FIRE || material == Material.LAVA);
+    }
+
+    private static boolean isSafeBodyMaterial(Material material) {
+        return material == Material.AIR || material == Material.PLANTS
+                || material == Material.WATER || material == Material.REDSTONE_LIGHT || material == Material.CIRCUITS
+                || material == Material.SNOW || material == Material.PORTAL || material == Material.WEB || material == Material.VINE;
+    }
+
+    /**
+     * The blocks a search is performed on.
+     */
+    interface Blocks {
+
+        /**
+         * Gets whether the block at the given position is safe to stand in
+         * or on, as a combination of {@link SafeLocationSearch#SAFE_BODY}
+         * and {@link SafeLocationSearch#SAFE_FLOOR}.
+         *
+         * @param x The x coordinate
+         * @param y The y coordinate
+         * @param z The z coordinate
+         * @return The flags
+         */
+        int getFlags(int x, int y, int z);
+
+        /**
+         * Gets the height of the highest block in the given column which
+         * isn't air, or -1 if there is none at the heights being searched.
+         *
+         * @param x The x coordinate
+         * @param z The z coordinate
+         * @return The height of the top block
+         */
+        int getTopBlockY(int x, int z);
+
+    }
+
+    /**
+     * The blocks around a search, copied from the world.
+     */
+    private static final class CopiedBlocks implements Blocks {
+
+        // The range of block heights which have been copied, below which nothing is safe and above which is air
+        private final int minCopiedY;
+        private final int maxCopiedY;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int chunkCountZ;
+        private final ChunkCopy[] chunks;
+
+        CopiedBlocks(WorldServer world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.minCopiedY = minY;
+            this.maxCopiedY = maxY;
+            this.minChunkX = minX >> 4;
+            this.minChunkZ = minZ >> 4;
+            this.chunkCountZ = (maxZ >> 4) - this.minChunkZ + 1;
+            this.chunks = new ChunkCopy[((maxX >> 4) - this.minChunkX + 1) * this.chunkCountZ];
+
+            final IMixinChunkProviderServer chunkProviderServer = (IMixinChunkProviderServer) world.getChunkProvider();
+            chunkProviderServer.setForceChunkRequests(true);
+            try {
+                for (int chunkX = this.minChunkX; chunkX <= maxX >> 4; chunkX++) {
+                    for (int chunkZ = this.minChunkZ; chunkZ <= maxZ >> 4; chunkZ++) {
+                        this.chunks[(chunkX - this.minChunkX) * this.chunkCountZ + chunkZ - this.minChunkZ] =
+                                new ChunkCopy(world.getChunkFromChunkCoords(chunkX, chunkZ), minY >> 4, maxY >> 4);
+                    }
+                }
+            } finally {
+                chunkProviderServer.setForceChunkRequests(false);
+            }
+        }
+
+        @Override
+        public int getTopBlockY(int x, int z) {
+            final ChunkCopy chunk = getChunk(x, z);
+            // The block below the height map is the highest one blocking light, but
+            // blocks which don't, such as glass, may still be above it.
+            final int heightMapY = chunk.heightMap[(z & 15) << 4 | x & 15] - 1;
+            for (int y = this.maxCopiedY; y >= this.minCopiedY; y--) {
+                if (y <= heightMapY) {
+                    return y;
+                }
+                final SectionCopy section = chunk.sections[(y >> 4) - chunk.minSection];
+                if (section == null) {
+                    // Skip the empty section
+                    y &= ~15;
+                    continue;
+                }
+                final IBlockState state = section.getState(x & 15, y & 15, z & 15);
+                if (state == null || state.getMaterial() != Material.AIR) {
+                    return y;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int getFlags(int x, int y, int z) {
+            if (y < this.minCopiedY) {
+                // Anything below this isn't safe, no point going further.
+                return 0;
+            }
+            if (y > this.maxCopiedY) {
+                return SAFE_BODY;
+            }
+            final ChunkCopy chunk = getChunk(x, z);
+            final SectionCopy section = chunk.sections[(y >> 4) - chunk.minSection];
+            if (section == null) {
+                return SAFE_BODY;
+            }
+            final IBlockState state = section.getState(x & 15, y & 15, z & 15);
+            if (state == null) {
+                return 0;
+            }
+            final Material material = state.getMaterial();
+            return (isSafeBodyMaterial(material) ? SAFE_BODY : 0) | (isSafeFloorMaterial(material) ? SAFE_FLOOR : 0);
+        }
+
+        private ChunkCopy getChunk(int x, int z) {
+            return this.chunks[((x >> 4) - this.minChunkX) * this.chunkCountZ + (z >> 4) - this.minChunkZ];
+        }
+    }
+
+    private static final class ChunkCopy {
+
+        final int[] heightMap;
+        final int minSection;
+        final SectionCopy[] sections;
+
+        ChunkCopy(Chunk chunk, int minSection, int maxSection) {
+            this.heightMap = chunk.getHeightMap().clone();
+            this.minSection = minSection;
+            this.sections = new SectionCopy[maxSection - minSection + 1];
+            final ExtendedBlockStorage[] storage = chunk.getBlockStorageArray();
+            for (int i = minSection; i <= maxSection; i++) {
+                if (storage[i] != Chunk.NULL_BLOCK_STORAGE && !storage[i].isEmpty()) {
+                    this.sections[i - minSection] = new SectionCopy(storage[i]);
+                }
+            }
+        }
+    }
+
+    private static final class SectionCopy {
+
+        // The section in the format it is saved in, which uses global block state ids instead of a palette
+        final byte[] blockIds = new byte[4096];
+        final NibbleArray data = new NibbleArray();
+        @Nullable final NibbleArray additional;
+
+        SectionCopy(ExtendedBlockStorage storage) {
+            this.additional = storage.getData().getDataForNBT(this.blockIds, this.data);
+        }
+
+        @Nullable
+        IBlockState getState(int x, int y, int z) {
+            final int id = (this.additional == null ? 0 : this.additional.get(x, y, z)) << 8 | this.blockIds[y << 8 | z << 4 | x] & 255;
+            return Block.BLOCK_STATE_IDS.getByValue(id << 4 | this.data.get(x, y, z));
+        }
+    }
+}
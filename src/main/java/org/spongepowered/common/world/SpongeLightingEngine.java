@@ -0,0 +1,336 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Lists;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the asynchronous light updates of a single world.
+ *
+ * <p>Queued updates are deduplicated per block position and processed in
+ * batches. The updates of a batch are grouped by region, the updates which
+ * only touch chunks within their region are processed in parallel on a
+ * shared worker pool. Updates which touch chunks of a neighboring region
+ * and gap rechecks are processed afterwards on the lighting thread of the
+ * world, while no worker touches the world.</p>
+ */
+public final class SpongeLightingEngine {
+
+    // Regions are squares of 8 x 8 chunks
+    private static final int REGION_SHIFT = 3;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+
+    @Nullable private static ForkJoinPool workerPool;
+
+    private final WorldServer world;
+    private final Map<Long, LightUpdate> skyUpdates = new ConcurrentHashMap<>();
+    private final Map<Long, LightUpdate> blockUpdates = new ConcurrentHashMap<>();
+    private final Map<Long, Runnable> gapChecks = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final LongAdder processedUpdates = new LongAdder();
+    private final LongAdder updateLatency = new LongAdder();
+    @Nullable private Thread thread;
+    private volatile boolean running = true;
+
+    public SpongeLightingEngine(WorldServer world) {
+        this.world = checkNotNull(world, "world");
+    }
+
+    private static synchronized ForkJoinPool getWorkerPool() {
+        if (workerPool == null) {
+            int threads = SpongeImpl.getGlobalConfig().getConfig().getOptimizations().getAsyncLightingThreads();
+            if (threads <= 0) {
+                threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            }
+            workerPool = new ForkJoinPool(threads, pool -> {
+                final Thread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Sponge - Async Light Worker-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        }
+        return workerPool;
+    }
+
+    /**
+     * Queues a light update at the given position. The pending light
+     * updates of the chunk and its neighbors are increased until the update
+     * was processed.
+     *
+     * @param lightType The light type to update
+     * @param pos The position to update
+     * @param chunk The chunk containing the position
+     * @param neighbors The loaded neighbors of the chunk
+     * @return False if the engine was shut down
+     */
+    public boolean queueUpdate(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors) {
+        if (!this.running) {
+            return false;
+        }
+        final LightUpdate update = new LightUpdate(lightType, pos, chunk, neighbors);
+        update.changePendingUpdates(1);
+        final Map<Long, LightUpdate> updates = lightType == EnumSkyBlock.SKY ? this.skyUpdates : this.blockUpdates;
+        if (updates.putIfAbsent(pos.toLong(), update) != null) {
+            // The position is already queued, the queued update will pick up this change
+            update.changePendingUpdates(-1);
+            return true;
+        }
+        this.signal();
+        return true;
+    }
+
+    /**
+     * Queues a skylight gap recheck of the given chunk, which is only
+     * performed once even if it is queued again before it ran.
+     *
+     * @param chunk The chunk
+     * @param task The recheck
+     */
+    public void queueGapCheck(Chunk chunk, Runnable task) {
+        if (!this.running) {
+            return;
+        }
+        if (this.gapChecks.putIfAbsent(ChunkPos.asLong(chunk.xPosition, chunk.zPosition), task) == null) {
+            this.signal();
+        }
+    }
+
+    private void signal() {
+        synchronized (this.lock) {
+            if (this.thread == null) {
+                this.thread = new Thread(this::run, "Sponge - Async Light Thread");
+                this.thread.setDaemon(true);
+                this.thread.start();
+            }
+            this.lock.notify();
+        }
+    }
+
+    private boolean hasWork() {
+        return !this.skyUpdates.isEmpty() || !this.blockUpdates.isEmpty() || !this.gapChecks.isEmpty();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                synchronized (this.lock) {
+                    while (this.running && !this.hasWork()) {
+                        this.lock.wait();
+                    }
+                }
+                if (!this.hasWork()) {
+                    break;
+                }
+                this.processBatch();
+            }
+        } catch (InterruptedException ignored) {
+            // Shut down
+        } finally {
+            this.terminated.countDown();
+        }
+    }
+
+    private void processBatch() throws InterruptedException {
+        // Gap checks mostly queue new light updates, which are picked up
+        // by this batch already
+        final Iterator<Runnable> gapItr = this.gapChecks.values().iterator();
+        while (gapItr.hasNext()) {
+            final Runnable gapCheck = gapItr.next();
+            gapItr.remove();
+            try {
+                gapCheck.run();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Exception rechecking skylight gaps in world {}", this.world.getWorldInfo().getWorldName(), t);
+            }
+        }
+
+        final Map<Long, List<LightUpdate>> regions = new HashMap<>();
+        final List<LightUpdate> borderUpdates = new ArrayList<>();
+        this.drain(this.skyUpdates, regions, borderUpdates);
+        this.drain(this.blockUpdates, regions, borderUpdates);
+
+        if (regions.size() == 1) {
+            this.process(regions.values().iterator().next());
+        } else if (!regions.isEmpty()) {
+            final List<Callable<Void>> tasks = Lists.newArrayListWithCapacity(regions.size());
+            for (List<LightUpdate> updates : regions.values()) {
+                tasks.add(() -> {
+                    this.process(updates);
+                    return null;
+                });
+            }
+            for (Future<Void> future : getWorkerPool().invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    SpongeImpl.getLogger().error("Exception processing light updates in world {}", this.world.getWorldInfo().getWorldName(),
+                            e.getCause());
+                }
+            }
+        }
+
+        // Updates near region borders can touch the chunks of two regions,
+        // so they are only processed while no worker is running
+        this.process(borderUpdates);
+    }
+
+    private void drain(Map<Long, LightUpdate> updates, Map<Long, List<LightUpdate>> regions, List<LightUpdate> borderUpdates) {
+        final Iterator<LightUpdate> itr = updates.values().iterator();
+        while (itr.hasNext()) {
+            final LightUpdate update = itr.next();
+            itr.remove();
+            final int chunkX = update.chunk.xPosition;
+            final int chunkZ = update.chunk.zPosition;
+            final int localX = chunkX & REGION_MASK;
+            final int localZ = chunkZ & REGION_MASK;
+            if (localX == 0 || localX == REGION_MASK || localZ == 0 || localZ == REGION_MASK) {
+                borderUpdates.add(update);
+            } else {
+                regions.computeIfAbsent(ChunkPos.asLong(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT), key -> new ArrayList<>()).add(update);
+            }
+        }
+    }
+
+    private void process(List<LightUpdate> updates) {
+        for (LightUpdate update : updates) {
+            try {
+                ((IMixinWorldServer) this.world).checkLightAsync(update.lightType, update.pos, update.chunk, update.neighbors);
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Exception processing light update at {} in world {}", update.pos,
+                        this.world.getWorldInfo().getWorldName(), t);
+            } finally {
+                update.changePendingUpdates(-1);
+                this.updateLatency.add(System.nanoTime() - update.queuedTime);
+                this.processedUpdates.increment();
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of queued light updates and gap rechecks.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.skyUpdates.size() + this.blockUpdates.size() + this.gapChecks.size();
+    }
+
+    /**
+     * Gets the average time between a light update being queued and being
+     * processed.
+     *
+     * @param unit The unit of the result
+     * @return The average update latency
+     */
+    public double getAverageLatency(TimeUnit unit) {
+        final long count = this.processedUpdates.sum();
+        return count == 0 ? 0 : (double) unit.convert(this.updateLatency.sum(), TimeUnit.NANOSECONDS) / count;
+    }
+
+    /**
+     * Stops accepting new updates, the already queued updates are still
+     * processed.
+     */
+    public void shutdown() {
+        this.running = false;
+        synchronized (this.lock) {
+            this.lock.notify();
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        synchronized (this.lock) {
+            if (this.thread == null) {
+                return true;
+            }
+        }
+        return this.terminated.await(timeout, unit);
+    }
+
+    /**
+     * Stops the engine, dropping all queued updates.
+     */
+    public void shutdownNow() {
+        this.shutdown();
+        this.skyUpdates.clear();
+        this.blockUpdates.clear();
+        this.gapChecks.clear();
+        synchronized (this.lock) {
+            if (this.thread != null) {
+                this.thread.interrupt();
+            }
+        }
+    }
+
+    private static final class LightUpdate {
+
+        final EnumSkyBlock lightType;
+        final BlockPos pos;
+        final Chunk chunk;
+        final List<Chunk> neighbors;
+        final long queuedTime = System.nanoTime();
+
+        LightUpdate(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors) {
+            this.lightType = lightType;
+            this.pos = pos.toImmutable();
+            this.chunk = chunk;
+            this.neighbors = neighbors;
+        }
+
+        void changePendingUpdates(int delta) {
+            ((IMixinChunk) this.chunk).getPendingLightUpdates().addAndGet(delta);
+            for (Chunk neighbor : this.neighbors) {
+                ((IMixinChunk) neighbor).getPendingLightUpdates().addAndGet(delta);
+            }
+        }
+    }
+
+}
@@ -29,6 +29,7 @@
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.extent.BiomeVolume;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
 import org.spongepowered.api.world.extent.MutableBiomeVolume;
 import org.spongepowered.api.world.extent.UnmodifiableBiomeVolume;
 import org.spongepowered.api.world.extent.worker.BiomeVolumeWorker;
@@ -68,11 +69,28 @@ public void map(BiomeVolumeMapper mapper, MutableBiomeVolume destination) {
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BiomeType biome = mapper.map(unmodifiableArea, x, y, z);
-                    destination.setBiome(x + xOffset, y + yOffset, z + zOffset, biome);
+        final Vector3i size = unmodifiableArea.getBiomeSize();
+        if (VolumeSlabs.isParallel(size, this.volume, destination)) {
+            VolumeSlabs.forEach(size, zMin, zMax, (zStart, zEnd) -> {
+                // Map the slab in parallel, but write it in one go as buffers can't be written concurrently
+                final BiomeType[] biomes = new BiomeType[(zEnd - zStart + 1) * size.getY() * size.getX()];
+                int index = 0;
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            biomes[index++] = mapper.map(unmodifiableArea, x, y, z);
+                        }
+                    }
+                }
+                setBiomes(destination, biomes, xMin, yMin, zStart, xMax, yMax, zEnd, xOffset, yOffset, zOffset);
+            });
+        } else {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BiomeType biome = mapper.map(unmodifiableArea, x, y, z);
+                        destination.setBiome(x + xOffset, y + yOffset, z + zOffset, biome);
+                    }
                 }
             }
         }
@@ -96,12 +114,29 @@ public void merge(BiomeVolume second, BiomeVolumeMerger merger, MutableBiomeVolu
         final int yMax = firstUnmodifiableArea.getBiomeMax().getY();
         final int zMax = firstUnmodifiableArea.getBiomeMax().getZ();
         final UnmodifiableBiomeVolume secondUnmodifiableArea = second.getUnmodifiableBiomeView();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BiomeType biome = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea, x + xOffsetSecond, y + yOffsetSecond,
-                            z + zOffsetSecond);
-                    destination.setBiome(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, biome);
+        final Vector3i size = firstUnmodifiableArea.getBiomeSize();
+        if (VolumeSlabs.isParallel(size, this.volume, second, destination)) {
+            VolumeSlabs.forEach(size, zMin, zMax, (zStart, zEnd) -> {
+                final BiomeType[] biomes = new BiomeType[(zEnd - zStart + 1) * size.getY() * size.getX()];
+                int index = 0;
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            biomes[index++] = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea, x + xOffsetSecond,
+                                    y + yOffsetSecond, z + zOffsetSecond);
+                        }
+                    }
+                }
+                setBiomes(destination, biomes, xMin, yMin, zStart, xMax, yMax, zEnd, xOffsetDestination, yOffsetDestination, zOffsetDestination);
+            });
+        } else {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BiomeType biome = merger.merge(firstUnmodifiableArea, x, y, z, secondUnmodifiableArea, x + xOffsetSecond,
+                                y + yOffsetSecond, z + zOffsetSecond);
+                        destination.setBiome(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, biome);
+                    }
                 }
             }
         }
@@ -115,10 +150,24 @@ public void iterate(BiomeVolumeVisitor<V> visitor) {
         final int xMax = this.volume.getBiomeMax().getX();
         final int yMax = this.volume.getBiomeMax().getY();
         final int zMax = this.volume.getBiomeMax().getZ();
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    visitor.visit(this.volume, x, y, z);
+        final Vector3i size = this.volume.getBiomeSize();
+        // Visitors of mutable volumes may modify them, so only immutable ones are visited in parallel
+        if (this.volume instanceof ImmutableBiomeVolume && VolumeSlabs.isParallel(size, this.volume)) {
+            VolumeSlabs.forEach(size, zMin, zMax, (zStart, zEnd) -> {
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            visitor.visit(this.volume, x, y, z);
+                        }
+                    }
+                }
+            });
+        } else {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        visitor.visit(this.volume, x, y, z);
+                    }
                 }
             }
         }
@@ -133,6 +182,21 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableArea.getBiomeMax().getX();
         final int yMax = unmodifiableArea.getBiomeMax().getY();
         final int zMax = unmodifiableArea.getBiomeMax().getZ();
+        final Vector3i size = unmodifiableArea.getBiomeSize();
+        if (VolumeSlabs.isParallel(size, this.volume)) {
+            // Every slab starts from the identity, the reductions are merged in order
+            return VolumeSlabs.reduce(size, zMin, zMax, (zStart, zEnd) -> {
+                T reduction = identity;
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            reduction = reducer.reduce(unmodifiableArea, x, y, z, reduction);
+                        }
+                    }
+                }
+                return reduction;
+            }, merge);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -144,6 +208,20 @@ public <T> T reduce(BiomeVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    private static void setBiomes(MutableBiomeVolume destination, BiomeType[] biomes, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax,
+            int xOffset, int yOffset, int zOffset) {
+        int index = 0;
+        synchronized (destination) {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        destination.setBiome(x + xOffset, y + yOffset, z + zOffset, biomes[index++]);
+                    }
+                }
+            }
+        }
+    }
+
     private Vector3i align(BiomeVolume other) {
         final Vector3i thisSize = this.volume.getBiomeSize();
         final Vector3i otherSize = other.getBiomeSize();
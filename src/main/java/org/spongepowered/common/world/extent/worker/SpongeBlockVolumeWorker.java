@@ -32,6 +32,7 @@
 import org.spongepowered.api.event.cause.NamedCause;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
@@ -85,12 +86,29 @@ public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
                 .addCaptures()
                 .complete());
         }
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
+        final Vector3i size = unmodifiableVolume.getBlockSize();
+        if (VolumeSlabs.isParallel(size, this.volume, destination)) {
+            VolumeSlabs.forEach(size, zMin, zMax, (zStart, zEnd) -> {
+                // Map the slab in parallel, but write it in one go as buffers can't be written concurrently
+                final BlockState[] blocks = new BlockState[(zEnd - zStart + 1) * size.getY() * size.getX()];
+                int index = 0;
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            blocks[index++] = mapper.map(unmodifiableVolume, x, y, z);
+                        }
+                    }
+                }
+                setBlocks(destination, blocks, xMin, yMin, zStart, xMax, yMax, zEnd, xOffset, yOffset, zOffset);
+            });
+        } else {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
 
-                    destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block, this.cause);
+                        destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block, this.cause);
+                    }
                 }
             }
         }
@@ -125,12 +143,29 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
                 .addCaptures()
                 .complete());
         }
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
-                        secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
-                    destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block, this.cause);
+        final Vector3i size = firstUnmodifiableVolume.getBlockSize();
+        if (VolumeSlabs.isParallel(size, this.volume, second, destination)) {
+            VolumeSlabs.forEach(size, zMin, zMax, (zStart, zEnd) -> {
+                final BlockState[] blocks = new BlockState[(zEnd - zStart + 1) * size.getY() * size.getX()];
+                int index = 0;
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            blocks[index++] = merger.merge(firstUnmodifiableVolume, x, y, z,
+                                secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                        }
+                    }
+                }
+                setBlocks(destination, blocks, xMin, yMin, zStart, xMax, yMax, zEnd, xOffsetDestination, yOffsetDestination, zOffsetDestination);
+            });
+        } else {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
+                            secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                        destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block, this.cause);
+                    }
                 }
             }
         }
@@ -153,10 +188,24 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
                 .addCaptures()
                 .complete());
         }
-        for (int z = zMin; z <= zMax; z++) {
-            for (int y = yMin; y <= yMax; y++) {
-                for (int x = xMin; x <= xMax; x++) {
-                    visitor.visit(this.volume, x, y, z);
+        final Vector3i size = this.volume.getBlockSize();
+        // Visitors of mutable volumes may modify them, so only immutable ones are visited in parallel
+        if (this.volume instanceof ImmutableBlockVolume && VolumeSlabs.isParallel(size, this.volume)) {
+            VolumeSlabs.forEach(size, zMin, zMax, (zStart, zEnd) -> {
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            visitor.visit(this.volume, x, y, z);
+                        }
+                    }
+                }
+            });
+        } else {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        visitor.visit(this.volume, x, y, z);
+                    }
                 }
             }
         }
@@ -174,6 +223,21 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        final Vector3i size = unmodifiableVolume.getBlockSize();
+        if (VolumeSlabs.isParallel(size, this.volume)) {
+            // Every slab starts from the identity, the reductions are merged in order
+            return VolumeSlabs.reduce(size, zMin, zMax, (zStart, zEnd) -> {
+                T reduction = identity;
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int y = yMin; y <= yMax; y++) {
+                        for (int x = xMin; x <= xMax; x++) {
+                            reduction = reducer.reduce(unmodifiableVolume, x, y, z, reduction);
+                        }
+                    }
+                }
+                return reduction;
+            }, merge);
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -185,6 +249,20 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    private void setBlocks(MutableBlockVolume destination, BlockState[] blocks, int xMin, int yMin, int zMin, int xMax, int yMax, int zMax,
+            int xOffset, int yOffset, int zOffset) {
+        int index = 0;
+        synchronized (destination) {
+            for (int z = zMin; z <= zMax; z++) {
+                for (int y = yMin; y <= yMax; y++) {
+                    for (int x = xMin; x <= xMax; x++) {
+                        destination.setBlock(x + xOffset, y + yOffset, z + zOffset, blocks[index++], this.cause);
+                    }
+                }
+            }
+        }
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
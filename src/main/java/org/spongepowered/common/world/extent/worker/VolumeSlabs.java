@@ -0,0 +1,167 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.common.util.gen.AbstractBiomeBuffer;
+import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+
+/**
+ * Splits the work of the volume workers into slabs along the z axis, which
+ * are processed on the common {@link ForkJoinPool}.
+ *
+ * <p>Only buffers are processed in parallel, extents of live worlds must be
+ * accessed from the main thread.</p>
+ */
+final class VolumeSlabs {
+
+    // Volumes smaller than this are processed sequentially
+    private static final int PARALLEL_THRESHOLD = 16 * 16 * 256;
+    // The minimum amount of positions in a single slab
+    private static final int MIN_SLAB_SIZE = 16 * 16 * 64;
+
+    /**
+     * Gets whether work of the given size can be split across threads for
+     * the given volumes. All volumes must be distinct buffers, because a
+     * volume that is read while being written isn't thread safe.
+     *
+     * @param size The size of the work volume
+     * @param volumes The volumes being read or written
+     * @return Whether the work can be done in parallel
+     */
+    static boolean isParallel(Vector3i size, Object... volumes) {
+        if ((long) size.getX() * size.getY() * size.getZ() < PARALLEL_THRESHOLD || size.getZ() < 2) {
+            return false;
+        }
+        for (int i = 0; i < volumes.length; i++) {
+            if (!(volumes[i] instanceof AbstractBlockBuffer) && !(volumes[i] instanceof AbstractBiomeBuffer)) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (volumes[i] == volumes[j]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    static void forEach(Vector3i size, int zMin, int zMax, SlabAction action) {
+        ForkJoinPool.commonPool().invoke(new ActionTask(action, getSlabDepth(size), zMin, zMax));
+    }
+
+    static <T> T reduce(Vector3i size, int zMin, int zMax, SlabReducer<T> reducer, BiFunction<T, T, T> merge) {
+        return ForkJoinPool.commonPool().invoke(new ReduceTask<>(reducer, merge, getSlabDepth(size), zMin, zMax));
+    }
+
+    private static int getSlabDepth(Vector3i size) {
+        final int sliceSize = size.getX() * size.getY();
+        return Math.max(1, (MIN_SLAB_SIZE + sliceSize - 1) / sliceSize);
+    }
+
+    @FunctionalInterface
+    interface SlabAction {
+
+        void run(int zMin, int zMax);
+
+    }
+
+    @FunctionalInterface
+    interface SlabReducer<T> {
+
+        T reduce(int zMin, int zMax);
+
+    }
+
+    private static final class ActionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SlabAction action;
+        private final int slabDepth;
+        private final int zMin;
+        private final int zMax;
+
+        ActionTask(SlabAction action, int slabDepth, int zMin, int zMax) {
+            this.action = action;
+            this.slabDepth = slabDepth;
+            this.zMin = zMin;
+            this.zMax = zMax;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.zMax - this.zMin < this.slabDepth) {
+                this.action.run(this.zMin, this.zMax);
+                return;
+            }
+            final int zMid = this.zMin + (this.zMax - this.zMin) / 2;
+            invokeAll(new ActionTask(this.action, this.slabDepth, this.zMin, zMid),
+                    new ActionTask(this.action, this.slabDepth, zMid + 1, this.zMax));
+        }
+    }
+
+    private static final class ReduceTask<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SlabReducer<T> reducer;
+        private final BiFunction<T, T, T> merge;
+        private final int slabDepth;
+        private final int zMin;
+        private final int zMax;
+
+        ReduceTask(SlabReducer<T> reducer, BiFunction<T, T, T> merge, int slabDepth, int zMin, int zMax) {
+            this.reducer = reducer;
+            this.merge = merge;
+            this.slabDepth = slabDepth;
+            this.zMin = zMin;
+            this.zMax = zMax;
+        }
+
+        @Override
+        protected T compute() {
+            if (this.zMax - this.zMin < this.slabDepth) {
+                return this.reducer.reduce(this.zMin, this.zMax);
+            }
+            final int zMid = this.zMin + (this.zMax - this.zMin) / 2;
+            final ReduceTask<T> lower = new ReduceTask<>(this.reducer, this.merge, this.slabDepth, this.zMin, zMid);
+            final ReduceTask<T> upper = new ReduceTask<>(this.reducer, this.merge, this.slabDepth, zMid + 1, this.zMax);
+            upper.fork();
+            final T lowerReduction = lower.compute();
+            // Merge in order, the merge function only has to be associative
+            return this.merge.apply(lowerReduction, upper.join());
+        }
+    }
+
+    private VolumeSlabs() {
+    }
+
+}
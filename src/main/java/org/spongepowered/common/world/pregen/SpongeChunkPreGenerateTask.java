@@ -31,6 +31,8 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.inject.Inject;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -44,18 +46,22 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
 import org.spongepowered.api.world.storage.WorldProperties;
+import org.spongepowered.common.interfaces.server.management.IMixinPlayerChunkMap;
 import org.spongepowered.common.interfaces.world.IMixinAnvilChunkLoader;
 import org.spongepowered.common.scheduler.SpongeScheduler;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
+import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -65,15 +71,11 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
 
-    private static final Vector3i[] OFFSETS = {
-            Vector3i.UNIT_Z.negate().mul(2),
-            Vector3i.UNIT_X.mul(2),
-            Vector3i.UNIT_Z.mul(2),
-            Vector3i.UNIT_X.negate().mul(2)
-    };
+    // The amount of regions whose headers are read ahead of generation
+    private static final int PREFETCHED_REGIONS = 4;
 
     private final World world;
-    private final Predicate<Vector3i> doesChunkExistCheck;
+    @Nullable private final IMixinAnvilChunkLoader chunkLoader;
     private final int chunkRadius;
     private final int chunkCount;
     private final float tickPercent;
@@ -87,11 +89,18 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
 
-    private Vector3i currentPosition;
-    private int currentGenCount;
-    private int currentLayer;
-    private int currentIndex;
-    private int nextJump;
+    // Chunk bounds of the area to generate, inclusive
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+
+    private final int centerRegionX;
+    private final int centerRegionZ;
+    private final int regionRadius;
+    private int regionLayer;
+    private int regionIndex;
+    private final Deque<PendingRegion> regions = new ArrayDeque<>();
 
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
@@ -111,15 +120,14 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.world = world;
 
         // In order to be able to check whether a chunk exists, we could use standard Sponge API methods. However,
-        // because they set up an async method which we need to get sync anyway, we just bypass it.
-        // This results in a extremely noticeable speed improvement.
+        // they open every region file and read the chunk data, one chunk at a time. Instead, we read the offset
+        // tables of the upcoming region files off the main thread, which is all we need to know.
         //
         // This also allows us to catch non Anvil file formats too.
         if (world.getWorldStorage() instanceof IMixinAnvilChunkLoader) {
-            this.doesChunkExistCheck = v -> ((IMixinAnvilChunkLoader) world.getWorldStorage())
-                    .chunkExists((net.minecraft.world.World) this.world, v.getX(), v.getZ());
+            this.chunkLoader = (IMixinAnvilChunkLoader) world.getWorldStorage();
         } else {
-            this.doesChunkExistCheck = v -> false;
+            this.chunkLoader = null;
         }
 
         this.chunkRadius = GenericMath.floor(diameter / 32);
@@ -128,16 +136,24 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.tickTimeLimit = Math.round(preferredTickInterval * tickPercent);
         this.cause = cause;
         this.tickInterval = tickInterval;
-        final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
-        if (currentPosition.isPresent()) {
-            this.currentPosition = currentPosition.get();
-        } else {
+        final Optional<Vector3i> centerChunk = SpongeChunkLayout.instance.toChunk(center.toInt());
+        if (!centerChunk.isPresent()) {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
-        this.currentGenCount = 4;
-        this.currentLayer = 0;
-        this.currentIndex = 0;
-        this.nextJump = 0;
+        this.minChunkX = centerChunk.get().getX() - this.chunkRadius;
+        this.minChunkZ = centerChunk.get().getZ() - this.chunkRadius;
+        this.maxChunkX = centerChunk.get().getX() + this.chunkRadius;
+        this.maxChunkZ = centerChunk.get().getZ() + this.chunkRadius;
+
+        // Regions are generated one after another, spiralling outwards from the center
+        this.centerRegionX = centerChunk.get().getX() >> 5;
+        this.centerRegionZ = centerChunk.get().getZ() >> 5;
+        this.regionRadius = Math.max(
+                Math.max(this.centerRegionX - (this.minChunkX >> 5), (this.maxChunkX >> 5) - this.centerRegionX),
+                Math.max(this.centerRegionZ - (this.minChunkZ >> 5), (this.maxChunkZ >> 5) - this.centerRegionZ));
+        this.regionLayer = 0;
+        this.regionIndex = 0;
+        fillRegionQueue();
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
@@ -184,6 +200,35 @@ public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
     }
 
+    /**
+     * Gets the average amount of chunks generated or skipped per second
+     * since the generation started.
+     *
+     * @return The chunks per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        if (this.generationStartTime == 0 || millis <= 0) {
+            return 0;
+        }
+        return (this.chunksGenerated + this.chunksSkipped) * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the estimated time until all chunks have been generated, based on
+     * the average throughput so far.
+     *
+     * @return The estimated remaining time, if any chunks have been processed yet
+     */
+    public Optional<Duration> getEstimatedTimeRemaining() {
+        final double chunksPerSecond = getChunksPerSecond();
+        if (chunksPerSecond <= 0) {
+            return Optional.empty();
+        }
+        final int remaining = Math.max(0, this.totalChunksToGenerate - this.chunksGenerated - this.chunksSkipped);
+        return Optional.of(Duration.ofMillis((long) (remaining * 1000 / chunksPerSecond)));
+    }
+
     @Override
     public boolean isCancelled() {
         if (this.isCancelled) {
@@ -239,28 +284,45 @@ public void accept(Task task) {
         // Count how many chunks are generated during the tick
         int count = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
+        while (!this.regions.isEmpty() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime)) {
+            final PendingRegion region = this.regions.peek();
+            if (!region.writtenChunks.isDone()) {
+                // The region header is still being read, continue with it in the next step
+                break;
+            }
 
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
+            // Chunks are generated in 2x2 blocks, so that the chunks of a block can be populated right away
+            final int blockX = region.blockMinX + (region.blockIndex % region.blocksX) * 2;
+            final int blockZ = region.blockMinZ + (region.blockIndex / region.blocksX) * 2;
+            final int startX = Math.max(blockX, this.minChunkX);
+            final int startZ = Math.max(blockZ, this.minChunkZ);
+            final int endX = Math.min(blockX + 1, this.maxChunkX);
+            final int endZ = Math.min(blockZ + 1, this.maxChunkZ);
+            final int chunks = (endX - startX + 1) * (endZ - startZ + 1);
+
+            // We can only skip generation if all chunks exist.
+            if (!doAllChunksExist(region, startX, startZ, endX, endZ)) {
 
                 // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
+                for (int z = startZ; z <= endZ; z++) {
+                    for (int x = startX; x <= endX; x++) {
+                        loadChunk(region, x, z);
+                    }
+                }
 
-                count += this.currentGenCount;
+                count += chunks;
             } else {
 
                 // Skipped them, log this.
-                skipped += this.currentGenCount;
+                skipped += chunks;
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+
+            if (++region.blockIndex >= region.blockCount) {
+                unloadRegion(region);
+                this.regions.poll();
+                fillRegionQueue();
+            }
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -281,7 +343,7 @@ public void accept(Task task) {
             return;
         }
 
-        if (!hasNextChunkPosition()) {
+        if (this.regions.isEmpty()) {
             // Generation has completed.
             Sponge.getEventManager().post(SpongeEventFactory.createChunkPreGenerationEventComplete(
                     this.cause,
@@ -295,9 +357,89 @@ public void accept(Task task) {
         }
     }
 
-    private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
-        return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
-                this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
+    private boolean doAllChunksExist(PendingRegion region, int startX, int startZ, int endX, int endZ) {
+        if (this.chunkLoader == null) {
+            return false;
+        }
+        final BitSet writtenChunks = region.writtenChunks.join();
+        for (int z = startZ; z <= endZ; z++) {
+            for (int x = startX; x <= endX; x++) {
+                // Chunks waiting to be saved aren't in the region header yet
+                if (!writtenChunks.get((x & 31) + (z & 31) * 32) && !this.chunkLoader.isChunkQueued(x, z)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void loadChunk(PendingRegion region, int x, int z) {
+        final Optional<org.spongepowered.api.world.Chunk> chunk = this.world.loadChunk(new Vector3i(x, 0, z), true);
+        // Chunks at the edges of the region are needed to populate the neighbouring
+        // regions, so only chunks inside the region are unloaded once it is done.
+        final int localX = x & 31;
+        final int localZ = z & 31;
+        if (chunk.isPresent() && localX != 0 && localX != 31 && localZ != 0 && localZ != 31) {
+            region.loadedChunks.add((Chunk) chunk.get());
+        }
+    }
+
+    private void unloadRegion(PendingRegion region) {
+        final WorldServer worldServer = (WorldServer) this.world;
+        final IMixinPlayerChunkMap playerChunkMap = (IMixinPlayerChunkMap) worldServer.getPlayerChunkMap();
+        for (Chunk chunk : region.loadedChunks) {
+            // Saving is handled by the chunk provider once the chunk is unloaded
+            if (!chunk.unloadQueued && !playerChunkMap.isChunkInUse(chunk.xPosition, chunk.zPosition)) {
+                worldServer.getChunkProvider().queueUnload(chunk);
+            }
+        }
+        region.loadedChunks.clear();
+    }
+
+    private void fillRegionQueue() {
+        while (this.regions.size() < PREFETCHED_REGIONS) {
+            final PendingRegion region = nextRegion();
+            if (region == null) {
+                break;
+            }
+            this.regions.add(region);
+        }
+    }
+
+    @Nullable
+    private PendingRegion nextRegion() {
+        while (this.regionLayer <= this.regionRadius) {
+            final int layer = this.regionLayer;
+            int x = this.centerRegionX;
+            int z = this.centerRegionZ;
+            if (layer > 0) {
+                // Walk the four sides of the square around the center region
+                final int side = this.regionIndex / (layer * 2);
+                final int offset = this.regionIndex % (layer * 2);
+                if (side == 0) {
+                    x += offset - layer;
+                    z -= layer;
+                } else if (side == 1) {
+                    x += layer;
+                    z += offset - layer;
+                } else if (side == 2) {
+                    x += layer - offset;
+                    z += layer;
+                } else {
+                    x -= layer;
+                    z += layer - offset;
+                }
+            }
+            if (++this.regionIndex >= Math.max(1, layer * 8)) {
+                this.regionLayer++;
+                this.regionIndex = 0;
+            }
+            // The square of regions may reach past the area to generate
+            if (x >= this.minChunkX >> 5 && x <= this.maxChunkX >> 5 && z >= this.minChunkZ >> 5 && z <= this.maxChunkZ >> 5) {
+                return new PendingRegion(x, z);
+            }
+        }
+        return null;
     }
 
     private void unregisterListener() {
@@ -322,32 +464,6 @@ private void cancelTask(Task task) {
         unregisterListener();
     }
 
-    private boolean hasNextChunkPosition() {
-        return this.currentLayer <= this.chunkRadius;
-    }
-
-    private Vector3i nextChunkPosition() {
-        final Vector3i nextPosition = this.currentPosition;
-        final int currentLayerIndex;
-        if (this.currentIndex >= this.nextJump) {
-            // Reached end of layer, jump to the next so we can keep spiralling
-            this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
-            this.currentLayer++;
-            // Each the jump increment increases by 4 at each new layer
-            this.nextJump += this.currentLayer * 4;
-            currentLayerIndex = 1;
-        } else {
-            // Get the current index since the last jump
-            currentLayerIndex = this.currentIndex - (this.nextJump - this.currentLayer * 4);
-            // Move to next position in layer, by following a square
-            this.currentPosition = this.currentPosition.add(OFFSETS[currentLayerIndex / this.currentLayer]);
-        }
-        // If we're at the corner it's 3, else 2 for an edge
-        this.currentGenCount = currentLayerIndex % this.currentLayer == 0 ? 3 : 2;
-        this.currentIndex++;
-        return nextPosition;
-    }
-
     private boolean checkChunkCount(int count) {
         return this.chunkCount <= 0 || count < this.chunkCount;
     }
@@ -356,9 +472,40 @@ private boolean checkTickTime(long tickTime) {
         return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
     }
 
+    private final class PendingRegion {
+
+        // The chunks present in the region file, read off the main thread
+        final CompletableFuture<BitSet> writtenChunks;
+        final List<Chunk> loadedChunks = new ArrayList<>();
+        final int blockMinX;
+        final int blockMinZ;
+        final int blocksX;
+        final int blockCount;
+        int blockIndex;
+
+        PendingRegion(int regionX, int regionZ) {
+            final SpongeChunkPreGenerateTask task = SpongeChunkPreGenerateTask.this;
+            if (task.chunkLoader != null) {
+                // Reading failed, fall back to loading every chunk which still skips generating existing ones
+                this.writtenChunks = WorldStorageUtil.getWrittenChunks(task.chunkLoader.getWorldDir(), regionX, regionZ)
+                        .exceptionally(t -> new BitSet());
+            } else {
+                this.writtenChunks = CompletableFuture.completedFuture(new BitSet());
+            }
+            // Blocks are aligned to even coordinates, so they never cross region borders
+            this.blockMinX = Math.max(regionX << 5, task.minChunkX) & ~1;
+            this.blockMinZ = Math.max(regionZ << 5, task.minChunkZ) & ~1;
+            final int maxX = Math.min((regionX << 5) + 31, task.maxChunkX);
+            final int maxZ = Math.min((regionZ << 5) + 31, task.maxChunkZ);
+            this.blocksX = (maxX - this.blockMinX) / 2 + 1;
+            this.blockCount = this.blocksX * ((maxZ - this.blockMinZ) / 2 + 1);
+        }
+    }
+
     public static class Builder implements ChunkPreGenerate.Builder {
 
         private static final String TIME_FORMAT = "s's 'S'ms'";
+        private static final String ETA_FORMAT = "H'h 'm'm 's's'";
 
         private final World world;
         private final Vector3d center;
@@ -393,12 +540,22 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
-                            DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
-                            GenericMath.floor(
-                                (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
-                                    / post.getChunkPreGenerate().getTargetTotalChunks() * 100)
-                        );
+                        final ChunkPreGenerate chunkPreGenerate = post.getChunkPreGenerate();
+                        final int percent = GenericMath.floor(
+                                (chunkPreGenerate.getTotalGeneratedChunks() + chunkPreGenerate.getTotalSkippedChunks()) * 100.0
+                                    / chunkPreGenerate.getTargetTotalChunks());
+                        if (chunkPreGenerate instanceof SpongeChunkPreGenerateTask) {
+                            final SpongeChunkPreGenerateTask task = (SpongeChunkPreGenerateTask) chunkPreGenerate;
+                            logger.info("Generated {} chunks in {}, {}% complete, {} chunks/s, ETA {}", post.getChunksGeneratedThisStep(),
+                                DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false), percent,
+                                GenericMath.floor(task.getChunksPerSecond()),
+                                task.getEstimatedTimeRemaining()
+                                    .map(eta -> DurationFormatUtils.formatDuration(eta.toMillis(), ETA_FORMAT, false))
+                                    .orElse("unknown"));
+                        } else {
+                            logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                                DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false), percent);
+                        }
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
                             DurationFormatUtils.formatDuration(event.getChunkPreGenerate().getTotalTime().toMillis(), TIME_FORMAT, false));
@@ -33,6 +33,7 @@
 
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public class BimapPalette implements BlockPalette {
@@ -97,6 +98,19 @@ public void assign(BlockState state, int id) {
         this.ids.put(id, state);
     }
 
+    /**
+     * Creates a copy of this palette with the same ids assigned.
+     *
+     * @return The copy
+     */
+    public BimapPalette copy() {
+        final BimapPalette copy = new BimapPalette(this.ids.size());
+        for (Map.Entry<Integer, BlockState> entry : this.ids.entrySet()) {
+            copy.assign(entry.getValue(), entry.getKey());
+        }
+        return copy;
+    }
+
     @Override
     public boolean remove(BlockState state) {
         Integer id = this.idsr.get(state);
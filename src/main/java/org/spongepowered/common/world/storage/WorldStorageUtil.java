@@ -42,9 +42,13 @@
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -53,6 +57,8 @@ public class WorldStorageUtil {
 
     @Inject private static SpongeScheduler scheduler;
 
+    private static final int REGION_CHUNK_COUNT = 1024;
+
     public static CompletableFuture<Boolean> doesChunkExist(WorldServer world, IChunkLoader chunkLoader, Vector3i chunkCoords) {
         int x = chunkCoords.getX();
         int z = chunkCoords.getZ();
@@ -76,6 +82,46 @@ public static CompletableFuture<Optional<DataContainer>> getChunkData(WorldServe
         });
     }
 
+    /**
+     * Reads the header of the region file at the given region coordinates
+     * off the main thread and collects which of its chunks have been written.
+     * Bits are indexed by {@code (x & 31) + (z & 31) * 32}, matching the
+     * offset table of a {@link RegionFile}.
+     *
+     * <p>Only the 4KiB offset table is read, no chunk data is decompressed
+     * and the region is not added to the {@link RegionFileCache}.</p>
+     *
+     * @param worldDir The world directory containing the region folder
+     * @param regionX The region x coordinate
+     * @param regionZ The region z coordinate
+     * @return The chunks present in the region file
+     */
+    public static CompletableFuture<BitSet> getWrittenChunks(Path worldDir, int regionX, int regionZ) {
+        final Path regionFile = worldDir.resolve("region").resolve("r." + regionX + "." + regionZ + ".mca");
+        return scheduler.submitAsyncTask(() -> readWrittenChunks(regionFile));
+    }
+
+    private static BitSet readWrittenChunks(Path regionFile) throws IOException {
+        final BitSet chunks = new BitSet(REGION_CHUNK_COUNT);
+        if (!Files.isRegularFile(regionFile)) {
+            return chunks;
+        }
+        final ByteBuffer header = ByteBuffer.allocate(REGION_CHUNK_COUNT * 4);
+        try (FileChannel channel = FileChannel.open(regionFile, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Keep reading until the offset table is complete
+            }
+        }
+        header.flip();
+        // A truncated header can only describe the chunks it contains
+        for (int index = 0; header.remaining() >= 4; index++) {
+            if (header.getInt() != 0) {
+                chunks.set(index);
+            }
+        }
+        return chunks;
+    }
+
     public static DataContainer readDataFromRegion(DataInputStream stream) throws IOException {
         if (stream == null) {
             return null;
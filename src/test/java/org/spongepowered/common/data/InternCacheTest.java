@@ -0,0 +1,70 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class InternCacheTest {
+
+    @Test
+    public void testInternsByArguments() {
+        final InternCache<Object> cache = new InternCache<>(100);
+        final Object value = new Object();
+        assertNull(cache.get(String.class, 2, 1, true, null, InternCache.NO_ARGS, 0));
+        assertSame(value, cache.intern(String.class, 2, 1, true, null, InternCache.NO_ARGS, 0, value));
+        assertSame(value, cache.get(String.class, 2, 1, true, null, InternCache.NO_ARGS, 0));
+        assertSame(value, cache.intern(String.class, 2, 1, true, null, InternCache.NO_ARGS, 0, new Object()));
+
+        assertNull(cache.get(String.class, 2, 1, false, null, InternCache.NO_ARGS, 0));
+        assertNull(cache.get(Integer.class, 2, 1, true, null, InternCache.NO_ARGS, 0));
+        assertNull(cache.get(String.class, 1, 1, null, null, InternCache.NO_ARGS, 0));
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    public void testReadsRemainingArgumentsFromOffset() {
+        final InternCache<Object> cache = new InternCache<>(100);
+        final Object value = new Object();
+        final Object[] args = {"a", "b", "c", "d", null};
+        cache.intern(String.class, 5, "a", "b", "c", args, 3, value);
+        assertSame(value, cache.get(String.class, 5, "a", "b", "c", new Object[] {"d", null}, 0));
+        assertNull(cache.get(String.class, 5, "a", "b", "c", new Object[] {"e", null}, 0));
+    }
+
+    @Test
+    public void testClearsWhenFull() {
+        final InternCache<Object> cache = new InternCache<>(2);
+        cache.intern(String.class, 1, 1, null, null, InternCache.NO_ARGS, 0, new Object());
+        cache.intern(String.class, 1, 2, null, null, InternCache.NO_ARGS, 0, new Object());
+        cache.intern(String.class, 1, 3, null, null, InternCache.NO_ARGS, 0, new Object());
+        assertNull(cache.get(String.class, 1, 1, null, null, InternCache.NO_ARGS, 0));
+        assertEquals(3, cache.stats().evictionCount());
+    }
+
+}
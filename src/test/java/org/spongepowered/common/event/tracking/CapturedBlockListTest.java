@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.block.BlockSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.block.SpongeBlockSnapshot;
+import org.spongepowered.common.interfaces.world.IMixinWorldServer;
+import org.spongepowered.common.world.BlockChange;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public class CapturedBlockListTest {
+
+    private final UUID worldId = UUID.randomUUID();
+    private final UUID creator = UUID.randomUUID();
+    private IMixinWorldServer world;
+    private IBlockState state;
+    private CapturedBlockList list;
+
+    @Before
+    public void setUp() {
+        this.world = mock(IMixinWorldServer.class, withSettings().extraInterfaces(World.class));
+        when(((World) this.world).getUniqueId()).thenReturn(this.worldId);
+        when(((World) this.world).getCreator(anyInt(), anyInt(), anyInt())).thenReturn(Optional.of(this.creator));
+        when(((World) this.world).getNotifier(anyInt(), anyInt(), anyInt())).thenReturn(Optional.empty());
+        this.state = mock(IBlockState.class, withSettings().extraInterfaces(BlockState.class));
+        this.list = new CapturedBlockList();
+    }
+
+    @Test
+    public void testPackedChangeView() {
+        final BlockPos pos = new BlockPos(1, 64, -3);
+        this.list.addPacked(this.world, pos, this.state, 3, BlockChange.BREAK);
+
+        assertEquals(1, this.list.size());
+        assertTrue(this.list.isPacked(0));
+        assertTrue(this.list.containsPosition(pos));
+        assertFalse(this.list.containsPosition(pos.up()));
+        assertEquals(pos, this.list.getBlockPos(0));
+        assertSame(BlockChange.BREAK, this.list.getBlockChange(0));
+
+        final SpongeBlockSnapshot snapshot = this.list.get(0);
+        assertFalse(this.list.isPacked(0));
+        assertSame(snapshot, this.list.get(0));
+        assertSame(this.state, snapshot.getState());
+        assertEquals(this.worldId, snapshot.getWorldUniqueId());
+        assertEquals(pos, snapshot.getBlockPos());
+        assertEquals(Optional.of(this.creator), snapshot.getCreator());
+        assertEquals(3, snapshot.getUpdateFlag());
+        assertSame(BlockChange.BREAK, snapshot.blockChange);
+    }
+
+    @Test
+    public void testRemoveKeepsOrder() {
+        for (int i = 0; i < 40; i++) {
+            this.list.addPacked(this.world, new BlockPos(i, 0, 0), this.state, 2, BlockChange.MODIFY);
+        }
+        final BlockSnapshot removed = this.list.get(10);
+        assertTrue(this.list.remove(removed));
+        this.list.removePacked(0);
+
+        assertEquals(38, this.list.size());
+        assertFalse(this.list.containsPosition(new BlockPos(10, 0, 0)));
+        assertFalse(this.list.containsPosition(new BlockPos(0, 0, 0)));
+        for (int i = 0; i < this.list.size(); i++) {
+            final int x = i < 9 ? i + 1 : i + 2;
+            assertEquals(new BlockPos(x, 0, 0), this.list.getBlockPos(i));
+        }
+    }
+
+    @Test
+    public void testAddSnapshot() {
+        this.list.addPacked(this.world, BlockPos.ORIGIN, this.state, 2, BlockChange.PLACE);
+        final SpongeBlockSnapshot snapshot = this.list.get(0);
+        this.list.clear();
+        assertTrue(this.list.isEmpty());
+
+        this.list.add(snapshot);
+        assertFalse(this.list.isPacked(0));
+        assertSame(snapshot, this.list.get(0));
+        assertTrue(this.list.containsPosition(BlockPos.ORIGIN));
+        assertSame(BlockChange.PLACE, this.list.getBlockChange(0));
+    }
+}
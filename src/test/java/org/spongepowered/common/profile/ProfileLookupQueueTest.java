@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ProfileLookupQueueTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final LocalResolver resolver = new LocalResolver();
+    private GameProfileCache cache;
+    private ProfileLookupQueue queue;
+
+    @Before
+    public void setUp() {
+        this.tasks.clear();
+        this.cache = mock(GameProfileCache.class);
+        when(this.cache.getById(any(UUID.class))).thenReturn(Optional.empty());
+        when(this.cache.getByName(anyString())).thenReturn(Optional.empty());
+        this.queue = new ProfileLookupQueue(this.tasks::add, () -> this.cache, this.resolver, TimeUnit.HOURS.toMillis(1),
+                TimeUnit.HOURS.toMillis(1));
+    }
+
+    private void runTasks() {
+        while (!this.tasks.isEmpty()) {
+            this.tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    public void testCoalescesRequestsForSameName() throws Exception {
+        final GameProfile profile = mock(GameProfile.class);
+        this.resolver.names.put("notch", profile);
+
+        final CompletableFuture<Optional<GameProfile>> first = this.queue.getByName("Notch", false);
+        final CompletableFuture<Optional<GameProfile>> second = this.queue.getByName("notch", false);
+        assertFalse(first.isDone());
+        this.runTasks();
+
+        assertSame(profile, first.get().get());
+        assertSame(profile, second.get().get());
+        assertEquals(1, this.resolver.nameLookups.size());
+        assertEquals(1, this.queue.getMetrics().getCoalesced());
+    }
+
+    @Test
+    public void testBatchesNameLookups() throws Exception {
+        this.queue.getByName("a_name", false);
+        this.queue.getByName("b_name", false);
+        this.queue.getByName("c_name", false);
+        this.runTasks();
+
+        assertEquals(1, this.resolver.nameLookups.size());
+        assertEquals(3, this.resolver.nameLookups.get(0).size());
+        assertEquals(1, this.queue.getMetrics().getLookups());
+    }
+
+    @Test
+    public void testRemembersProfilesNotFound() throws Exception {
+        final UUID uniqueId = UUID.randomUUID();
+        final CompletableFuture<Optional<GameProfile>> lookup = this.queue.getById(uniqueId, false);
+        this.runTasks();
+        assertFalse(lookup.get().isPresent());
+
+        final CompletableFuture<Optional<GameProfile>> cached = this.queue.getById(uniqueId, true);
+        assertTrue(cached.isDone());
+        assertFalse(cached.get().isPresent());
+        assertTrue(this.tasks.isEmpty());
+        assertEquals(1, this.queue.getMetrics().getHits());
+        assertEquals(1, this.queue.getMetrics().getMisses());
+    }
+
+    @Test
+    public void testCachedProfileOverridesNotFound() throws Exception {
+        final UUID uniqueId = UUID.randomUUID();
+        this.queue.getById(uniqueId, false);
+        this.runTasks();
+
+        // The player logged in after the lookup found nothing
+        final GameProfile profile = mock(GameProfile.class);
+        when(this.cache.getById(uniqueId)).thenReturn(Optional.of(profile));
+        final CompletableFuture<Optional<GameProfile>> cached = this.queue.getById(uniqueId, true);
+        assertTrue(cached.isDone());
+        assertSame(profile, cached.get().get());
+        assertTrue(this.tasks.isEmpty());
+    }
+
+    private static final class LocalResolver implements ProfileResolver {
+
+        final Map<UUID, GameProfile> ids = new HashMap<>();
+        final Map<String, GameProfile> names = new HashMap<>();
+        final List<Collection<String>> nameLookups = new ArrayList<>();
+
+        @Override
+        public Map<UUID, Optional<GameProfile>> lookupByIds(Collection<UUID> uniqueIds) {
+            final Map<UUID, Optional<GameProfile>> result = new HashMap<>();
+            for (UUID uniqueId : uniqueIds) {
+                result.put(uniqueId, Optional.ofNullable(this.ids.get(uniqueId)));
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Optional<GameProfile>> lookupByNames(Collection<String> names) {
+            this.nameLookups.add(new ArrayList<>(names));
+            final Map<String, Optional<GameProfile>> result = new HashMap<>();
+            for (String name : names) {
+                result.put(name, Optional.ofNullable(this.names.get(name)));
+            }
+            return result;
+        }
+
+        @Override
+        public Optional<GameProfile> fill(GameProfile profile, boolean signed) {
+            return Optional.empty();
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Optional;
+
+public class SpongeSubjectTest {
+
+    private static final String PERMISSION = "sponge.test.permission";
+
+    @Test
+    public void testCachedPermissionInvalidatedByDataChange() {
+        final TestSubject subject = new TestSubject(new GlobalMemorySubjectData(mock(PermissionService.class)));
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertEquals(Tristate.TRUE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+        assertEquals(Tristate.TRUE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.FALSE);
+        assertEquals(Tristate.FALSE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+
+        subject.getSubjectData().clearPermissions();
+        assertEquals(Tristate.UNDEFINED, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+    }
+
+    @Test
+    public void testCachedPermissionInvalidatedByStampChange() {
+        final TestSubject subject = new TestSubject(new GlobalMemorySubjectData(mock(PermissionService.class)));
+        assertEquals(Tristate.UNDEFINED, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+
+        subject.stamp = 4;
+        subject.fallback = Tristate.TRUE;
+        assertEquals(Tristate.TRUE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+    }
+
+    @Test
+    public void testUntrackedDataIsNotCached() {
+        final TestSubject subject = new TestSubject(new MemorySubjectData(mock(PermissionService.class)));
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.TRUE);
+        assertEquals(Tristate.TRUE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, PERMISSION, Tristate.FALSE);
+        assertEquals(Tristate.FALSE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, PERMISSION));
+    }
+
+    private static final class TestSubject extends SpongeSubject {
+
+        private final MemorySubjectData data;
+        int stamp;
+        Tristate fallback = Tristate.UNDEFINED;
+
+        TestSubject(MemorySubjectData data) {
+            this.data = data;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return "test";
+        }
+
+        @Override
+        public Optional<CommandSource> getCommandSource() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SubjectCollection getContainingCollection() {
+            return mock(SubjectCollection.class);
+        }
+
+        @Override
+        public MemorySubjectData getSubjectData() {
+            return this.data;
+        }
+
+        @Override
+        protected int getPermissionStamp() {
+            return this.stamp;
+        }
+
+        @Override
+        protected Tristate resolvePermissionValue(String permission) {
+            final Tristate res = super.resolvePermissionValue(permission);
+            return res == Tristate.UNDEFINED ? this.fallback : res;
+        }
+    }
+}
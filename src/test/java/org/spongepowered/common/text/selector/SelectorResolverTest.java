@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.spongepowered.api.entity.Entity;
+
+public class SelectorResolverTest {
+
+    @Test
+    public void testSelectionStopsAtCount() {
+        SelectorResolver.Selection selection = new SelectorResolver.Selection(2, false);
+        assertFalse(selection.offer(mock(Entity.class)));
+        assertTrue(selection.offer(mock(Entity.class)));
+        assertEquals(2, selection.build().size());
+    }
+
+    @Test
+    public void testUnlimitedSelection() {
+        SelectorResolver.Selection selection = new SelectorResolver.Selection(0, false);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(selection.offer(mock(Entity.class)));
+        }
+        assertEquals(5, selection.build().size());
+    }
+
+    @Test
+    public void testNegativeCountSelectsOne() {
+        SelectorResolver.Selection selection = new SelectorResolver.Selection(-3, false);
+        assertTrue(selection.offer(mock(Entity.class)));
+        assertEquals(1, selection.build().size());
+
+        SelectorResolver.Selection random = new SelectorResolver.Selection(-3, true);
+        for (int i = 0; i < 5; i++) {
+            assertFalse(random.offer(mock(Entity.class)));
+        }
+        assertEquals(1, random.build().size());
+    }
+
+    @Test
+    public void testRandomSelectionKeepsCount() {
+        SelectorResolver.Selection selection = new SelectorResolver.Selection(3, true);
+        for (int i = 0; i < 10; i++) {
+            assertFalse(selection.offer(mock(Entity.class)));
+        }
+        assertEquals(3, selection.build().size());
+    }
+}
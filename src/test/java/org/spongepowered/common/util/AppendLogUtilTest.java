@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class AppendLogUtilTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(String content) throws IOException {
+        final Path path = this.folder.newFile().toPath();
+        Files.write(path, content.getBytes(Charsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void testCompleteRecords() throws IOException {
+        final Path path = write("+ a\n- b\n");
+        assertEquals(ImmutableList.of("+ a", "- b"), AppendLogUtil.readLines(path, Charsets.UTF_8));
+        assertEquals(8, Files.size(path));
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertTrue(AppendLogUtil.readLines(write(""), Charsets.UTF_8).isEmpty());
+    }
+
+    @Test
+    public void testPartialRecordIsDiscarded() throws IOException {
+        // A put cut off inside the name, and one cut off before the name
+        assertEquals(ImmutableList.of("+ a name"), AppendLogUtil.readLines(write("+ a name\n+ b na"), Charsets.UTF_8));
+        assertEquals(ImmutableList.of("+ a name"), AppendLogUtil.readLines(write("+ a name\n+ b"), Charsets.UTF_8));
+        assertTrue(AppendLogUtil.readLines(write("+ a na"), Charsets.UTF_8).isEmpty());
+    }
+
+    @Test
+    public void testPartialRecordIsCutOff() throws IOException {
+        final Path path = write("+ a\n+ b na");
+        AppendLogUtil.readLines(path, Charsets.UTF_8);
+        Files.write(path, "- c\n".getBytes(Charsets.UTF_8), StandardOpenOption.APPEND);
+        assertArrayEquals("+ a\n- c\n".getBytes(Charsets.UTF_8), Files.readAllBytes(path));
+        assertEquals(ImmutableList.of("+ a", "- c"), AppendLogUtil.readLines(path, Charsets.UTF_8));
+    }
+
+}
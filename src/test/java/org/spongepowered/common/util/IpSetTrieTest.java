@@ -0,0 +1,71 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class IpSetTrieTest {
+    @Test
+    public void testMostSpecificMatch() throws UnknownHostException {
+        IpSetTrie<String> trie = new IpSetTrie<>();
+        trie.put(IpSet.fromCidr("10.0.0.0/8"), "wide");
+        trie.put(IpSet.fromCidr("10.42.0.0/16"), "narrow");
+        assertEquals("narrow", trie.get(InetAddress.getByName("10.42.2.5")));
+        assertEquals("wide", trie.get(InetAddress.getByName("10.43.2.5")));
+        assertNull(trie.get(InetAddress.getByName("11.42.2.5")));
+    }
+
+    @Test
+    public void testSeparateAddressFamilies() throws UnknownHostException {
+        IpSetTrie<String> trie = new IpSetTrie<>();
+        trie.put(IpSet.fromCidr("0.0.0.0/0"), "ipv4");
+        assertEquals("ipv4", trie.get(InetAddress.getByName("192.168.0.1")));
+        assertNull(trie.get(InetAddress.getByName("::dead:beef")));
+        trie.put(IpSet.fromCidr("[2064:45:300::]/40"), "ipv6");
+        assertEquals("ipv6", trie.get(InetAddress.getByName("2064:45:310::cafe")));
+        assertNull(trie.get(InetAddress.getByName("2064:45:410::cafe")));
+    }
+
+    @Test
+    public void testExactLookupAndRemoval() throws UnknownHostException {
+        IpSetTrie<String> trie = new IpSetTrie<>();
+        trie.put(IpSet.fromCidr("10.0.0.0/8"), "wide");
+        trie.put(IpSet.fromAddress(InetAddress.getByName("10.0.0.1")), "single");
+        assertEquals(2, trie.size());
+        assertEquals("single", trie.getExact(IpSet.fromCidr("10.0.0.1/32")));
+        assertNull(trie.getExact(IpSet.fromCidr("10.0.0.0/16")));
+
+        assertEquals("single", trie.remove(IpSet.fromCidr("10.0.0.1/32")));
+        assertNull(trie.remove(IpSet.fromCidr("10.0.0.1/32")));
+        assertEquals("wide", trie.get(InetAddress.getByName("10.0.0.1")));
+        assertEquals(1, trie.size());
+    }
+}
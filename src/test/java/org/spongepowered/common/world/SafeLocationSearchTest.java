@@ -0,0 +1,181 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SafeLocationSearchTest {
+
+    private static final int AIR = SafeLocationSearch.SAFE_BODY;
+    private static final int SOLID = SafeLocationSearch.SAFE_FLOOR;
+    private static final int PLANT = SafeLocationSearch.SAFE_BODY | SafeLocationSearch.SAFE_FLOOR;
+    private static final int HAZARD = 0;
+
+    @Test
+    public void testFloorTwoBlocksDown() {
+        final Fixture fixture = new Fixture(1, 12, 1);
+        fixture.flags[0][2][0] = SOLID;
+        // Falling one block onto the floor is fine, and closer than standing right on it
+        assertEquals(Optional.of(new Vector3i(0, 4, 0)), fixture.find(new Vector3i(0, 6, 0), 6, 0));
+        assertEquals(fixture.findByCube(new Vector3i(0, 6, 0), 6, 0), fixture.find(new Vector3i(0, 6, 0), 6, 0));
+    }
+
+    @Test
+    public void testMatchesCubeSearch() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            final Fixture fixture = Fixture.generate(random, 8, 12, 8);
+            for (int x = 0; x < 8; x++) {
+                for (int y = 0; y < 12; y++) {
+                    for (int z = 0; z < 8; z++) {
+                        final Vector3i origin = new Vector3i(x, y, z);
+                        final int height = random.nextInt(5);
+                        final int width = random.nextInt(4);
+                        assertEquals("Fixture " + i + " around " + origin + " within " + height + ", " + width,
+                                fixture.findByCube(origin, height, width), fixture.find(origin, height, width));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Fixture implements SafeLocationSearch.Blocks {
+
+        final int[][][] flags;
+        final Vector3i size;
+
+        Fixture(int sizeX, int sizeY, int sizeZ) {
+            this.flags = new int[sizeX][sizeY][sizeZ];
+            this.size = new Vector3i(sizeX, sizeY, sizeZ);
+            for (int[][] plane : this.flags) {
+                for (int[] column : plane) {
+                    Arrays.fill(column, AIR);
+                }
+            }
+        }
+
+        static Fixture generate(Random random, int sizeX, int sizeY, int sizeZ) {
+            final Fixture fixture = new Fixture(sizeX, sizeY, sizeZ);
+            for (int x = 0; x < sizeX; x++) {
+                for (int z = 0; z < sizeZ; z++) {
+                    final int ground = random.nextInt(sizeY - 2);
+                    for (int y = 0; y < sizeY; y++) {
+                        if (y < ground) {
+                            final int roll = random.nextInt(10);
+                            fixture.flags[x][y][z] = roll < 7 ? SOLID : roll < 9 ? HAZARD : PLANT;
+                        } else if (random.nextInt(12) == 0) {
+                            // Floating blocks and plants above the ground
+                            fixture.flags[x][y][z] = random.nextBoolean() ? SOLID : random.nextBoolean() ? PLANT : HAZARD;
+                        }
+                    }
+                }
+            }
+            return fixture;
+        }
+
+        @Override
+        public int getFlags(int x, int y, int z) {
+            if (y < 0) {
+                return 0;
+            }
+            if (y >= this.size.getY()) {
+                return AIR;
+            }
+            return this.flags[x][y][z];
+        }
+
+        @Override
+        public int getTopBlockY(int x, int z) {
+            for (int y = this.size.getY() - 1; y >= 0; y--) {
+                if (this.flags[x][y][z] != AIR) {
+                    return y;
+                }
+            }
+            return -1;
+        }
+
+        private Vector3i min(Vector3i origin, int height, int width) {
+            return new Vector3i(Math.max(origin.getX() - width, 0), Math.max(origin.getY() - height, 0), Math.max(origin.getZ() - width, 0));
+        }
+
+        private Vector3i max(Vector3i origin, int height, int width) {
+            return new Vector3i(Math.min(origin.getX() + width, this.size.getX() - 1), Math.min(origin.getY() + height, this.size.getY() - 1),
+                    Math.min(origin.getZ() + width, this.size.getZ() - 1));
+        }
+
+        Optional<Vector3i> find(Vector3i origin, int height, int width) {
+            return SafeLocationSearch.findClosest(origin, min(origin, height, width), max(origin, height, width), this);
+        }
+
+        /**
+         * Checks every position in the search area by distance, the way safe
+         * locations were searched for before only columns were scanned.
+         */
+        Optional<Vector3i> findByCube(Vector3i origin, int height, int width) {
+            final Vector3i min = min(origin, height, width);
+            final Vector3i max = max(origin, height, width);
+            final List<Vector3i> positions = new ArrayList<>();
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                for (int y = min.getY(); y <= max.getY(); y++) {
+                    for (int z = min.getZ(); z <= max.getZ(); z++) {
+                        positions.add(new Vector3i(x, y, z));
+                    }
+                }
+            }
+            return positions.stream().sorted(Comparator.comparingInt(origin::distanceSquared)).filter(this::isSafe).findFirst();
+        }
+
+        private boolean isSafe(Vector3i position) {
+            final int x = position.getX();
+            final int y = position.getY();
+            final int z = position.getZ();
+            if (!isBody(x, y, z) || !isBody(x, y + 1, z)) {
+                return false;
+            }
+            return isFloor(x, y - 1, z) || isBody(x, y - 1, z) && isFloor(x, y - 2, z);
+        }
+
+        private boolean isBody(int x, int y, int z) {
+            return (getFlags(x, y, z) & SafeLocationSearch.SAFE_BODY) != 0;
+        }
+
+        private boolean isFloor(int x, int y, int z) {
+            return (getFlags(x, y, z) & SafeLocationSearch.SAFE_FLOOR) != 0;
+        }
+    }
+}